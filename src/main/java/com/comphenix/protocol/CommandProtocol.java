@@ -32,9 +32,12 @@ import org.bukkit.command.CommandSender;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.PluginDescriptionFile;
 
+import com.comphenix.protocol.async.SharedWorkerPool;
 import com.comphenix.protocol.error.DetailedErrorReporter;
 import com.comphenix.protocol.error.ErrorReporter;
 import com.comphenix.protocol.events.PacketListener;
+import com.comphenix.protocol.injector.EntityIdCache;
+import com.comphenix.protocol.injector.MainThreadQueue;
 import com.comphenix.protocol.timing.TimedListenerManager;
 import com.comphenix.protocol.timing.TimingReportGenerator;
 import com.comphenix.protocol.updater.Updater;
@@ -250,6 +253,9 @@ class CommandProtocol extends CommandBase {
 			ProtocolManager manager = ProtocolLibrary.getProtocolManager();
 			pw.println("ProtocolLib: " + DetailedErrorReporter.getStringDescription(plugin));
 			pw.println("Manager: " + DetailedErrorReporter.getStringDescription(manager));
+			pw.println("Main Thread Queue: " + MainThreadQueue.getInstance());
+			pw.println("Entity Cache: " + EntityIdCache.getInstance());
+			pw.println("Shared Workers: " + SharedWorkerPool.getInstance());
 			pw.println();
 
 			Set<PacketListener> listeners = manager.getPacketListeners();
@@ -0,0 +1,111 @@
+package com.comphenix.protocol;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+
+import org.bukkit.entity.Player;
+
+import com.comphenix.protocol.events.PacketContainer;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+/**
+ * Represents a list of packets that will be sent to a player with a single network flush.
+ * <p>
+ * Use {@link ProtocolManager#openBatch(Player)} to create a batch:
+ * <pre>
+ * try (PacketBatch batch = manager.openBatch(player)) {
+ *     batch.add(first).add(second);
+ * }
+ * </pre>
+ * This class is not thread safe.
+ */
+public class PacketBatch implements AutoCloseable {
+	private final ProtocolManager manager;
+	private final Player receiver;
+	private final List<PacketContainer> packets = Lists.newArrayList();
+
+	private boolean filters = true;
+	private boolean closed;
+
+	/**
+	 * Construct a new packet batch.
+	 * @param manager - the manager that will send the packets.
+	 * @param receiver - the receiver.
+	 */
+	public PacketBatch(ProtocolManager manager, Player receiver) {
+		this.manager = Preconditions.checkNotNull(manager, "manager cannot be NULL");
+		this.receiver = Preconditions.checkNotNull(receiver, "receiver cannot be NULL");
+	}
+
+	/**
+	 * Add a packet to the end of the batch.
+	 * @param packet - the packet to add.
+	 * @return This batch, for chaining.
+	 */
+	public PacketBatch add(PacketContainer packet) {
+		Preconditions.checkState(!closed, "Batch has been closed.");
+		packets.add(Preconditions.checkNotNull(packet, "packet cannot be NULL"));
+		return this;
+	}
+
+	/**
+	 * Set whether or not to invoke any packet filters below {@link com.comphenix.protocol.events.ListenerPriority#MONITOR}.
+	 * @param filters - TRUE to invoke every filter, FALSE otherwise.
+	 * @return This batch, for chaining.
+	 */
+	public PacketBatch setFilters(boolean filters) {
+		this.filters = filters;
+		return this;
+	}
+
+	/**
+	 * Determine if the packets will be processed by every packet filter.
+	 * @return TRUE if they will, FALSE otherwise.
+	 */
+	public boolean isFilters() {
+		return filters;
+	}
+
+	/**
+	 * Retrieve the player that will receive the packets.
+	 * @return The receiver.
+	 */
+	public Player getReceiver() {
+		return receiver;
+	}
+
+	/**
+	 * Retrieve the number of packets waiting to be sent.
+	 * @return The number of packets.
+	 */
+	public int size() {
+		return packets.size();
+	}
+
+	/**
+	 * Send every packet that has been added so far, and clear the batch.
+	 * @throws InvocationTargetException If an error occurred when sending the packets.
+	 */
+	public void send() throws InvocationTargetException {
+		if (packets.isEmpty())
+			return;
+
+		List<PacketContainer> sent = ImmutableList.copyOf(packets);
+		packets.clear();
+		manager.sendServerPackets(receiver, sent, filters);
+	}
+
+	/**
+	 * Send the remaining packets and close the batch.
+	 * @throws InvocationTargetException If an error occurred when sending the packets.
+	 */
+	@Override
+	public void close() throws InvocationTargetException {
+		if (!closed) {
+			closed = true;
+			send();
+		}
+	}
+}
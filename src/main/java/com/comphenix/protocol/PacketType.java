@@ -22,11 +22,11 @@ import com.comphenix.protocol.events.ConnectionSide;
 import com.comphenix.protocol.injector.packet.PacketRegistry;
 import com.comphenix.protocol.utility.MinecraftReflection;
 import com.comphenix.protocol.utility.MinecraftVersion;
-import com.google.common.base.Objects;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ComparisonChain;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.util.concurrent.Futures;
 
 /**
@@ -633,6 +633,10 @@ public class PacketType implements Serializable, Cloneable, Comparable<PacketTyp
 	// Lookup of packet types
 	private static PacketTypeLookup LOOKUP;
 
+	// Dense ordinals of every packet type that has requested one
+	private static final Map<PacketType, Integer> ORDINALS = Maps.newHashMap();
+	private static final List<PacketType> ORDINAL_TYPES = Lists.newArrayList();
+
 	/**
 	 * Protocol version of all the current IDs.
 	 */
@@ -651,6 +655,9 @@ public class PacketType implements Serializable, Cloneable, Comparable<PacketTyp
 
 	private boolean dynamic;
 
+	// The dense ordinal plus one, or zero if it has not been assigned yet
+	private transient volatile int ordinal;
+
 	/**
 	 * Retrieve the current packet/legacy lookup.
 	 * @return The packet type lookup.
@@ -1160,6 +1167,56 @@ public class PacketType implements Serializable, Cloneable, Comparable<PacketTyp
 		return legacyId;
 	}
 
+	/**
+	 * Retrieve the dense ordinal of this packet type.
+	 * <p>
+	 * Ordinals are assigned when the packet registry is built, or on first use for dynamic packet types. They start
+	 * at zero and never change for the lifetime of the server.
+	 * Packet types that are equal will always share the same ordinal, so it may be used to index arrays.
+	 * @return The ordinal of this packet type.
+	 */
+	public int getOrdinal() {
+		int current = ordinal;
+
+		if (current == 0) {
+			ordinal = current = assignOrdinal(this) + 1;
+		}
+		return current - 1;
+	}
+
+	/**
+	 * Retrieve the number of ordinals that have been assigned so far.
+	 * @return The number of assigned ordinals.
+	 */
+	public static int getOrdinalCount() {
+		synchronized (ORDINALS) {
+			return ORDINALS.size();
+		}
+	}
+
+	private static int assignOrdinal(PacketType type) {
+		synchronized (ORDINALS) {
+			Integer existing = ORDINALS.get(type);
+
+			if (existing == null) {
+				ORDINALS.put(type, existing = ORDINALS.size());
+				ORDINAL_TYPES.add(type);
+			}
+			return existing;
+		}
+	}
+
+	/**
+	 * Retrieve the packet type that was assigned the given ordinal.
+	 * @param ordinal - the ordinal.
+	 * @return The packet type, or NULL if the ordinal has not been assigned.
+	 */
+	public static PacketType fromOrdinal(int ordinal) {
+		synchronized (ORDINALS) {
+			return ordinal >= 0 && ordinal < ORDINAL_TYPES.size() ? ORDINAL_TYPES.get(ordinal) : null;
+		}
+	}
+
 	/**
 	 * Whether or not this packet was dynamically created (i.e. we don't have it registered)
 	 * @return True if dnyamic, false if not.
@@ -1170,7 +1227,8 @@ public class PacketType implements Serializable, Cloneable, Comparable<PacketTyp
 
 	@Override
 	public int hashCode() {
-		return Objects.hashCode(protocol, sender, currentId);
+		// Same as Objects.hashCode(protocol, sender, currentId), without the varargs array and boxing
+		return 31 * (31 * (31 + protocol.hashCode()) + sender.hashCode()) + currentId;
 	}
 
 	@Override
@@ -107,6 +107,9 @@ class PacketTypeLookup {
 		for (PacketType type : types) {
 			int legacy = type.getLegacyId();
 			
+			// Known types are assigned their dense ordinal up front
+			type.getOrdinal();
+			
 			// Skip unknown legacy packets
 			if (legacy != PacketType.UNKNOWN_PACKET) {
 				if (type.isServer())
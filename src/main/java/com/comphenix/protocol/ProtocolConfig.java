@@ -47,6 +47,11 @@ public class ProtocolConfig {
 
 	private static final String IGNORE_VERSION_CHECK = "ignore version check";
 	private static final String BACKGROUND_COMPILER_ENABLED = "background compiler";
+	private static final String STRUCTURE_WARMUP_ENABLED = "structure warmup";
+	private static final String MAIN_THREAD_PACKET_BUDGET = "main thread packet budget";
+	private static final String EPHEMERAL_EVENTS = "ephemeral events";
+	private static final String SHARED_BROADCASTS = "shared broadcasts";
+	private static final String SHARED_WORKER_THREADS = "shared worker threads";
 
 	private static final String DEBUG_MODE_ENABLED = "debug";
 	private static final String DETAILED_ERROR = "detailed error";
@@ -401,6 +406,111 @@ public class ProtocolConfig {
 		modCount++;
 	}
 
+	/**
+	 * Retrieve whether or not every structure modifier is built and compiled when ProtocolLib is enabled.
+	 * 
+	 * @return TRUE if it is, FALSE otherwise.
+	 */
+	public boolean isStructureWarmupEnabled() {
+		return getGlobalValue(STRUCTURE_WARMUP_ENABLED, false);
+	}
+
+	/**
+	 * Set whether or not every structure modifier is built and compiled when ProtocolLib is enabled.
+	 * <p>
+	 * This setting will take effect next time ProtocolLib is started.
+	 * 
+	 * @param enabled - TRUE to prepare every structure modifier, FALSE otherwise.
+	 */
+	public void setStructureWarmupEnabled(boolean enabled) {
+		setConfig(global, STRUCTURE_WARMUP_ENABLED, enabled);
+		modCount++;
+	}
+
+	/**
+	 * Retrieve the maximum number of rescheduled packets that will be processed on the main thread per tick.
+	 * 
+	 * @return The budget, or 0 if it is unlimited.
+	 */
+	public int getMainThreadPacketBudget() {
+		return Math.max(getGlobalValue(MAIN_THREAD_PACKET_BUDGET, 0), 0);
+	}
+
+	/**
+	 * Set the maximum number of rescheduled packets that will be processed on the main thread per tick.
+	 * <p>
+	 * Packets exceeding the budget are postponed to the next tick.
+	 * 
+	 * @param budget - the budget, or 0 for no limit.
+	 */
+	public void setMainThreadPacketBudget(int budget) {
+		setConfig(global, MAIN_THREAD_PACKET_BUDGET, budget);
+		modCount++;
+	}
+
+	/**
+	 * Retrieve whether or not packet events are reused when no listener retains them.
+	 * 
+	 * @return TRUE if they are, FALSE otherwise.
+	 */
+	public boolean isEphemeralEvents() {
+		return getGlobalValue(EPHEMERAL_EVENTS, false);
+	}
+
+	/**
+	 * Set whether or not packet events are reused when no listener retains them.
+	 * <p>
+	 * Only enable this if every packet listener calls PacketEvent.retain() before storing an event.
+	 * 
+	 * @param enabled - TRUE to reuse events, FALSE otherwise.
+	 */
+	public void setEphemeralEvents(boolean enabled) {
+		setConfig(global, EPHEMERAL_EVENTS, enabled);
+		modCount++;
+	}
+
+	/**
+	 * Retrieve whether or not broadcasted packets without sending listeners are serialized once for every player.
+	 * 
+	 * @return TRUE if they are, FALSE otherwise.
+	 */
+	public boolean isSharedBroadcasts() {
+		return getGlobalValue(SHARED_BROADCASTS, false);
+	}
+
+	/**
+	 * Set whether or not broadcasted packets without sending listeners are serialized once for every player.
+	 * <p>
+	 * Shared packets are written directly to each channel, bypassing the player connection in Minecraft.
+	 * 
+	 * @param enabled - TRUE to share serialized packets, FALSE otherwise.
+	 */
+	public void setSharedBroadcasts(boolean enabled) {
+		setConfig(global, SHARED_BROADCASTS, enabled);
+		modCount++;
+	}
+
+	/**
+	 * Retrieve the number of threads in the worker pool shared by asynchronous listeners.
+	 * 
+	 * @return The number of threads, or 0 for one per processor.
+	 */
+	public int getSharedWorkerThreads() {
+		return Math.max(getGlobalValue(SHARED_WORKER_THREADS, 0), 0);
+	}
+
+	/**
+	 * Set the number of threads in the worker pool shared by asynchronous listeners.
+	 * <p>
+	 * This only affects listeners that have been started with AsyncListenerHandler.startShared().
+	 * 
+	 * @param threads - the number of threads, or 0 for one per processor.
+	 */
+	public void setSharedWorkerThreads(int threads) {
+		setConfig(global, SHARED_WORKER_THREADS, threads);
+		modCount++;
+	}
+
 	/**
 	 * Retrieve the last time we updated, in seconds since 1970.01.01 00:00.
 	 * 
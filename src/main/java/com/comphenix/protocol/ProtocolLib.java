@@ -35,16 +35,22 @@ import org.bukkit.plugin.java.JavaPlugin;
 
 import com.comphenix.executors.BukkitExecutors;
 import com.comphenix.protocol.async.AsyncFilterManager;
+import com.comphenix.protocol.async.SharedWorkerPool;
 import com.comphenix.protocol.error.BasicErrorReporter;
 import com.comphenix.protocol.error.DelegatedErrorReporter;
 import com.comphenix.protocol.error.DetailedErrorReporter;
 import com.comphenix.protocol.error.ErrorReporter;
 import com.comphenix.protocol.error.Report;
 import com.comphenix.protocol.error.ReportType;
+import com.comphenix.protocol.events.PacketEventPool;
 import com.comphenix.protocol.injector.DelayedSingleTask;
 import com.comphenix.protocol.injector.InternalManager;
+import com.comphenix.protocol.injector.EntityIdCache;
+import com.comphenix.protocol.injector.MainThreadQueue;
 import com.comphenix.protocol.injector.PacketFilterManager;
 import com.comphenix.protocol.injector.PlayerInjectHooks;
+import com.comphenix.protocol.injector.StructureWarmup;
+import com.comphenix.protocol.injector.packet.PacketRegistry;
 import com.comphenix.protocol.metrics.Statistics;
 import com.comphenix.protocol.reflect.compiler.BackgroundCompiler;
 import com.comphenix.protocol.updater.Updater;
@@ -125,6 +131,9 @@ public class ProtocolLib extends JavaPlugin {
 	private int tickCounter = 0;
 	private static final int ASYNC_MANAGER_DELAY = 1;
 
+	// Packets rescheduled on the main thread
+	private MainThreadQueue mainThreadQueue;
+
 	// Used to unhook players after a delay
 	private DelayedSingleTask unhookTask;
 
@@ -392,6 +401,11 @@ public class ProtocolLib extends JavaPlugin {
 				logger.info("Structure compiler thread has been disabled.");
 			}
 
+			// Prepare structure modifiers before any packet needs them
+			if (config.isStructureWarmupEnabled()) {
+				warmUpStructures();
+			}
+
 			// Set up command handlers
 			registerCommand(CommandProtocol.NAME, commandProtocol);
 			registerCommand(CommandPacket.NAME, commandPacket);
@@ -404,6 +418,11 @@ public class ProtocolLib extends JavaPlugin {
 			// Worker that ensures that async packets are eventually sent
 			// It also performs the update check.
 			createPacketTask(server);
+
+			// Packets that must be processed on the main thread
+			mainThreadQueue = new MainThreadQueue(this, reporter, config.getMainThreadPacketBudget());
+			mainThreadQueue.start();
+			MainThreadQueue.setInstance(mainThreadQueue);
 		} catch (OutOfMemoryError e) {
 			throw e;
 		} catch (Throwable e) {
@@ -426,6 +445,13 @@ public class ProtocolLib extends JavaPlugin {
 		}
 	}
 
+	private void warmUpStructures() {
+		StructureWarmup warmup = new StructureWarmup(reporter);
+
+		warmup.warmUp(Sets.union(PacketRegistry.getServerPacketTypes(), PacketRegistry.getClientPacketTypes()));
+		logger.info(warmup.toString());
+	}
+
 	// Plugin authors: Notify me to remove these
 
 	private void checkForIncompatibility(PluginManager manager) {
@@ -556,6 +582,7 @@ public class ProtocolLib extends JavaPlugin {
 
 					// We KNOW we're on the main thread at the moment
 					manager.sendProcessedPackets(tickCounter++, true);
+					EntityIdCache.getInstance().nextTick();
 
 					// House keeping
 					updateConfiguration();
@@ -581,6 +608,15 @@ public class ProtocolLib extends JavaPlugin {
 
 			// Update the debug flag
 			protocolManager.setDebug(config.isDebug());
+			protocolManager.setSharedBroadcasts(config.isSharedBroadcasts());
+			SharedWorkerPool.getInstance().setParallelism(config.getSharedWorkerThreads());
+
+			PacketEventPool.setEnabled(config.isEphemeralEvents());
+			PacketEventPool.setLeakDetection(config.isDebug());
+
+			if (mainThreadQueue != null) {
+				mainThreadQueue.setBudget(config.getMainThreadPacketBudget());
+			}
 		}
 	}
 
@@ -626,6 +662,19 @@ public class ProtocolLib extends JavaPlugin {
 			packetTask = -1;
 		}
 
+		if (mainThreadQueue != null) {
+			MainThreadQueue.setInstance(null);
+			mainThreadQueue.stop();
+			mainThreadQueue = null;
+		}
+		EntityIdCache.getInstance().clear();
+
+		// Let the shared workers finish their remaining packets
+		SharedWorkerPool.getInstance().shutdown();
+
+		// Stop reusing events
+		PacketEventPool.setEnabled(false);
+
 		// And redirect handler too
 		if (redirectHandler != null) {
 			logger.removeHandler(redirectHandler);
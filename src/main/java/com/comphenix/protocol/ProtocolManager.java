@@ -18,7 +18,9 @@
 package com.comphenix.protocol;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.bukkit.Location;
@@ -66,6 +68,40 @@ public interface ProtocolManager extends PacketStream {
 	public void sendServerPacket(Player receiver, PacketContainer packet, boolean filters)
 			throws InvocationTargetException;
 	
+	/**
+	 * Send a list of packets to the given player in order, writing them to the network with a single flush.
+	 * <p>
+	 * Every packet is processed by the packet listeners as if it was sent by {@link #sendServerPacket(Player, PacketContainer)}.
+	 * This is much more efficient when a large number of packets are sent at once.
+	 * 
+	 * @param receiver - the receiver.
+	 * @param packets - the packets to send.
+	 * @throws InvocationTargetException - if an error occurred when sending the packets.
+	 */
+	public void sendServerPackets(Player receiver, Collection<PacketContainer> packets)
+			throws InvocationTargetException;
+
+	/**
+	 * Send a list of packets to the given player in order, writing them to the network with a single flush.
+	 * 
+	 * @param receiver - the receiver.
+	 * @param packets - the packets to send.
+	 * @param filters - whether or not to invoke any packet filters below {@link ListenerPriority#MONITOR}.
+	 * @throws InvocationTargetException - if an error occurred when sending the packets.
+	 * @see #sendServerPackets(Player, Collection)
+	 */
+	public void sendServerPackets(Player receiver, Collection<PacketContainer> packets, boolean filters)
+			throws InvocationTargetException;
+
+	/**
+	 * Open a batch of packets that will be sent to the given player when the batch is sent or closed.
+	 * <p>
+	 * The batch is intended to be used in a try-with-resources statement on a single thread.
+	 * @param receiver - the receiver.
+	 * @return The new batch.
+	 */
+	public PacketBatch openBatch(Player receiver);
+
 	/**
 	 * Simulate receiving a certain packet from a given player.
 	 * <p>
@@ -232,6 +268,17 @@ public interface ProtocolManager extends PacketStream {
 	 * @throws FieldAccessException If reflection failed.
 	 */
 	public List<Player> getEntityTrackers(Entity entity) throws FieldAccessException;
+
+	/**
+	 * Retrieve every client that is receiving information about each of the given entities.
+	 * <p>
+	 * This is considerably faster than calling {@link #getEntityTrackers(Entity)} for each entity. Entities that
+	 * are invalid, or not yet tracked by their world, are omitted from the result rather than causing an error.
+	 * @param entities - the entities that are being tracked.
+	 * @return The clients tracking each valid and tracked entity, in iteration order.
+	 * @throws FieldAccessException If reflection failed.
+	 */
+	public Map<Entity, List<Player>> getEntityTrackers(Collection<? extends Entity> entities) throws FieldAccessException;
 	
 	/**
 	 * Retrieves a immutable set containing the ID of the sent server packets that will be observed by listeners.
@@ -321,10 +321,14 @@ public class AsyncFilterManager implements AsynchronousManager {
 		Player player = newEvent.getPlayer();
 		if (player != null) {
 			// Start the process
-			getSendingQueue(syncPacket).enqueue(newEvent);
+			PacketSendingQueue sendingQueue = getSendingQueue(syncPacket);
+			sendingQueue.enqueue(newEvent);
 
 			// We know this is occuring on the main thread, so pass TRUE
-			getProcessingQueue(syncPacket).enqueue(newEvent, true);
+			if (!getProcessingQueue(syncPacket).enqueue(newEvent, true)) {
+				// The processing queue is full - send the packet unprocessed instead of letting it time out
+				sendingQueue.signalPacketUpdate(newEvent, true);
+			}
 		}
 	}
 	
@@ -475,12 +479,14 @@ public class AsyncFilterManager implements AsynchronousManager {
 	 * @param onMainThread Whether or not to execute on the main thread
 	 */
 	public void sendProcessedPackets(int tickCounter, boolean onMainThread) {
-		// The server queue is unlikely to need checking that often
+		// Only visit the queues with packets that finished processing
+		playerSendingHandler.trySendDirtyPackets(onMainThread);
+		
+		// Every queue must still be checked for expired packets, but not that often
 		if (tickCounter % 10 == 0) {
 			playerSendingHandler.trySendServerPackets(onMainThread);
+			playerSendingHandler.trySendClientPackets(onMainThread);
 		}
-		
-		playerSendingHandler.trySendClientPackets(onMainThread);
 	}
 
 	/**
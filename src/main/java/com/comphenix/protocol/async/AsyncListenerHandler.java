@@ -18,8 +18,12 @@
 package com.comphenix.protocol.async;
 
 import java.util.HashSet;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -31,6 +35,7 @@ import com.comphenix.protocol.events.ListeningWhitelist;
 import com.comphenix.protocol.events.PacketAdapter;
 import com.comphenix.protocol.events.PacketEvent;
 import com.comphenix.protocol.events.PacketListener;
+import com.comphenix.protocol.timing.ListenerTrackers;
 import com.comphenix.protocol.timing.TimedListenerManager;
 import com.comphenix.protocol.timing.TimedListenerManager.ListenerType;
 import com.comphenix.protocol.timing.TimedTracker;
@@ -70,6 +75,9 @@ public class AsyncListenerHandler {
 	// Default queue capacity
 	private static final int DEFAULT_CAPACITY = 1024;
 	
+	// Maximum number of packets processed by a shared worker before yielding to other listeners
+	private static final int MAILBOX_BATCH_SIZE = 64;
+	
 	// Cancel the async handler
 	private volatile boolean cancelled;
 	
@@ -86,6 +94,13 @@ public class AsyncListenerHandler {
 	// List of queued packets
 	private ArrayBlockingQueue<PacketEvent> queuedPackets = new ArrayBlockingQueue<PacketEvent>(DEFAULT_CAPACITY);
 	
+	// Packets waiting for the shared executor, processed one at a time
+	private volatile Executor sharedExecutor;
+	private final Queue<PacketEvent> mailbox = new ConcurrentLinkedQueue<PacketEvent>();
+	private final AtomicInteger mailboxSize = new AtomicInteger();
+	private final AtomicBoolean mailboxScheduled = new AtomicBoolean();
+	private int mailboxWorkerID;
+	
 	// List of cancelled tasks
 	private final Set<Integer> stoppedTasks = new HashSet<Integer>();
 	private final Object stopLock = new Object();
@@ -101,6 +116,7 @@ public class AsyncListenerHandler {
 	
 	// Timing manager
 	private TimedListenerManager timedManager = TimedListenerManager.getInstance();
+	private volatile ListenerTrackers trackers;
 	
 	/**
 	 * Construct a manager for an asynchronous packet handler.
@@ -200,7 +216,27 @@ public class AsyncListenerHandler {
 		if (packet == null)
 			throw new IllegalArgumentException("packet is NULL");
 		
-		queuedPackets.add(packet);
+		Executor executor = sharedExecutor;
+		
+		if (executor != null) {
+			// Packets queued before the switch must be processed first
+			if (!queuedPackets.isEmpty()) {
+				transferQueuedPackets();
+			}
+			if (mailboxSize.incrementAndGet() > DEFAULT_CAPACITY) {
+				mailboxSize.decrementAndGet();
+				throw new IllegalStateException("Queue full");
+			}
+			mailbox.add(packet);
+			scheduleMailbox(executor);
+		} else {
+			queuedPackets.add(packet);
+			
+			// We may have missed the switch to a shared executor
+			if (sharedExecutor != null) {
+				transferQueuedPackets();
+			}
+		}
 	}
 	
 	/**
@@ -283,6 +319,7 @@ public class AsyncListenerHandler {
 			throw new IllegalArgumentException("Cannot start task without a valid plugin.");
 		if (cancelled)
 			throw new IllegalStateException("Cannot start a worker when the listener is closing.");
+		checkNotShared();
 		
 		final AsyncRunnable listenerLoop = getListenerLoop();
 		
@@ -331,6 +368,7 @@ public class AsyncListenerHandler {
 			throw new IllegalArgumentException("Cannot start task without a valid plugin.");
 		if (cancelled)
 			throw new IllegalStateException("Cannot start a worker when the listener is closing.");
+		checkNotShared();
 		
 		final AsyncRunnable listenerLoop = getListenerLoop();
 		final Function<AsyncRunnable, Void> delegateCopy = executor;
@@ -343,6 +381,134 @@ public class AsyncListenerHandler {
 		});
 	}
 	
+	/**
+	 * Start processing packets in the work-stealing pool shared by every asynchronous listener.
+	 * <p>
+	 * Packets are still processed one at a time, in the order they were queued, but the listener doesn't
+	 * occupy a thread while it is idle. Dedicated worker threads cannot be started afterwards.
+	 * <p>
+	 * The number of threads in the shared pool is set in the ProtocolLib configuration.
+	 * @return TRUE if the shared processing was started, FALSE if it's already running.
+	 * @throws IllegalStateException If dedicated worker threads are already running.
+	 */
+	public synchronized boolean startShared() {
+		return startShared(SharedWorkerPool.getInstance());
+	}
+	
+	/**
+	 * Start processing packets in the given executor, such as a thread pool shared by multiple listeners.
+	 * <p>
+	 * Packets are still processed one at a time, in the order they were queued, no matter how many threads
+	 * the executor uses. Dedicated worker threads cannot be started afterwards.
+	 * @param executor - the executor that will process packets.
+	 * @return TRUE if the shared processing was started, FALSE if it's already running.
+	 * @throws IllegalStateException If dedicated worker threads are already running.
+	 */
+	public synchronized boolean startShared(Executor executor) {
+		if (executor == null)
+			throw new IllegalArgumentException("executor cannot be NULL.");
+		if (listener.getPlugin() == null)
+			throw new IllegalArgumentException("Cannot start task without a valid plugin.");
+		if (cancelled)
+			throw new IllegalStateException("Cannot start a worker when the listener is closing.");
+		if (started.get() > 0)
+			throw new IllegalStateException("Cannot use a shared executor with dedicated worker threads.");
+		
+		if (sharedExecutor == null) {
+			stopWarningTask();
+			
+			mailboxWorkerID = nextID.incrementAndGet();
+			sharedExecutor = executor;
+			
+			// Include every packet queued before we started
+			transferQueuedPackets();
+			return true;
+		} else {
+			return false;
+		}
+	}
+	
+	/**
+	 * Determine if this listener is processing packets in a shared executor.
+	 * @return TRUE if it is, FALSE otherwise.
+	 */
+	public boolean isShared() {
+		return sharedExecutor != null;
+	}
+	
+	private void checkNotShared() {
+		if (sharedExecutor != null)
+			throw new IllegalStateException("Cannot start dedicated worker threads when using a shared executor.");
+	}
+	
+	/**
+	 * Move every packet in the dedicated worker queue to the shared mailbox.
+	 * <p>
+	 * Packets are only removed from the queue once they are in the mailbox, so a thread that finds the
+	 * queue empty cannot overtake a packet that is still being moved.
+	 */
+	private synchronized void transferQueuedPackets() {
+		PacketEvent packet;
+		
+		while ((packet = queuedPackets.peek()) != null) {
+			if (packet != INTERUPT_PACKET && packet != WAKEUP_PACKET) {
+				mailboxSize.incrementAndGet();
+				mailbox.add(packet);
+			}
+			queuedPackets.poll();
+		}
+		if (!mailbox.isEmpty()) {
+			scheduleMailbox(sharedExecutor);
+		}
+	}
+	
+	/**
+	 * Submit the mailbox task to the given executor, unless it has already been submitted.
+	 * @param executor - the shared executor.
+	 */
+	private void scheduleMailbox(Executor executor) {
+		if (mailboxScheduled.compareAndSet(false, true)) {
+			try {
+				executor.execute(new Runnable() {
+					@Override
+					public void run() {
+						processMailbox();
+					}
+				});
+			} catch (RejectedExecutionException e) {
+				// The executor is shutting down
+				mailboxScheduled.set(false);
+				throw e;
+			}
+		}
+	}
+	
+	/**
+	 * Process a batch of packets from the shared mailbox. Only a single thread may process the mailbox at a time.
+	 */
+	private void processMailbox() {
+		try {
+			for (int i = 0; i < MAILBOX_BATCH_SIZE && !cancelled; i++) {
+				PacketEvent packet = mailbox.poll();
+				
+				if (packet == null)
+					break;
+				mailboxSize.decrementAndGet();
+				
+				if (packet.getAsyncMarker() != null) {
+					processPacket(mailboxWorkerID, packet, "onAsyncPacket()");
+				}
+			}
+		} finally {
+			mailboxScheduled.set(false);
+		}
+		
+		// Yield to other listeners if there's more work
+		if (!cancelled && !mailbox.isEmpty()) {
+			scheduleMailbox(sharedExecutor);
+		}
+	}
+	
 	private void scheduleAsync(Runnable runnable) {
 		listener.getPlugin().getServer().getScheduler().runTaskAsynchronously(listener.getPlugin(), runnable);
 	}
@@ -605,6 +771,19 @@ public class AsyncListenerHandler {
 		}
 	}
 	
+	/**
+	 * Retrieve the timed trackers of the underlying listener, resolving them once.
+	 * @return The timed trackers.
+	 */
+	private ListenerTrackers getTrackers() {
+		ListenerTrackers result = trackers;
+
+		if (result == null) {
+			trackers = result = timedManager.getTrackers(listener);
+		}
+		return result;
+	}
+
 	/**
 	 * Called when a packet is scheduled for processing.
 	 * @param workerID - the current worker ID.
@@ -623,7 +802,7 @@ public class AsyncListenerHandler {
 				// We're not THAT worried about performance here
 				if (timedManager.isTiming()) {
 					// Retrieve the tracker to use
-					TimedTracker tracker = timedManager.getTracker(listener,
+					TimedTracker tracker = getTrackers().getTracker(
 						packet.isServerPacket() ? ListenerType.ASYNC_SERVER_SIDE : ListenerType.ASYNC_CLIENT_SIDE);
 					long token = tracker.beginTracking();
 					
@@ -694,6 +873,8 @@ public class AsyncListenerHandler {
 	private void stopThreads() {
 		// Poison Pill Shutdown
 		queuedPackets.clear();
+		mailbox.clear();
+		mailboxSize.set(0);
 		stop(started.get());
 		
 		// Individual shut down is irrelevant now
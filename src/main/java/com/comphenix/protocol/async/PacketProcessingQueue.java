@@ -19,31 +19,22 @@ package com.comphenix.protocol.async;
 
 import java.util.Collection;
 import java.util.Iterator;
-import java.util.PriorityQueue;
-import java.util.Queue;
 import java.util.concurrent.Semaphore;
 
-import com.comphenix.protocol.ProtocolLibrary;
 import com.comphenix.protocol.concurrency.AbstractConcurrentListenerMultimap;
-import com.comphenix.protocol.error.Report;
-import com.comphenix.protocol.error.ReportType;
 import com.comphenix.protocol.events.PacketEvent;
 import com.comphenix.protocol.injector.PrioritizedListener;
-import com.google.common.collect.MinMaxPriorityQueue;
 
 
 /**
  * Handles the processing of every packet type.
+ * <p>
+ * Packets are queued by player, so the packets of a single player are processed in the order of their sending index.
+ * The final transmission order is enforced by each player's {@link PacketSendingQueue}.
  * 
  * @author Kristian
  */
 class PacketProcessingQueue extends AbstractConcurrentListenerMultimap<AsyncListenerHandler> {
-	public static final ReportType REPORT_GUAVA_CORRUPT_MISSING = 
-			new ReportType("Guava is either missing or corrupt. Reverting to PriorityQueue.");
-
-	// Initial number of elements
-	public static final int INITIAL_CAPACITY = 64;
-	
 	/**
 	 * Default maximum number of packets to process concurrently.
 	 */
@@ -61,33 +52,19 @@ class PacketProcessingQueue extends AbstractConcurrentListenerMultimap<AsyncList
 	private Semaphore concurrentProcessing;
 	
 	// Queued packets for being processed
-	private Queue<PacketEventHolder> processingQueue;
+	private ShardedPacketQueue<PacketEventHolder> processingQueue;
 	
 	// Packets for sending
 	private PlayerSendingHandler sendingHandler;
 	
 	public PacketProcessingQueue(PlayerSendingHandler sendingHandler) {
-		this(sendingHandler, INITIAL_CAPACITY, DEFAULT_QUEUE_LIMIT, DEFAULT_MAXIMUM_CONCURRENCY);
+		this(sendingHandler, DEFAULT_QUEUE_LIMIT, DEFAULT_MAXIMUM_CONCURRENCY);
 	}
 	
-	public PacketProcessingQueue(PlayerSendingHandler sendingHandler, int initialSize, int maximumSize, int maximumConcurrency) {
+	public PacketProcessingQueue(PlayerSendingHandler sendingHandler, int maximumSize, int maximumConcurrency) {
 		super();
 
-		try {
-			this.processingQueue = Synchronization.queue(MinMaxPriorityQueue.
-					expectedSize(initialSize).
-					maximumSize(maximumSize).
-					<PacketEventHolder>create(), null);
-		} catch (IncompatibleClassChangeError e) {
-			// Print in the console
-			ProtocolLibrary.getErrorReporter().reportWarning(
-				this, Report.newBuilder(REPORT_GUAVA_CORRUPT_MISSING).error(e));
-			
-			// It's a Beta class after all
-			this.processingQueue = Synchronization.queue(
-					new PriorityQueue<PacketEventHolder>(), null);
-		}
-				
+		this.processingQueue = new ShardedPacketQueue<PacketEventHolder>(maximumSize);
 		this.maximumConcurrency = maximumConcurrency;
 		this.concurrentProcessing = new Semaphore(maximumConcurrency);
 		this.sendingHandler = sendingHandler;
@@ -100,15 +77,12 @@ class PacketProcessingQueue extends AbstractConcurrentListenerMultimap<AsyncList
 	 * @return TRUE if we sucessfully queued the packet, FALSE if the queue ran out if space.
 	 */
 	public boolean enqueue(PacketEvent packet, boolean onMainThread) {
-		try {
-			processingQueue.add(new PacketEventHolder(packet));
-
-			// Begin processing packets
-			signalBeginProcessing(onMainThread);
-			return true;
-		} catch (IllegalStateException e) {
+		if (!processingQueue.offer(packet.getPlayer(), new PacketEventHolder(packet)))
 			return false;
-		}
+
+		// Begin processing packets
+		signalBeginProcessing(onMainThread);
+		return true;
 	}
 	
 	/**
@@ -23,6 +23,7 @@ import java.util.List;
 import java.util.Set;
 import java.util.concurrent.Executor;
 import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.bukkit.entity.Player;
 
@@ -51,6 +52,8 @@ abstract class PacketSendingQueue {
 	private final boolean notThreadSafe;
 	// Whether or not we've run the cleanup procedure
 	private boolean cleanedUp = false;
+	// Whether or not this queue is waiting to be drained by the next tick
+	private final AtomicBoolean dirty = new AtomicBoolean();
 	
 	/**
 	 * Create a packet sending queue.
@@ -102,6 +105,7 @@ abstract class PacketSendingQueue {
 		// Mark this packet as finished
 		marker.setProcessed(true);
 		trySendPackets(onMainThread);
+		markDirty(onMainThread);
 	}
 
 	/***
@@ -123,6 +127,29 @@ abstract class PacketSendingQueue {
 		
 		// This is likely to have changed the situation a bit
 		trySendPackets(onMainThread);
+		markDirty(onMainThread);
+	}
+
+	/**
+	 * Schedule this queue to be drained on the next tick, if it still contains packets.
+	 * @param onMainThread - whether or not this is occuring on the main thread.
+	 */
+	private void markDirty(boolean onMainThread) {
+		// Remaining packets may be waiting for the main thread
+		if (!onMainThread && !sendingQueue.isEmpty() && dirty.compareAndSet(false, true)) {
+			onQueueDirty();
+		}
+	}
+
+	/**
+	 * Attempt to send any remaining packets in a queue that has been marked as dirty.
+	 * <p>
+	 * The queue may be marked as dirty again after this method has been invoked.
+	 * @param onMainThread - whether or not this is occuring on the main thread.
+	 */
+	public void trySendDirtyPackets(boolean onMainThread) {
+		dirty.set(false);
+		trySendPackets(onMainThread);
 	}
 	
 	/**
@@ -238,6 +265,13 @@ abstract class PacketSendingQueue {
 	 * @param event - the timed out packet.
 	 */
 	protected abstract void onPacketTimeout(PacketEvent event);
+
+	/**
+	 * Invoked when a packet has finished processing on a worker thread, but the queue still contains packets.
+	 * <p>
+	 * This is only invoked once until {@link #trySendDirtyPackets(boolean)} is called.
+	 */
+	protected abstract void onQueueDirty();
 	
 	private boolean isOnline(Player player) {
 		return player != null && player.isOnline();
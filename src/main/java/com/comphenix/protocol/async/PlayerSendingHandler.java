@@ -19,6 +19,8 @@ package com.comphenix.protocol.async;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
@@ -41,6 +43,9 @@ import com.google.common.util.concurrent.ThreadFactoryBuilder;
 class PlayerSendingHandler {
 	private ErrorReporter reporter;
 	private ConcurrentMap<Player, QueueContainer> playerSendingQueues;
+
+	// Queues with packets that have finished processing since the last tick
+	private final Queue<PacketSendingQueue> dirtyQueues = new ConcurrentLinkedQueue<PacketSendingQueue>();
 	
 	// Timeout listeners
 	private SortedPacketListenerList serverTimeoutListeners;
@@ -70,6 +75,11 @@ class PlayerSendingHandler {
 						serverTimeoutListeners.invokePacketSending(reporter, event);
 					}
 				}
+
+				@Override
+				protected void onQueueDirty() {
+					dirtyQueues.add(this);
+				}
 			};
 			
 			// Client packets must be synchronized
@@ -80,6 +90,11 @@ class PlayerSendingHandler {
 						clientTimeoutListeners.invokePacketSending(reporter, event);
 					}
 				}
+
+				@Override
+				protected void onQueueDirty() {
+					dirtyQueues.add(this);
+				}
 			};
 		}
 
@@ -197,6 +212,23 @@ class PlayerSendingHandler {
 		}
 	}
 	
+	/**
+	 * Send the outstanding packets of every queue that has been marked as dirty.
+	 * <p>
+	 * The cost is proportional to the number of queues with packets that finished processing.
+	 * @param onMainThread - whether or not this is occuring on the main thread.
+	 */
+	public void trySendDirtyPackets(boolean onMainThread) {
+		// Don't loop forever if workers keep marking queues
+		for (int remaining = dirtyQueues.size(); remaining > 0; remaining--) {
+			PacketSendingQueue queue = dirtyQueues.poll();
+
+			if (queue == null)
+				break;
+			queue.trySendDirtyPackets(onMainThread);
+		}
+	}
+
 	/**
 	 * Send any outstanding server packets.
 	 * @param onMainThread - whether or not this is occuring on the main thread.
@@ -250,6 +282,7 @@ class PlayerSendingHandler {
 			
 			sendAllPackets();
 			playerSendingQueues.clear();
+			dirtyQueues.clear();
 		}
 	}
 
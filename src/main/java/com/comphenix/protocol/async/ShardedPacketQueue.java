@@ -0,0 +1,138 @@
+package com.comphenix.protocol.async;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Represents a bounded lock-free queue, split into a number of shards by an arbitrary key.
+ * <p>
+ * Elements with the same key always end up in the same shard, and are retrieved in the order they were added.
+ * There is no ordering between elements with different keys. Each consumer starts searching at a random shard,
+ * so producers and consumers of different keys rarely touch the same memory.
+ * @param <E> - type of the elements in the queue.
+ */
+class ShardedPacketQueue<E> {
+	/**
+	 * Default number of shards per available processor.
+	 */
+	public static final int SHARDS_PER_PROCESSOR = 2;
+
+	private final Queue<E>[] shards;
+	private final int mask;
+
+	// Total number of elements
+	private final AtomicInteger size = new AtomicInteger();
+	private final int maximumSize;
+
+	/**
+	 * Construct a new sharded queue with the default number of shards.
+	 * @param maximumSize - the maximum number of elements in the queue.
+	 */
+	public ShardedPacketQueue(int maximumSize) {
+		this(Runtime.getRuntime().availableProcessors() * SHARDS_PER_PROCESSOR, maximumSize);
+	}
+
+	/**
+	 * Construct a new sharded queue.
+	 * @param shardCount - the minimum number of shards, rounded up to the nearest power of two.
+	 * @param maximumSize - the maximum number of elements in the queue.
+	 */
+	@SuppressWarnings("unchecked")
+	public ShardedPacketQueue(int shardCount, int maximumSize) {
+		if (shardCount <= 0)
+			throw new IllegalArgumentException("shardCount must be greater than zero.");
+		if (maximumSize <= 0)
+			throw new IllegalArgumentException("maximumSize must be greater than zero.");
+
+		int count = Integer.highestOneBit(shardCount);
+
+		if (count < shardCount)
+			count <<= 1;
+
+		this.shards = new Queue[count];
+		this.mask = count - 1;
+		this.maximumSize = maximumSize;
+
+		for (int i = 0; i < count; i++) {
+			shards[i] = new ConcurrentLinkedQueue<E>();
+		}
+	}
+
+	/**
+	 * Add an element to the shard of the given key.
+	 * @param key - the key, such as a player, or NULL.
+	 * @param element - the element to add.
+	 * @return TRUE if the element was added, FALSE if the queue is full.
+	 */
+	public boolean offer(Object key, E element) {
+		if (element == null)
+			throw new IllegalArgumentException("element cannot be NULL.");
+
+		// Reserve room for the element first
+		if (size.incrementAndGet() > maximumSize) {
+			size.decrementAndGet();
+			return false;
+		}
+		shards[getShard(key)].add(element);
+		return true;
+	}
+
+	/**
+	 * Retrieve and remove an element from any shard.
+	 * @return The element, or NULL if the queue is empty.
+	 */
+	public E poll() {
+		if (size.get() <= 0)
+			return null;
+
+		int start = ThreadLocalRandom.current().nextInt();
+
+		for (int i = 0; i <= mask; i++) {
+			E element = shards[(start + i) & mask].poll();
+
+			if (element != null) {
+				size.decrementAndGet();
+				return element;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Retrieve the number of elements in the queue.
+	 * @return The number of elements.
+	 */
+	public int size() {
+		return Math.max(size.get(), 0);
+	}
+
+	/**
+	 * Retrieve the number of shards.
+	 * @return The number of shards.
+	 */
+	public int getShardCount() {
+		return shards.length;
+	}
+
+	/**
+	 * Remove every element in the queue.
+	 */
+	public void clear() {
+		for (Queue<E> shard : shards) {
+			while (shard.poll() != null) {
+				size.decrementAndGet();
+			}
+		}
+	}
+
+	private int getShard(Object key) {
+		if (key == null)
+			return 0;
+
+		// Spread the higher bits
+		int hash = System.identityHashCode(key);
+		return (hash ^ (hash >>> 16)) & mask;
+	}
+}
@@ -0,0 +1,130 @@
+package com.comphenix.protocol.async;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ForkJoinWorkerThreadFactory;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Represents a work-stealing thread pool shared by every asynchronous listener that has been started
+ * with {@link AsyncListenerHandler#startShared()}.
+ * <p>
+ * Idle listeners don't occupy a thread of their own, and busy listeners may use every thread in the pool.
+ * Listeners that block for a long time, such as when waiting on a database, should use dedicated workers instead.
+ */
+public class SharedWorkerPool implements Executor {
+	/**
+	 * Indicates that the pool should contain one thread per available processor.
+	 */
+	public static final int DEFAULT_PARALLELISM = 0;
+
+	private static final SharedWorkerPool INSTANCE = new SharedWorkerPool();
+
+	// Unique thread ID
+	private static final AtomicInteger nextID = new AtomicInteger();
+
+	// Created on demand
+	private ForkJoinPool pool;
+	private int parallelism = DEFAULT_PARALLELISM;
+
+	private SharedWorkerPool() { }
+
+	/**
+	 * Retrieve the shared worker pool used by ProtocolLib.
+	 * @return The shared worker pool.
+	 */
+	public static SharedWorkerPool getInstance() {
+		return INSTANCE;
+	}
+
+	@Override
+	public void execute(Runnable command) {
+		getPool().execute(command);
+	}
+
+	/**
+	 * Retrieve the underlying pool, creating it if necessary.
+	 * @return The underlying pool.
+	 */
+	private synchronized ForkJoinPool getPool() {
+		if (pool == null) {
+			// Asynchronous mode processes tasks that are never joined in FIFO order
+			pool = new ForkJoinPool(getEffectiveParallelism(), new ForkJoinWorkerThreadFactory() {
+				@Override
+				public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+					ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+					thread.setName("Protocol Shared Worker #" + nextID.incrementAndGet());
+					return thread;
+				}
+			}, null, true);
+		}
+		return pool;
+	}
+
+	/**
+	 * Retrieve the configured number of threads in the pool.
+	 * @return The number of threads, or {@link #DEFAULT_PARALLELISM}.
+	 */
+	public synchronized int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * Retrieve the actual number of threads in the pool.
+	 * @return The actual number of threads.
+	 */
+	public synchronized int getEffectiveParallelism() {
+		return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+	}
+
+	/**
+	 * Set the number of threads in the pool.
+	 * <p>
+	 * If the number has changed, the current pool is shut down once it has completed its remaining tasks,
+	 * and a new pool is created for subsequent tasks.
+	 * @param parallelism - the number of threads, or {@link #DEFAULT_PARALLELISM}.
+	 */
+	public synchronized void setParallelism(int parallelism) {
+		if (parallelism < 0)
+			throw new IllegalArgumentException("Parallelism cannot be less than zero.");
+
+		if (this.parallelism != parallelism) {
+			this.parallelism = parallelism;
+
+			// Only replace the pool if it has the wrong size
+			if (pool != null && pool.getParallelism() != getEffectiveParallelism()) {
+				shutdown();
+			}
+		}
+	}
+
+	/**
+	 * Determine if the pool has been created.
+	 * @return TRUE if it has, FALSE otherwise.
+	 */
+	public synchronized boolean isRunning() {
+		return pool != null;
+	}
+
+	/**
+	 * Shut down the current pool after it has completed its remaining tasks.
+	 * <p>
+	 * A new pool is created if any further tasks are submitted.
+	 */
+	public synchronized void shutdown() {
+		if (pool != null) {
+			pool.shutdown();
+			pool = null;
+		}
+	}
+
+	@Override
+	public synchronized String toString() {
+		if (pool == null)
+			return "SharedWorkerPool [Not running]";
+
+		return String.format("SharedWorkerPool [Threads: %s, Active: %s, Queued: %s, Steals: %s]",
+			pool.getPoolSize(), pool.getActiveThreadCount(), pool.getQueuedSubmissionCount(), pool.getStealCount());
+	}
+}
@@ -0,0 +1,158 @@
+package com.comphenix.protocol.collections;
+
+import java.util.Arrays;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Represents a hash map with primitive integer keys, using open addressing.
+ * <p>
+ * Unlike {@link IntegerMap}, the keys may be sparse or negative. This map is not thread safe.
+ * @param <T> - the value type.
+ */
+public class IntObjectHashMap<T> {
+	private static final int DEFAULT_CAPACITY = 16;
+
+	private int[] keys;
+	private Object[] values;
+	private int size;
+	private int mask;
+
+	/**
+	 * Construct a new integer hash map.
+	 * @param <T> Parameter type
+	 * @return A new integer hash map.
+	 */
+	public static <T> IntObjectHashMap<T> newMap() {
+		return new IntObjectHashMap<T>();
+	}
+
+	/**
+	 * Construct a new integer hash map with a default capacity.
+	 */
+	public IntObjectHashMap() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Construct a new integer hash map that can hold the given number of values without resizing.
+	 * @param expectedSize - the expected number of values.
+	 */
+	public IntObjectHashMap(int expectedSize) {
+		Preconditions.checkArgument(expectedSize >= 0, "expectedSize cannot be negative");
+		allocate(tableSize(expectedSize));
+	}
+
+	/**
+	 * Associate an integer key with the given value.
+	 * @param key - the integer key.
+	 * @param value - the value. Cannot be NULL.
+	 * @return The previous association, or NULL if not found.
+	 */
+	public T put(int key, T value) {
+		Preconditions.checkNotNull(value, "value cannot be NULL");
+		int index = indexOf(key);
+
+		if (values[index] != null) {
+			T old = valueAt(index);
+			values[index] = value;
+			return old;
+		}
+
+		keys[index] = key;
+		values[index] = value;
+
+		// Keep the load factor at or below one half
+		if (++size * 2 > keys.length) {
+			resize(keys.length * 2);
+		}
+		return null;
+	}
+
+	/**
+	 * Retrieve the value associated with a given key.
+	 * @param key - the key.
+	 * @return The value, or NULL if not found.
+	 */
+	public T get(int key) {
+		return valueAt(indexOf(key));
+	}
+
+	/**
+	 * Determine if the given key exists in the map.
+	 * @param key - the key to check.
+	 * @return TRUE if it does, FALSE otherwise.
+	 */
+	public boolean containsKey(int key) {
+		return values[indexOf(key)] != null;
+	}
+
+	/**
+	 * Retrieve the number of mappings in this map.
+	 * @return The number of mapping.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Remove every association from the map, retaining its capacity.
+	 */
+	public void clear() {
+		if (size > 0) {
+			Arrays.fill(values, null);
+			size = 0;
+		}
+	}
+
+	// Find the slot of the given key, or the empty slot where it belongs
+	private int indexOf(int key) {
+		int index = mix(key) & mask;
+
+		while (values[index] != null && keys[index] != key) {
+			index = (index + 1) & mask;
+		}
+		return index;
+	}
+
+	@SuppressWarnings("unchecked")
+	private T valueAt(int index) {
+		return (T) values[index];
+	}
+
+	private void resize(int capacity) {
+		int[] oldKeys = keys;
+		Object[] oldValues = values;
+
+		allocate(capacity);
+
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldValues[i] != null) {
+				int index = indexOf(oldKeys[i]);
+				keys[index] = oldKeys[i];
+				values[index] = oldValues[i];
+			}
+		}
+	}
+
+	private void allocate(int capacity) {
+		this.keys = new int[capacity];
+		this.values = new Object[capacity];
+		this.mask = capacity - 1;
+	}
+
+	private static int tableSize(int expectedSize) {
+		int capacity = DEFAULT_CAPACITY;
+
+		while (capacity < expectedSize * 2) {
+			capacity <<= 1;
+		}
+		return capacity;
+	}
+
+	// Entity IDs are sequential, so spread them over the table
+	private static int mix(int key) {
+		int hash = key * 0x9E3779B9;
+		return hash ^ (hash >>> 16);
+	}
+}
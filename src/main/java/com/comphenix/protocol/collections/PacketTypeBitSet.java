@@ -0,0 +1,161 @@
+package com.comphenix.protocol.collections;
+
+import java.util.Arrays;
+import java.util.Set;
+
+import com.comphenix.protocol.PacketType;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Represents a set of packet types, stored as a bit set indexed by {@link PacketType#getOrdinal()}.
+ * <p>
+ * This class is not thread-safe. Publish copies instead of modifying a shared instance.
+ */
+public class PacketTypeBitSet {
+	private long[] words;
+
+	/**
+	 * Construct a new empty set.
+	 */
+	public PacketTypeBitSet() {
+		this.words = new long[1];
+	}
+
+	/**
+	 * Construct a copy of the given set.
+	 * @param other - the set to copy.
+	 */
+	public PacketTypeBitSet(PacketTypeBitSet other) {
+		this.words = other.words.clone();
+	}
+
+	/**
+	 * Add the given packet type to the set.
+	 * @param type - the packet type.
+	 * @return TRUE if the set was changed, FALSE otherwise.
+	 */
+	public boolean add(PacketType type) {
+		int ordinal = type.getOrdinal();
+		int index = ordinal >>> 6;
+
+		if (index >= words.length) {
+			words = Arrays.copyOf(words, Math.max(index + 1, words.length * 2));
+		}
+		long old = words[index];
+		words[index] = old | (1L << ordinal);
+		return words[index] != old;
+	}
+
+	/**
+	 * Remove the given packet type from the set.
+	 * @param type - the packet type.
+	 * @return TRUE if the set was changed, FALSE otherwise.
+	 */
+	public boolean remove(PacketType type) {
+		int ordinal = type.getOrdinal();
+		int index = ordinal >>> 6;
+
+		if (index >= words.length)
+			return false;
+		long old = words[index];
+		words[index] = old & ~(1L << ordinal);
+		return words[index] != old;
+	}
+
+	/**
+	 * Determine if the given packet type is in the set.
+	 * @param type - the packet type.
+	 * @return TRUE if it is, FALSE otherwise.
+	 */
+	public boolean contains(PacketType type) {
+		return contains(type.getOrdinal());
+	}
+
+	/**
+	 * Determine if the packet type with the given ordinal is in the set.
+	 * @param ordinal - the packet type ordinal.
+	 * @return TRUE if it is, FALSE otherwise.
+	 */
+	public boolean contains(int ordinal) {
+		int index = ordinal >>> 6;
+		return index < words.length && (words[index] & (1L << ordinal)) != 0;
+	}
+
+	/**
+	 * Retrieve the number of packet types in the set.
+	 * @return The number of packet types.
+	 */
+	public int size() {
+		int count = 0;
+
+		for (long word : words)
+			count += Long.bitCount(word);
+		return count;
+	}
+
+	/**
+	 * Determine if the set is empty.
+	 * @return TRUE if it is, FALSE otherwise.
+	 */
+	public boolean isEmpty() {
+		for (long word : words) {
+			if (word != 0)
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Remove every packet type from the set.
+	 */
+	public void clear() {
+		Arrays.fill(words, 0);
+	}
+
+	/**
+	 * Retrieve a snapshot of every packet type in the set.
+	 * @return Every packet type.
+	 */
+	public Set<PacketType> toSet() {
+		ImmutableSet.Builder<PacketType> builder = ImmutableSet.builder();
+
+		for (int index = 0; index < words.length; index++) {
+			long word = words[index];
+
+			while (word != 0) {
+				int bit = Long.numberOfTrailingZeros(word);
+				builder.add(PacketType.fromOrdinal((index << 6) + bit));
+				word &= word - 1;
+			}
+		}
+		return builder.build();
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(trimmed());
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == this)
+			return true;
+		if (obj instanceof PacketTypeBitSet)
+			return Arrays.equals(trimmed(), ((PacketTypeBitSet) obj).trimmed());
+		return false;
+	}
+
+	// Retrieve the words without any trailing empty words
+	private long[] trimmed() {
+		int length = words.length;
+
+		while (length > 0 && words[length - 1] == 0)
+			length--;
+		return Arrays.copyOf(words, length);
+	}
+
+	@Override
+	public String toString() {
+		return toSet().toString();
+	}
+}
@@ -0,0 +1,197 @@
+package com.comphenix.protocol.collections;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import com.comphenix.protocol.PacketType;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Represents a thread-safe map of packet types, backed by an array indexed by {@link PacketType#getOrdinal()}.
+ * <p>
+ * Lookups never lock or allocate. Every modification copies the backing array, so this map is intended
+ * for data that is read for every packet, but rarely changed.
+ * @param <T> - type of the values in the map.
+ */
+public class PacketTypeMap<T> {
+	private static final Object[] EMPTY = new Object[0];
+
+	// The current values - never modified once published
+	private volatile Object[] array = EMPTY;
+	private volatile int size;
+
+	/**
+	 * Construct a new packet type map.
+	 * @param <T> Parameter type
+	 * @return A new packet type map.
+	 */
+	public static <T> PacketTypeMap<T> newMap() {
+		return new PacketTypeMap<T>();
+	}
+
+	/**
+	 * Retrieve the value associated with a given packet type.
+	 * @param type - the packet type.
+	 * @return The value, or NULL if not found.
+	 */
+	@SuppressWarnings("unchecked")
+	public T get(PacketType type) {
+		Object[] current = array;
+		int ordinal = type.getOrdinal();
+
+		return ordinal < current.length ? (T) current[ordinal] : null;
+	}
+
+	/**
+	 * Determine if the given packet type exists in the map.
+	 * @param type - the packet type.
+	 * @return TRUE if it does, FALSE otherwise.
+	 */
+	public boolean containsKey(PacketType type) {
+		return get(type) != null;
+	}
+
+	/**
+	 * Associate a packet type with the given value.
+	 * @param type - the packet type.
+	 * @param value - the value. Cannot be NULL.
+	 * @return The previous association, or NULL if not found.
+	 */
+	public synchronized T put(PacketType type, T value) {
+		Preconditions.checkNotNull(value, "value cannot be NULL");
+		return set(type, value);
+	}
+
+	/**
+	 * Associate a packet type with the given value, unless it has already been associated with a value.
+	 * @param type - the packet type.
+	 * @param value - the value. Cannot be NULL.
+	 * @return The current association, or NULL if the given value was added.
+	 */
+	public synchronized T putIfAbsent(PacketType type, T value) {
+		Preconditions.checkNotNull(value, "value cannot be NULL");
+		T current = get(type);
+
+		if (current == null) {
+			set(type, value);
+		}
+		return current;
+	}
+
+	/**
+	 * Remove the association of the given packet type.
+	 * @param type - the packet type.
+	 * @return The old associated value, or NULL.
+	 */
+	public synchronized T remove(PacketType type) {
+		return get(type) != null ? set(type, null) : null;
+	}
+
+	/**
+	 * Remove the association of the given packet type, but only if it is associated with the given value.
+	 * @param type - the packet type.
+	 * @param value - the expected value.
+	 * @return TRUE if the association was removed, FALSE otherwise.
+	 */
+	public synchronized boolean remove(PacketType type, T value) {
+		if (value != null && get(type) == value) {
+			set(type, null);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Replace the value of the given packet type, but only if it is currently associated with the expected value.
+	 * @param type - the packet type.
+	 * @param expected - the expected value.
+	 * @param value - the new value. Cannot be NULL.
+	 * @return TRUE if the value was replaced, FALSE otherwise.
+	 */
+	public synchronized boolean replace(PacketType type, T expected, T value) {
+		Preconditions.checkNotNull(value, "value cannot be NULL");
+
+		if (expected != null && get(type) == expected) {
+			set(type, value);
+			return true;
+		}
+		return false;
+	}
+
+	// Copy the array with the given change - callers must hold the lock
+	@SuppressWarnings("unchecked")
+	private T set(PacketType type, T value) {
+		int ordinal = Preconditions.checkNotNull(type, "type cannot be NULL").getOrdinal();
+		Object[] copy = Arrays.copyOf(array, Math.max(array.length, ordinal + 1));
+		T old = (T) copy[ordinal];
+
+		copy[ordinal] = value;
+		array = copy;
+
+		if (old == null && value != null)
+			size++;
+		else if (old != null && value == null)
+			size--;
+		return old;
+	}
+
+	/**
+	 * Retrieve the number of mappings in this map.
+	 * @return The number of mappings.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Determine if this map is empty.
+	 * @return TRUE if it is, FALSE otherwise.
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Retrieve a snapshot of every packet type in the map.
+	 * @return Every packet type.
+	 */
+	public Set<PacketType> keySet() {
+		Object[] current = array;
+		ImmutableSet.Builder<PacketType> builder = ImmutableSet.builder();
+
+		for (int i = 0; i < current.length; i++) {
+			if (current[i] != null) {
+				builder.add(PacketType.fromOrdinal(i));
+			}
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Retrieve a snapshot of every value in the map, ordered by packet type ordinal.
+	 * @return Every value.
+	 */
+	@SuppressWarnings("unchecked")
+	public List<T> values() {
+		Object[] current = array;
+		ImmutableList.Builder<T> builder = ImmutableList.builder();
+
+		for (Object value : current) {
+			if (value != null) {
+				builder.add((T) value);
+			}
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Remove every association in the map.
+	 */
+	public synchronized void clear() {
+		array = EMPTY;
+		size = 0;
+	}
+}
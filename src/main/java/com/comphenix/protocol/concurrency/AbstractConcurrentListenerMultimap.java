@@ -21,10 +21,9 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 
 import com.comphenix.protocol.PacketType;
+import com.comphenix.protocol.collections.PacketTypeMap;
 import com.comphenix.protocol.events.ListeningWhitelist;
 import com.comphenix.protocol.injector.PrioritizedListener;
 import com.google.common.collect.Iterables;
@@ -36,10 +35,10 @@ import com.google.common.collect.Iterables;
  */
 public abstract class AbstractConcurrentListenerMultimap<TListener> {
 	// The core of our map
-	private ConcurrentMap<PacketType, SortedCopyOnWriteArray<PrioritizedListener<TListener>>> mapListeners;
+	private PacketTypeMap<SortedCopyOnWriteArray<PrioritizedListener<TListener>>> mapListeners;
 	
 	public AbstractConcurrentListenerMultimap() {
-		mapListeners =   new ConcurrentHashMap<PacketType, SortedCopyOnWriteArray<PrioritizedListener<TListener>>>();
+		mapListeners = PacketTypeMap.newMap();
 	}
 	
 	/**
@@ -98,7 +97,7 @@ public abstract class AbstractConcurrentListenerMultimap<TListener> {
 					list.remove(new PrioritizedListener<TListener>(listener, whitelist.getPriority()));
 					
 					if (list.size() == 0) {
-						mapListeners.remove(type);
+						mapListeners.remove(type, list);
 						removedPackets.add(type);
 					}
 				}
@@ -128,7 +127,7 @@ public abstract class AbstractConcurrentListenerMultimap<TListener> {
 	}
 	
 	/**
-	 * Retrieve every registered packet type:
+	 * Retrieve a snapshot of every registered packet type:
 	 * @return Registered packet type.
 	 */
 	public Set<PacketType> keySet() {
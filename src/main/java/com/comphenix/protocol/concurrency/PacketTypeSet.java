@@ -1,30 +1,30 @@
 package com.comphenix.protocol.concurrency;
 
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Set;
 
 import com.comphenix.protocol.PacketType;
+import com.comphenix.protocol.collections.PacketTypeBitSet;
 import com.comphenix.protocol.injector.packet.PacketRegistry;
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Maps;
 
 /**
  * Represents a concurrent set of packet types.
+ * <p>
+ * The content is stored as an immutable bit set indexed by packet type ordinal, which is replaced whenever
+ * the set is modified. Lookups are lock-free and never allocate.
  * @author Kristian
  */
 public class PacketTypeSet {
-	private Set<PacketType> types = Collections.newSetFromMap(Maps.<PacketType, Boolean>newConcurrentMap());
-	private Set<Class<?>> classes = Collections.newSetFromMap(Maps.<Class<?>, Boolean>newConcurrentMap());
+	// Never modified once published
+	private volatile PacketTypeBitSet types = new PacketTypeBitSet();
 	
 	public PacketTypeSet() {
 		// Do nothing
 	}
 	
 	public PacketTypeSet(Collection<? extends PacketType> values) {
-		for (PacketType type : values) {
-			addType(type);
-		}
+		addAll(values);
 	}
 	
 	/**
@@ -32,11 +32,12 @@ public class PacketTypeSet {
 	 * @param type - the type to add.
 	 */
 	public synchronized void addType(PacketType type) {
-		Class<?> packetClass = getPacketClass(type);
-		types.add(Preconditions.checkNotNull(type, "type cannot be NULL."));
+		Preconditions.checkNotNull(type, "type cannot be NULL.");
 		
-		if (packetClass != null) {
-			classes.add(getPacketClass(type));
+		if (!types.contains(type)) {
+			PacketTypeBitSet copy = new PacketTypeBitSet(types);
+			copy.add(type);
+			types = copy;
 		}
 	}
 	
@@ -45,9 +46,12 @@ public class PacketTypeSet {
 	 * @param types - the types to add.
 	 */
 	public synchronized void addAll(Iterable<? extends PacketType> types) {
+		PacketTypeBitSet copy = new PacketTypeBitSet(this.types);
+		
 		for (PacketType type : types) {
-			addType(type);
+			copy.add(Preconditions.checkNotNull(type, "type cannot be NULL."));
 		}
+		this.types = copy;
 	}
 	
 	/**
@@ -55,11 +59,12 @@ public class PacketTypeSet {
 	 * @param type - the type to remove.
 	 */
 	public synchronized void removeType(PacketType type) {
-		Class<?> packetClass = getPacketClass(type);
-		types.remove(Preconditions.checkNotNull(type, "type cannot be NULL."));
+		Preconditions.checkNotNull(type, "type cannot be NULL.");
 		
-		if (packetClass != null) {
-			classes.remove(getPacketClass(type));
+		if (types.contains(type)) {
+			PacketTypeBitSet copy = new PacketTypeBitSet(types);
+			copy.remove(type);
+			types = copy;
 		}
 	}
 	
@@ -68,27 +73,21 @@ public class PacketTypeSet {
 	 * @param types Types to remove
 	 */
 	public synchronized void removeAll(Iterable<? extends PacketType> types) {
+		PacketTypeBitSet copy = new PacketTypeBitSet(this.types);
+		
 		for (PacketType type : types) {
-			removeType(type);
+			copy.remove(Preconditions.checkNotNull(type, "type cannot be NULL."));
 		}
-	}
-	
-	/**
-	 * Retrieve the packet class associated with a particular type.
-	 * @param type - the packet type.
-	 * @return The associated packet type.
-	 */
-	protected Class<?> getPacketClass(PacketType type) {
-		return PacketRegistry.getPacketClassFromType(type);
+		this.types = copy;
 	}
 	
 	/**
 	 * Determine if the given packet type exists in the set.
-	 * @param type - the type to find.
+	 * @param type - the type to find, or NULL.
 	 * @return TRUE if it does, FALSE otherwise.
 	 */
 	public boolean contains(PacketType type) {
-		return types.contains(type);
+		return type != null && types.contains(type);
 	}
 	
 	/**
@@ -97,7 +96,7 @@ public class PacketTypeSet {
 	 * @return TRUE if it does, FALSE otherwise.
 	 */
 	public boolean contains(Class<?> packetClass) {
-		return classes.contains(packetClass);
+		return contains(PacketRegistry.getPacketType(packetClass));
 	}
 	
 	/**
@@ -108,15 +107,15 @@ public class PacketTypeSet {
 	public boolean containsPacket(Object packet) {
 		if (packet == null)
 			return false;
-		return classes.contains(packet.getClass());
+		return contains(packet.getClass());
 	}
 	
 	/**
-	 * Retrieve a view of this packet type set.
+	 * Retrieve a snapshot of this packet type set.
 	 * @return The packet type values.
 	 */
 	public Set<PacketType> values() {
-		return types;
+		return types.toSet();
 	}
 	
 	/**
@@ -128,7 +127,6 @@ public class PacketTypeSet {
 	}
 	
 	public synchronized void clear() {
-		types.clear();
-		classes.clear();
+		types = new PacketTypeBitSet();
 	}
 }
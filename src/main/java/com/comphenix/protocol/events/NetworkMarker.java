@@ -1,6 +1,5 @@
 package com.comphenix.protocol.events;
 
-import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
@@ -23,6 +22,9 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 import com.google.common.primitives.Ints;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+
 /**
  * Marker containing the serialized packet data seen from the network,
  * or output handlers that will serialize the current packet.
@@ -60,6 +62,9 @@ public abstract class NetworkMarker {
 	
 	// The input buffer
 	private ByteBuffer inputBuffer;
+
+	// A reference counted input buffer, or NULL if it has been released
+	private volatile ByteBuf inputByteBuf;
 	private final ConnectionSide side;
 	private final PacketType type;
 	
@@ -94,6 +99,21 @@ public abstract class NetworkMarker {
 			this.inputBuffer = ByteBuffer.wrap(inputBuffer);
 		}
 	}
+
+	/**
+	 * Construct a new network marker that shares the read serialized packet data with the network stack.
+	 * <p>
+	 * The marker takes over the caller's reference to the buffer, which must be read-only. The data is only copied
+	 * when it is requested through {@link #getInputBuffer()}, or needed after {@link #releaseInputBuffer(boolean)} has been invoked.
+	 * @param side - which side this marker belongs to.
+	 * @param inputBuffer - the read serialized packet data.
+	 * @param type - packet type
+	 */
+	public NetworkMarker(@Nonnull ConnectionSide side, ByteBuf inputBuffer, PacketType type) {
+		this.side = Preconditions.checkNotNull(side, "side cannot be NULL.");
+		this.inputByteBuf = inputBuffer;
+		this.type = type;
+	}
 	
 	/**
 	 * Retrieve whether or not this marker belongs to a client or a server side packet.
@@ -119,6 +139,8 @@ public abstract class NetworkMarker {
 	 * The returned buffer is read-only. If the parent event is a server side packet this
 	 * method throws {@link IllegalStateException}.
 	 * <p>
+	 * The buffer is never shared with the network stack, so it may be kept and read at any time, from any thread.
+	 * <p>
 	 * It returns NULL if the packet was transmitted by a plugin locally.
 	 * @return A byte buffer containing the raw packet data read from the network.
 	 */
@@ -132,6 +154,8 @@ public abstract class NetworkMarker {
 	 * The returned buffer is read-only. If the parent event is a server side packet this
 	 * method throws {@link IllegalStateException}.
 	 * <p>
+	 * The buffer is never shared with the network stack, so it may be kept and read at any time, from any thread.
+	 * <p>
 	 * It returns NULL if the packet was transmitted by a plugin locally.
 	 * @param excludeHeader - whether or not to exclude the packet ID header.
 	 * @return A byte buffer containing the raw packet data read from the network.
@@ -139,6 +163,7 @@ public abstract class NetworkMarker {
 	public ByteBuffer getInputBuffer(boolean excludeHeader) {
 		if (side.isForServer())
 			throw new IllegalStateException("Server-side packets have no input buffer.");
+		ByteBuffer inputBuffer = getRawInputBuffer();
 		
 		if (inputBuffer != null) {
 			ByteBuffer result = inputBuffer.asReadOnlyBuffer();
@@ -179,11 +204,13 @@ public abstract class NetworkMarker {
 	public DataInputStream getInputStream(boolean excludeHeader) {
 		if (side.isForServer())
 			throw new IllegalStateException("Server-side packets have no input buffer.");
+		ByteBuffer inputBuffer = getRawInputBuffer();
+
 		if (inputBuffer == null)
 			return null;
 		
 		DataInputStream input = new DataInputStream(
-				new ByteArrayInputStream(inputBuffer.array())
+				new ByteBufferInputStream(inputBuffer.asReadOnlyBuffer())
 		);
 		
 		try {
@@ -197,6 +224,81 @@ public abstract class NetworkMarker {
 		return input;
 	}
 	
+	/**
+	 * Retrieve a read-only view of the serialized packet data shared with the network stack.
+	 * <p>
+	 * The view is only valid while the packet is being read from the network, and is NULL for
+	 * markers that store the data in a byte array. It is never copied. The view must not be kept
+	 * after the synchronous listeners have returned, and asynchronous listeners must use
+	 * {@link #getInputBuffer()} instead, as the underlying memory is reused by the network stack.
+	 * @param excludeHeader - whether or not to exclude the packet ID header.
+	 * @return A view of the raw packet data read from the network, or NULL.
+	 */
+	public ByteBuf getInputByteBuf(boolean excludeHeader) {
+		if (side.isForServer())
+			throw new IllegalStateException("Server-side packets have no input buffer.");
+		ByteBuf buffer = inputByteBuf;
+
+		if (buffer != null) {
+			ByteBuf result = buffer.duplicate();
+
+			try {
+				// The header is always present in the network stream
+				if (excludeHeader)
+					skipHeader(new DataInputStream(new ByteBufInputStream(result)));
+			} catch (IOException e) {
+				throw new RuntimeException("Cannot skip packet header.", e);
+			}
+			return result;
+		}
+		return null;
+	}
+
+	/**
+	 * Release the input buffer shared with the network stack.
+	 * <p>
+	 * This is an internal method that should not be used by API users.
+	 * @param keepContents - whether or not to copy the data so it can still be read afterwards.
+	 * @return TRUE if a buffer was released, FALSE otherwise.
+	 */
+	public boolean releaseInputBuffer(boolean keepContents) {
+		ByteBuf buffer;
+
+		synchronized (this) {
+			buffer = inputByteBuf;
+
+			if (buffer == null)
+				return false;
+
+			if (keepContents && inputBuffer == null) {
+				byte[] data = new byte[buffer.readableBytes()];
+				buffer.getBytes(buffer.readerIndex(), data);
+				inputBuffer = ByteBuffer.wrap(data);
+			}
+			inputByteBuf = null;
+		}
+		buffer.release();
+		return true;
+	}
+
+	/**
+	 * Retrieve the input buffer, copying the shared buffer the first time it is requested.
+	 * <p>
+	 * The shared buffer is released by the network stack once the packet has been read, which may
+	 * occur while another thread is still reading from the returned buffer. A copy is therefore always returned.
+	 * @return The input buffer, or NULL.
+	 */
+	private synchronized ByteBuffer getRawInputBuffer() {
+		ByteBuf buffer = inputByteBuf;
+
+		if (buffer != null && inputBuffer == null) {
+			byte[] data = new byte[buffer.readableBytes()];
+			buffer.getBytes(buffer.readerIndex(), data);
+			inputBuffer = ByteBuffer.wrap(data);
+		}
+		return inputBuffer;
+	}
+
 	/**
 	 * Whether or not the output handlers have to write a packet header.
 	 * @return TRUE if they do, FALSE otherwise.
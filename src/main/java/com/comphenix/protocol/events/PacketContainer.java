@@ -30,6 +30,7 @@ import com.comphenix.protocol.PacketType;
 import com.comphenix.protocol.PacketType.Protocol;
 import com.comphenix.protocol.injector.StructureCache;
 import com.comphenix.protocol.reflect.EquivalentConverter;
+import com.comphenix.protocol.reflect.FieldAccessException;
 import com.comphenix.protocol.reflect.FuzzyReflection;
 import com.comphenix.protocol.reflect.ObjectWriter;
 import com.comphenix.protocol.reflect.StructureModifier;
@@ -51,6 +52,7 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.UnpooledByteBufAllocator;
 
 import org.bukkit.Material;
@@ -76,6 +78,9 @@ public class PacketContainer implements Serializable {
 	// Current structure modifier
 	protected transient StructureModifier<Object> structureModifier;
 
+	// Typed modifiers that have been bound to this packet
+	private transient volatile CachedModifier[] modifierCache;
+
 	// Support for serialization
 	private static ConcurrentMap<Class<?>, Method> writeMethods = Maps.newConcurrentMap();
 	private static ConcurrentMap<Class<?>, Method> readMethods = Maps.newConcurrentMap();
@@ -106,6 +111,9 @@ public class PacketContainer implements Serializable {
 			})
 			.build();
 	
+	// Maximum number of typed modifiers bound to a single packet
+	private static final int MAX_CACHED_MODIFIERS = 16;
+
 	// Packets that cannot be cloned by our default deep cloner
 	private static final Set<PacketType> CLONING_UNSUPPORTED = Sets.newHashSet(
 		PacketType.Play.Server.UPDATE_ATTRIBUTES, PacketType.Status.Server.SERVER_INFO);
@@ -193,6 +201,27 @@ public class PacketContainer implements Serializable {
 	 */
 	protected PacketContainer() {
 	}
+
+	/**
+	 * Point a pooled container at another packet.
+	 * @param type - type of the given packet.
+	 * @param handle - contained packet.
+	 */
+	void reuse(PacketType type, Object handle) {
+		this.type = type;
+		this.handle = handle;
+		this.structureModifier = StructureCache.getStructure(type).withTarget(handle);
+		this.modifierCache = null;
+	}
+
+	/**
+	 * Release the packet of a pooled container, once every listener has processed it.
+	 */
+	void recycle() {
+		this.handle = null;
+		this.structureModifier = null;
+		this.modifierCache = null;
+	}
 	
 	/**
 	 * Retrieves the underlying Minecraft packet.
@@ -217,15 +246,75 @@ public class PacketContainer implements Serializable {
 	 * @return A modifier for this specific type.
 	 */
 	public <T> StructureModifier<T> getSpecificModifier(Class<T> primitiveType) {
-		return structureModifier.withType(primitiveType);
+		return withType(primitiveType);
 	}
 	
+	/**
+	 * Retrieve a modifier for every field of the given type, bound to the current packet.
+	 * @param fieldType - the field type.
+	 * @return The modifier.
+	 */
+	private <T> StructureModifier<T> withType(Class fieldType) {
+		return withType(fieldType, null);
+	}
+
+	/**
+	 * Retrieve a modifier for every field of the given type, bound to the current packet.
+	 * <p>
+	 * Modifiers without a converter are reused by later calls with the same field type. Almost every
+	 * converter is created anew by each getter call, so converted modifiers are never cached - they
+	 * would only fill up the cache with entries that can never be retrieved again.
+	 * @param fieldType - the field type.
+	 * @param converter - the converter, or NULL.
+	 * @return The modifier.
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> StructureModifier<T> withType(Class fieldType, EquivalentConverter<T> converter) {
+		if (converter != null) {
+			return structureModifier.withType(fieldType, converter);
+		}
+		CachedModifier[] cache = modifierCache;
+
+		if (cache != null) {
+			for (CachedModifier cached : cache) {
+				if (cached.fieldType == fieldType) {
+					return (StructureModifier<T>) cached.modifier;
+				}
+			}
+		}
+
+		StructureModifier<T> result = structureModifier.withType(fieldType);
+
+		// Don't let getSpecificModifier() grow the cache indefinitely
+		if (cache == null || cache.length < MAX_CACHED_MODIFIERS) {
+			CachedModifier[] copy = cache != null ? Arrays.copyOf(cache, cache.length + 1) : new CachedModifier[1];
+
+			// Benign race - we may lose an entry, but never see a partial one
+			copy[copy.length - 1] = new CachedModifier(fieldType, result);
+			modifierCache = copy;
+		}
+		return result;
+	}
+
+	/**
+	 * Represents a typed modifier that has been bound to this packet.
+	 */
+	private static final class CachedModifier {
+		private final Class<?> fieldType;
+		private final StructureModifier<?> modifier;
+
+		private CachedModifier(Class<?> fieldType, StructureModifier<?> modifier) {
+			this.fieldType = fieldType;
+			this.modifier = modifier;
+		}
+	}
+
 	/**
 	 * Retrieves a read/write structure for every byte field.
 	 * @return A modifier for every byte field.
 	 */
 	public StructureModifier<Byte> getBytes() {
-		return structureModifier.withType(byte.class);
+		return withType(byte.class);
 	}
 	
 	/**
@@ -233,7 +322,7 @@ public class PacketContainer implements Serializable {
 	 * @return A modifier for every boolean field.
 	 */
 	public StructureModifier<Boolean> getBooleans() {
-		return structureModifier.withType(boolean.class);
+		return withType(boolean.class);
 	}
 	
 	/**
@@ -241,7 +330,7 @@ public class PacketContainer implements Serializable {
 	 * @return A modifier for every short field.
 	 */
 	public StructureModifier<Short> getShorts() {
-		return structureModifier.withType(short.class);
+		return withType(short.class);
 	}
 	
 	/**
@@ -249,14 +338,14 @@ public class PacketContainer implements Serializable {
 	 * @return A modifier for every integer field.
 	 */
 	public StructureModifier<Integer> getIntegers() {
-		return structureModifier.withType(int.class);
+		return withType(int.class);
 	}
 	/**
 	 * Retrieves a read/write structure for every long field.
 	 * @return A modifier for every long field.
 	 */
 	public StructureModifier<Long> getLongs() {
-		return structureModifier.withType(long.class);
+		return withType(long.class);
 	}
 	
 	/**
@@ -264,7 +353,7 @@ public class PacketContainer implements Serializable {
 	 * @return A modifier for every float field.
 	 */
 	public StructureModifier<Float> getFloat() {
-		return structureModifier.withType(float.class);
+		return withType(float.class);
 	}
 	
 	/**
@@ -272,7 +361,147 @@ public class PacketContainer implements Serializable {
 	 * @return A modifier for every double field.
 	 */
 	public StructureModifier<Double> getDoubles() {
-		return structureModifier.withType(double.class);
+		return withType(double.class);
+	}
+
+	/**
+	 * Read the value of the byte field with the given index, without boxing it.
+	 * @param index - index of the field among every byte field.
+	 * @return The value of the field.
+	 * @throws FieldAccessException If the field doesn't exist.
+	 */
+	public byte readByte(int index) throws FieldAccessException {
+		return getBytes().readByte(index);
+	}
+
+	/**
+	 * Write the value of the byte field with the given index, without boxing it.
+	 * @param index - index of the field among every byte field.
+	 * @param value - the new value.
+	 * @throws FieldAccessException If the field doesn't exist.
+	 */
+	public void writeByte(int index, byte value) throws FieldAccessException {
+		getBytes().writeByte(index, value);
+	}
+
+	/**
+	 * Read the value of the boolean field with the given index, without boxing it.
+	 * @param index - index of the field among every boolean field.
+	 * @return The value of the field.
+	 * @throws FieldAccessException If the field doesn't exist.
+	 */
+	public boolean readBoolean(int index) throws FieldAccessException {
+		return getBooleans().readBoolean(index);
+	}
+
+	/**
+	 * Write the value of the boolean field with the given index, without boxing it.
+	 * @param index - index of the field among every boolean field.
+	 * @param value - the new value.
+	 * @throws FieldAccessException If the field doesn't exist.
+	 */
+	public void writeBoolean(int index, boolean value) throws FieldAccessException {
+		getBooleans().writeBoolean(index, value);
+	}
+
+	/**
+	 * Read the value of the short field with the given index, without boxing it.
+	 * @param index - index of the field among every short field.
+	 * @return The value of the field.
+	 * @throws FieldAccessException If the field doesn't exist.
+	 */
+	public short readShort(int index) throws FieldAccessException {
+		return getShorts().readShort(index);
+	}
+
+	/**
+	 * Write the value of the short field with the given index, without boxing it.
+	 * @param index - index of the field among every short field.
+	 * @param value - the new value.
+	 * @throws FieldAccessException If the field doesn't exist.
+	 */
+	public void writeShort(int index, short value) throws FieldAccessException {
+		getShorts().writeShort(index, value);
+	}
+
+	/**
+	 * Read the value of the int field with the given index, without boxing it.
+	 * @param index - index of the field among every int field.
+	 * @return The value of the field.
+	 * @throws FieldAccessException If the field doesn't exist.
+	 */
+	public int readInt(int index) throws FieldAccessException {
+		return getIntegers().readInt(index);
+	}
+
+	/**
+	 * Write the value of the int field with the given index, without boxing it.
+	 * @param index - index of the field among every int field.
+	 * @param value - the new value.
+	 * @throws FieldAccessException If the field doesn't exist.
+	 */
+	public void writeInt(int index, int value) throws FieldAccessException {
+		getIntegers().writeInt(index, value);
+	}
+
+	/**
+	 * Read the value of the long field with the given index, without boxing it.
+	 * @param index - index of the field among every long field.
+	 * @return The value of the field.
+	 * @throws FieldAccessException If the field doesn't exist.
+	 */
+	public long readLong(int index) throws FieldAccessException {
+		return getLongs().readLong(index);
+	}
+
+	/**
+	 * Write the value of the long field with the given index, without boxing it.
+	 * @param index - index of the field among every long field.
+	 * @param value - the new value.
+	 * @throws FieldAccessException If the field doesn't exist.
+	 */
+	public void writeLong(int index, long value) throws FieldAccessException {
+		getLongs().writeLong(index, value);
+	}
+
+	/**
+	 * Read the value of the float field with the given index, without boxing it.
+	 * @param index - index of the field among every float field.
+	 * @return The value of the field.
+	 * @throws FieldAccessException If the field doesn't exist.
+	 */
+	public float readFloat(int index) throws FieldAccessException {
+		return getFloat().readFloat(index);
+	}
+
+	/**
+	 * Write the value of the float field with the given index, without boxing it.
+	 * @param index - index of the field among every float field.
+	 * @param value - the new value.
+	 * @throws FieldAccessException If the field doesn't exist.
+	 */
+	public void writeFloat(int index, float value) throws FieldAccessException {
+		getFloat().writeFloat(index, value);
+	}
+
+	/**
+	 * Read the value of the double field with the given index, without boxing it.
+	 * @param index - index of the field among every double field.
+	 * @return The value of the field.
+	 * @throws FieldAccessException If the field doesn't exist.
+	 */
+	public double readDouble(int index) throws FieldAccessException {
+		return getDoubles().readDouble(index);
+	}
+
+	/**
+	 * Write the value of the double field with the given index, without boxing it.
+	 * @param index - index of the field among every double field.
+	 * @param value - the new value.
+	 * @throws FieldAccessException If the field doesn't exist.
+	 */
+	public void writeDouble(int index, double value) throws FieldAccessException {
+		getDoubles().writeDouble(index, value);
 	}
 	
 	/**
@@ -280,7 +509,7 @@ public class PacketContainer implements Serializable {
 	 * @return A modifier for every String field.
 	 */
 	public StructureModifier<String> getStrings() {
-		return structureModifier.withType(String.class);
+		return withType(String.class);
 	}
 
 	/**
@@ -288,7 +517,7 @@ public class PacketContainer implements Serializable {
 	 * @return A modifier for every UUID field.
 	 */
 	public StructureModifier<UUID> getUUIDs() {
-		return structureModifier.withType(UUID.class);
+		return withType(UUID.class);
 	}
 
 	/**
@@ -296,7 +525,7 @@ public class PacketContainer implements Serializable {
 	 * @return A modifier for every String array field.
 	 */
 	public StructureModifier<String[]> getStringArrays() {
-		return structureModifier.withType(String[].class);
+		return withType(String[].class);
 	}
 	
 	/**
@@ -304,7 +533,7 @@ public class PacketContainer implements Serializable {
 	 * @return A modifier for every byte array field.
 	 */
 	public StructureModifier<byte[]> getByteArrays() {
-		return structureModifier.withType(byte[].class);
+		return withType(byte[].class);
 	}
 	
 	/**
@@ -320,7 +549,7 @@ public class PacketContainer implements Serializable {
 	 * @return A modifier for every int array field.
 	 */
 	public StructureModifier<int[]> getIntegerArrays() {
-		return structureModifier.withType(int[].class);
+		return withType(int[].class);
 	}
 	
 	/**
@@ -332,7 +561,7 @@ public class PacketContainer implements Serializable {
 	 */
 	public StructureModifier<ItemStack> getItemModifier() {
 		// Convert to and from the Bukkit wrapper
-		return structureModifier.withType(
+		return withType(
 				MinecraftReflection.getItemStackClass(),
 				BukkitConverters.getItemStackConverter());
 	}
@@ -346,7 +575,7 @@ public class PacketContainer implements Serializable {
 	 */
 	public StructureModifier<ItemStack[]> getItemArrayModifier() {
 		// Convert to and from the Bukkit wrapper
-		return structureModifier.withType(
+		return withType(
 				MinecraftReflection.getItemStackArrayClass(),
 				Converters.ignoreNull(new ItemStackArrayConverter()));
 	}
@@ -360,7 +589,7 @@ public class PacketContainer implements Serializable {
 	 */
 	public StructureModifier<List<ItemStack>> getItemListModifier() {
 		// Convert to and from the Bukkit wrapper
-		return structureModifier.withType(
+		return withType(
 				List.class,
 				BukkitConverters.getListConverter(BukkitConverters.getItemStackConverter())
 		);
@@ -387,7 +616,7 @@ public class PacketContainer implements Serializable {
 	 */
 	public StructureModifier<WorldType> getWorldTypeModifier() {
 		// Convert to and from the Bukkit wrapper
-		return structureModifier.withType(
+		return withType(
 				MinecraftReflection.getWorldTypeClass(),
 				BukkitConverters.getWorldTypeConverter());
 	}
@@ -398,7 +627,7 @@ public class PacketContainer implements Serializable {
 	 */
 	public StructureModifier<WrappedDataWatcher> getDataWatcherModifier() {
 		// Convert to and from the Bukkit wrapper
-		return structureModifier.withType(
+		return withType(
 				MinecraftReflection.getDataWatcherClass(),
 				BukkitConverters.getDataWatcherConverter());
 	}
@@ -417,7 +646,7 @@ public class PacketContainer implements Serializable {
 	public StructureModifier<Entity> getEntityModifier(@Nonnull World world) {
 		Preconditions.checkNotNull(world, "world cannot be NULL.");
 		// Convert to and from the Bukkit wrapper
-		return structureModifier.withType(
+		return withType(
 				int.class, BukkitConverters.getEntityConverter(world));
 	}
 	
@@ -443,7 +672,7 @@ public class PacketContainer implements Serializable {
 	 */
 	public StructureModifier<ChunkPosition> getPositionModifier() {
 		// Convert to and from the Bukkit wrapper
-		return structureModifier.withType(
+		return withType(
 				MinecraftReflection.getChunkPositionClass(),
 				ChunkPosition.getConverter());
 	}
@@ -454,7 +683,7 @@ public class PacketContainer implements Serializable {
 	 */
 	public StructureModifier<BlockPosition> getBlockPositionModifier() {
 		// Convert to and from the Bukkit wrapper
-		return structureModifier.withType(
+		return withType(
 				MinecraftReflection.getBlockPositionClass(),
 				BlockPosition.getConverter());
 	}
@@ -465,7 +694,7 @@ public class PacketContainer implements Serializable {
 	 */
 	public StructureModifier<ChunkCoordIntPair> getChunkCoordIntPairs() {
 		// Allow access to the NBT class in packet 130
-		return structureModifier.withType(
+		return withType(
 				MinecraftReflection.getChunkCoordIntPair(),
 				ChunkCoordIntPair.getConverter());
 	}
@@ -476,7 +705,7 @@ public class PacketContainer implements Serializable {
 	 */
 	public StructureModifier<NbtBase<?>> getNbtModifier() {
 		// Allow access to the NBT class in packet 130
-		return structureModifier.withType(
+		return withType(
 				MinecraftReflection.getNBTBaseClass(),
 				BukkitConverters.getNbtConverter());
 	}
@@ -487,7 +716,7 @@ public class PacketContainer implements Serializable {
 	 */
 	public StructureModifier<List<NbtBase<?>>> getListNbtModifier() {
 		// Convert to and from the ProtocolLib wrapper
-		return structureModifier.withType(
+		return withType(
 				Collection.class,
 				BukkitConverters.getListConverter(BukkitConverters.getNbtConverter())
 		);
@@ -499,7 +728,7 @@ public class PacketContainer implements Serializable {
 	 */
 	public StructureModifier<Vector> getVectors() {
 		// Automatically marshal between Vec3d and the Bukkit wrapper
-		return structureModifier.withType(
+		return withType(
 				MinecraftReflection.getVec3DClass(),
 				BukkitConverters.getVectorConverter());
 	}
@@ -513,7 +742,7 @@ public class PacketContainer implements Serializable {
 	 */
 	public StructureModifier<List<WrappedAttribute>> getAttributeCollectionModifier() {
 		// Convert to and from the ProtocolLib wrapper
-		return structureModifier.withType(
+		return withType(
 			Collection.class,
 			BukkitConverters.getListConverter(BukkitConverters.getWrappedAttributeConverter())
 		);
@@ -529,7 +758,7 @@ public class PacketContainer implements Serializable {
 	 */
 	public StructureModifier<List<ChunkPosition>> getPositionCollectionModifier() {
 		// Convert to and from the ProtocolLib wrapper
-		return structureModifier.withType(
+		return withType(
 			Collection.class,
 			BukkitConverters.getListConverter(ChunkPosition.getConverter()));
 	}
@@ -544,7 +773,7 @@ public class PacketContainer implements Serializable {
 	 */
 	public StructureModifier<List<BlockPosition>> getBlockPositionCollectionModifier() {
 		// Convert to and from the ProtocolLib wrapper
-		return structureModifier.withType(
+		return withType(
 			Collection.class,
 			BukkitConverters.getListConverter(BlockPosition.getConverter()));
 	}
@@ -558,7 +787,7 @@ public class PacketContainer implements Serializable {
 	 */
 	public StructureModifier<List<WrappedWatchableObject>> getWatchableCollectionModifier() {
 		// Convert to and from the ProtocolLib wrapper
-		return structureModifier.withType(
+		return withType(
 			Collection.class,
 			BukkitConverters.getListConverter(BukkitConverters.getWatchableObjectConverter()));
 	}
@@ -572,7 +801,7 @@ public class PacketContainer implements Serializable {
 	 */
 	public StructureModifier<Material> getBlocks() {
 		// Convert to and from the Bukkit wrapper
-		return structureModifier.withType(
+		return withType(
 				MinecraftReflection.getBlockClass(), BukkitConverters.getBlockConverter());
 	}
 	
@@ -585,7 +814,7 @@ public class PacketContainer implements Serializable {
 	 */
 	public StructureModifier<WrappedGameProfile> getGameProfiles() {
 		// Convert to and from the Bukkit wrapper
-		return structureModifier.withType(
+		return withType(
 				MinecraftReflection.getGameProfileClass(), BukkitConverters.getWrappedGameProfileConverter());
 	}
 	
@@ -598,7 +827,7 @@ public class PacketContainer implements Serializable {
 	 */
 	public StructureModifier<WrappedBlockData> getBlockData() {
 		// Convert to and from our wrapper
-		return structureModifier.withType(
+		return withType(
 				MinecraftReflection.getIBlockDataClass(), BukkitConverters.getWrappedBlockDataConverter());
 	}
 
@@ -613,7 +842,7 @@ public class PacketContainer implements Serializable {
 		ChunkCoordIntPair chunk = getChunkCoordIntPairs().read(0);
 
 		// Convert to and from our wrapper
-		return structureModifier.withType(
+		return withType(
 				MinecraftReflection.getMultiBlockChangeInfoArrayClass(), MultiBlockChangeInfo.getArrayConverter(chunk));
 	}
 	
@@ -626,7 +855,7 @@ public class PacketContainer implements Serializable {
 	 */
 	public StructureModifier<WrappedChatComponent> getChatComponents() {
 		// Convert to and from the Bukkit wrapper
-		return structureModifier.withType(
+		return withType(
 				MinecraftReflection.getIChatBaseComponentClass(), BukkitConverters.getWrappedChatComponentConverter());
 	}
 
@@ -643,7 +872,7 @@ public class PacketContainer implements Serializable {
 	 */
 	public StructureModifier<WrappedChatComponent[]> getChatComponentArrays() {
 		// Convert to and from the Bukkit wrapper
-		return structureModifier.withType(
+		return withType(
 				ComponentArrayConverter.getGenericType(),
 				Converters.ignoreNull(new ComponentArrayConverter()));
 	}
@@ -657,7 +886,7 @@ public class PacketContainer implements Serializable {
 	 */
 	public StructureModifier<WrappedServerPing> getServerPings() {
 		// Convert to and from the wrapper
-		return structureModifier.withType(
+		return withType(
 				MinecraftReflection.getServerPingClass(),
 				BukkitConverters.getWrappedServerPingConverter());
 	}
@@ -671,7 +900,7 @@ public class PacketContainer implements Serializable {
 	 */
 	public StructureModifier<List<PlayerInfoData>> getPlayerInfoDataLists() {
 		// Convert to and from the ProtocolLib wrapper
-		return structureModifier.withType(
+		return withType(
 			Collection.class,
 			BukkitConverters.getListConverter(PlayerInfoData.getConverter()));
 	}
@@ -682,7 +911,7 @@ public class PacketContainer implements Serializable {
 	 */
 	public StructureModifier<Protocol> getProtocols() {
 		// Convert to and from the wrapper
-		return structureModifier.withType(
+		return withType(
 				EnumWrappers.getProtocolClass(),
 				EnumWrappers.getProtocolConverter());
 	}
@@ -693,7 +922,7 @@ public class PacketContainer implements Serializable {
 	 */
 	public StructureModifier<ClientCommand> getClientCommands() {
 		// Convert to and from the wrapper
-		return structureModifier.withType(
+		return withType(
 				EnumWrappers.getClientCommandClass(),
 				EnumWrappers.getClientCommandConverter());
 	}
@@ -704,7 +933,7 @@ public class PacketContainer implements Serializable {
 	 */
 	public StructureModifier<ChatVisibility> getChatVisibilities() {
 		// Convert to and from the wrapper
-		return structureModifier.withType(
+		return withType(
 				EnumWrappers.getChatVisibilityClass(),
 				EnumWrappers.getChatVisibilityConverter());
 	}
@@ -715,7 +944,7 @@ public class PacketContainer implements Serializable {
 	 */
 	public StructureModifier<Difficulty> getDifficulties() {
 		// Convert to and from the wrapper
-		return structureModifier.withType(
+		return withType(
 				EnumWrappers.getDifficultyClass(),
 				EnumWrappers.getDifficultyConverter());
 	}
@@ -726,7 +955,7 @@ public class PacketContainer implements Serializable {
 	 */
 	public StructureModifier<EntityUseAction> getEntityUseActions() {
 		// Convert to and from the wrapper
-		return structureModifier.withType(
+		return withType(
 				EnumWrappers.getEntityUseActionClass(),
 				EnumWrappers.getEntityUseActionConverter());
 	}
@@ -737,7 +966,7 @@ public class PacketContainer implements Serializable {
 	 */
 	public StructureModifier<NativeGameMode> getGameModes() {
 		// Convert to and from the wrapper
-		return structureModifier.withType(
+		return withType(
 				EnumWrappers.getGameModeClass(),
 				EnumWrappers.getGameModeConverter());
 	}
@@ -748,7 +977,7 @@ public class PacketContainer implements Serializable {
 	 */
 	public StructureModifier<ResourcePackStatus> getResourcePackStatus() {
 		// Convert to and from the wrapper
-		return structureModifier.withType(
+		return withType(
 				EnumWrappers.getResourcePackStatusClass(),
 				EnumWrappers.getResourcePackStatusConverter());
 	}
@@ -759,7 +988,7 @@ public class PacketContainer implements Serializable {
 	 */
 	public StructureModifier<PlayerInfoAction> getPlayerInfoAction() {
 		// Convert to and from the wrapper
-		return structureModifier.withType(
+		return withType(
 				EnumWrappers.getPlayerInfoActionClass(),
 				EnumWrappers.getPlayerInfoActionConverter());
 	}
@@ -770,7 +999,7 @@ public class PacketContainer implements Serializable {
      */
     public StructureModifier<TitleAction> getTitleActions() {
         // Convert to and from the wrapper
-        return structureModifier.withType(
+        return withType(
                 EnumWrappers.getTitleActionClass(),
 		        EnumWrappers.getTitleActionConverter());
     }
@@ -781,7 +1010,7 @@ public class PacketContainer implements Serializable {
      */
     public StructureModifier<WorldBorderAction> getWorldBorderActions() {
         // Convert to and from the wrapper
-        return structureModifier.withType(
+        return withType(
                 EnumWrappers.getWorldBorderActionClass(),
 		        EnumWrappers.getWorldBorderActionConverter());
     }
@@ -792,7 +1021,7 @@ public class PacketContainer implements Serializable {
      */
     public StructureModifier<CombatEventType> getCombatEvents() {
         // Convert to and from the wrapper
-        return structureModifier.withType(
+        return withType(
                 EnumWrappers.getCombatEventTypeClass(),
 		        EnumWrappers.getCombatEventTypeConverter());
     }
@@ -803,7 +1032,7 @@ public class PacketContainer implements Serializable {
      */
     public StructureModifier<PlayerDigType> getPlayerDigTypes() {
         // Convert to and from the wrapper
-        return structureModifier.withType(
+        return withType(
                 EnumWrappers.getPlayerDigTypeClass(),
 		        EnumWrappers.getPlayerDiggingActionConverter());
     }
@@ -814,7 +1043,7 @@ public class PacketContainer implements Serializable {
      */
     public StructureModifier<PlayerAction> getPlayerActions() {
         // Convert to and from the wrapper
-        return structureModifier.withType(
+        return withType(
                 EnumWrappers.getPlayerActionClass(),
 		        EnumWrappers.getEntityActionConverter());
     }
@@ -825,7 +1054,7 @@ public class PacketContainer implements Serializable {
      */
     public StructureModifier<ScoreboardAction> getScoreboardActions() {
         // Convert to and from the wrapper
-        return structureModifier.withType(
+        return withType(
                 EnumWrappers.getScoreboardActionClass(),
 		        EnumWrappers.getUpdateScoreActionConverter());
     }
@@ -837,7 +1066,7 @@ public class PacketContainer implements Serializable {
      */
     public StructureModifier<EnumWrappers.Particle> getParticles() {
     	// Convert to and from the wrapper
-    	return structureModifier.withType(
+    	return withType(
     			EnumWrappers.getParticleClass(),
 			    EnumWrappers.getParticleConverter());
     }
@@ -847,7 +1076,7 @@ public class PacketContainer implements Serializable {
 	 * @return A modifier for ParticleParam fields.
 	 */
 	public StructureModifier<WrappedParticle> getNewParticles() {
-		return structureModifier.withType(
+		return withType(
 				MinecraftReflection.getMinecraftClass("ParticleParam"),
 				BukkitConverters.getParticleConverter()
 		);
@@ -859,7 +1088,7 @@ public class PacketContainer implements Serializable {
      */
     public StructureModifier<PotionEffectType> getEffectTypes() {
     	// Convert to and from Bukkit
-    	return structureModifier.withType(
+    	return withType(
     			MinecraftReflection.getMobEffectListClass(),
 			    BukkitConverters.getEffectTypeConverter());
     }
@@ -870,7 +1099,7 @@ public class PacketContainer implements Serializable {
      */
     public StructureModifier<SoundCategory> getSoundCategories() {
     	// Convert to and from the enums
-    	return structureModifier.withType(
+    	return withType(
     			EnumWrappers.getSoundCategoryClass(),
 			    EnumWrappers.getSoundCategoryConverter());
     }
@@ -881,7 +1110,7 @@ public class PacketContainer implements Serializable {
      */
     public StructureModifier<Sound> getSoundEffects() {
     	// Convert to and from Bukkit
-    	return structureModifier.withType(
+    	return withType(
     			MinecraftReflection.getSoundEffectClass(),
 			    BukkitConverters.getSoundConverter());
     }
@@ -891,7 +1120,7 @@ public class PacketContainer implements Serializable {
      * @return A modifier for ItemSlot enum fields.
      */
     public StructureModifier<ItemSlot> getItemSlots() {
-    	return structureModifier.withType(
+    	return withType(
     			EnumWrappers.getItemSlotClass(),
 			    EnumWrappers.getItemSlotConverter());
     }
@@ -901,7 +1130,7 @@ public class PacketContainer implements Serializable {
      * @return A modifier for Hand enum fields.
      */
     public StructureModifier<Hand> getHands() {
-    	return structureModifier.withType(
+    	return withType(
     			EnumWrappers.getHandClass(),
 			    EnumWrappers.getHandConverter());
     }
@@ -911,7 +1140,7 @@ public class PacketContainer implements Serializable {
      * @return A modifier for Direction enum fields.
      */
     public StructureModifier<Direction> getDirections() {
-    	return structureModifier.withType(
+    	return withType(
     			EnumWrappers.getDirectionClass(),
 			    EnumWrappers.getDirectionConverter());
     }
@@ -921,7 +1150,7 @@ public class PacketContainer implements Serializable {
      * @return A modifier for ChatType enum fields.
      */
     public StructureModifier<ChatType> getChatTypes() {
-    	return structureModifier.withType(
+    	return withType(
     			EnumWrappers.getChatTypeClass(),
 			    EnumWrappers.getChatTypeConverter());
     }
@@ -931,7 +1160,7 @@ public class PacketContainer implements Serializable {
 	 * @return A modifier for MinecraftKey fields.
 	 */
 	public StructureModifier<MinecraftKey> getMinecraftKeys() {
-    	return structureModifier.withType(
+    	return withType(
     			MinecraftReflection.getMinecraftKeyClass(),
 			    MinecraftKey.getConverter());
     }
@@ -941,7 +1170,7 @@ public class PacketContainer implements Serializable {
 	 * @return A modifier for dimension IDs
 	 */
 	public StructureModifier<Integer> getDimensions() {
-		return structureModifier.withType(
+		return withType(
 				MinecraftReflection.getMinecraftClass("DimensionManager"),
 				BukkitConverters.getDimensionIDConverter()
 		);
@@ -960,7 +1189,7 @@ public class PacketContainer implements Serializable {
 	 */
     public <K, V> StructureModifier<Map<K, V>> getMaps(EquivalentConverter<K> keyConverter,
                                                        EquivalentConverter<V> valConverter) {
-    	return structureModifier.withType(
+    	return withType(
     			Map.class,
 			    BukkitConverters.getMapConverter(keyConverter, valConverter));
     }
@@ -975,7 +1204,7 @@ public class PacketContainer implements Serializable {
 	 * @see EquivalentConverter
 	 */
 	public <E> StructureModifier<Set<E>> getSets(EquivalentConverter<E> converter) {
-    	return structureModifier.withType(
+    	return withType(
     			Set.class,
 			    BukkitConverters.getSetConverter(converter));
     }
@@ -987,7 +1216,7 @@ public class PacketContainer implements Serializable {
 	 * @return A modifier for List fields
 	 */
 	public <E> StructureModifier<List<E>> getLists(EquivalentConverter<E> converter) {
-		return structureModifier.withType(
+		return withType(
 				List.class,
 				BukkitConverters.getListConverter(converter));
     }
@@ -1003,7 +1232,7 @@ public class PacketContainer implements Serializable {
      * @return The modifier
      */
     public <T extends Enum<T>> StructureModifier<T> getEnumModifier(Class<T> enumClass, Class<?> nmsClass) {
-    	return structureModifier.withType(
+    	return withType(
     			nmsClass,
 			    new EnumConverter<>(nmsClass, enumClass));
     }
@@ -1175,13 +1404,25 @@ public class PacketContainer implements Serializable {
 	 * @return The packet data serializer.
 	 */
 	public static ByteBuf createPacketBuffer() {
-		ByteBuf buffer = UnpooledByteBufAllocator.DEFAULT.buffer();
-		Class<?> packetSerializer = MinecraftReflection.getPacketDataSerializerClass();
+		return createPacketBuffer(UnpooledByteBufAllocator.DEFAULT);
+	}
+
+	/**
+	 * Construct a new packet data serializer backed by a buffer from the given allocator.
+	 * <p>
+	 * Use the allocator of the channel (or {@link io.netty.buffer.PooledByteBufAllocator#DEFAULT}) to avoid
+	 * allocating a new buffer for every packet. The caller is responsible for releasing the returned buffer.
+	 * @param allocator - the allocator of the underlying buffer.
+	 * @return The packet data serializer.
+	 */
+	public static ByteBuf createPacketBuffer(ByteBufAllocator allocator) {
+		ByteBuf buffer = allocator.buffer();
 
 		try {
-			return (ByteBuf) packetSerializer.getConstructor(ByteBuf.class).newInstance(buffer);
-		} catch (Exception e) {
-			throw new RuntimeException("Cannot construct packet serializer.", e);
+			return (ByteBuf) MinecraftReflection.getPacketDataSerializer(buffer);
+		} catch (RuntimeException e) {
+			buffer.release();
+			throw e;
 		}
 	}
 
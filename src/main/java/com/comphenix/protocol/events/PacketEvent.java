@@ -73,6 +73,11 @@ public class PacketEvent extends EventObject implements Cancellable {
 	// Whether or not a packet event is read only
 	private boolean readOnly;
 	private boolean filtered;
+
+	// Pooled events are reused once every listener has returned, unless they have been retained
+	private transient boolean ephemeral;
+	private transient boolean recycled;
+	private transient Player ephemeralPlayer;
 	
 	/**
 	 * Use the static constructors to create instances of this event.
@@ -97,7 +102,7 @@ public class PacketEvent extends EventObject implements Cancellable {
 	}
 	
 	private PacketEvent(PacketEvent origial, AsyncMarker asyncMarker) {
-		super(origial.source);
+		super(origial.retain().source);
 		this.packet = origial.packet;
 		this.playerReference = origial.playerReference;
 		this.cancel = origial.cancel;
@@ -212,6 +217,7 @@ public class PacketEvent extends EventObject implements Cancellable {
 	 * @return Packet to send to the player.
 	 */
 	public PacketContainer getPacket() {
+		checkRecycled();
 		return packet;
 	}
 
@@ -220,6 +226,7 @@ public class PacketEvent extends EventObject implements Cancellable {
 	 * @param packet - the packet that will be sent instead.
 	 */
 	public void setPacket(PacketContainer packet) {
+		checkRecycled();
 		if (readOnly)
 			throw new IllegalStateException("The packet event is read-only.");
 		if (packet == null)
@@ -276,6 +283,7 @@ public class PacketEvent extends EventObject implements Cancellable {
 	 * @return The network manager.
 	 */
 	public NetworkMarker getNetworkMarker() {
+		checkRecycled();
 		if (networkMarker == null) {
 			if (isServerPacket()) {
 				networkMarker = new NetworkMarker.EmptyBufferMarker(
@@ -312,6 +320,7 @@ public class PacketEvent extends EventObject implements Cancellable {
 	 */
 	@Override
 	public void setCancelled(boolean cancel) {
+		checkRecycled();
 		if (readOnly)
 			throw new IllegalStateException("The packet event is read-only.");
 		this.cancel = cancel;
@@ -322,14 +331,19 @@ public class PacketEvent extends EventObject implements Cancellable {
 	 * @return The player associated with this event.
 	 */
 	public Player getPlayer() {
-		Player player = playerReference.get();
+		checkRecycled();
+		Player player = ephemeral ? ephemeralPlayer : playerReference.get();
 
 		// Check if the player has been updated so we can do more stuff
 		if (player instanceof TemporaryPlayer) {
 			Player updated = player.getPlayer();
 			if (updated != null && !(updated instanceof TemporaryPlayer)) {
-				playerReference.clear();
-				playerReference = new WeakReference<>(updated);
+				if (ephemeral) {
+					ephemeralPlayer = updated;
+				} else {
+					playerReference.clear();
+					playerReference = new WeakReference<>(updated);
+				}
 				return updated;
 			}
 		}
@@ -462,7 +476,73 @@ public class PacketEvent extends EventObject implements Cancellable {
 		return false;
 	}
 	
+	/**
+	 * Determine if this event belongs to the {@link PacketEventPool}, and will be reused once every
+	 * synchronous listener has returned.
+	 * @return TRUE if it will be reused, FALSE otherwise.
+	 */
+	public boolean isEphemeral() {
+		return ephemeral;
+	}
+
+	/**
+	 * Ensure that this event and its packet are not reused by the {@link PacketEventPool}.
+	 * <p>
+	 * Listeners must call this before they store an ephemeral event or its packet, or pass them on to
+	 * another thread. It has no effect on ordinary events.
+	 * @return This event, for chaining.
+	 */
+	public PacketEvent retain() {
+		checkRecycled();
+
+		if (ephemeral) {
+			playerReference = new WeakReference<Player>(ephemeralPlayer);
+			ephemeralPlayer = null;
+			ephemeral = false;
+		}
+		return this;
+	}
+
+	/**
+	 * Prepare a pooled event for another packet.
+	 * @param source - the event source.
+	 * @param packet - the packet.
+	 * @param player - the sender or receiver.
+	 * @param serverPacket - whether or not the packet was created by the server.
+	 */
+	void reuse(Object source, PacketContainer packet, Player player, boolean serverPacket) {
+		this.source = source;
+		this.packet = packet;
+		this.playerReference = null;
+		this.ephemeralPlayer = player;
+		this.serverPacket = serverPacket;
+		this.cancel = false;
+		this.asyncMarker = null;
+		this.asynchronous = false;
+		this.networkMarker = null;
+		this.readOnly = false;
+		this.filtered = true;
+		this.ephemeral = true;
+		this.recycled = false;
+	}
+
+	/**
+	 * Invalidate a pooled event once every listener has processed it.
+	 */
+	void recycle() {
+		packet = null;
+		ephemeralPlayer = null;
+		recycled = true;
+	}
+
+	private void checkRecycled() {
+		if (recycled)
+			throw new IllegalStateException("This packet event has been recycled. Call retain() to use it after the listener has returned.");
+	}
+
 	private void writeObject(ObjectOutputStream output) throws IOException {
+		retain();
+
 	    // Default serialization
 		output.defaultWriteObject();
 
@@ -486,6 +566,8 @@ public class PacketEvent extends EventObject implements Cancellable {
 
 	@Override
 	public String toString() {
+		if (recycled)
+			return "PacketEvent[recycled]";
 		return "PacketEvent[player=" + getPlayer() + ", packet=" + packet + "]";
 	}
 }
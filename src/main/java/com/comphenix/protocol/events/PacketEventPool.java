@@ -0,0 +1,157 @@
+package com.comphenix.protocol.events;
+
+import org.bukkit.entity.Player;
+
+import com.comphenix.protocol.PacketType;
+
+/**
+ * Reuses packet events and containers for packets that no listener keeps after it has returned.
+ * <p>
+ * Every thread owns a single event and container. They are reused for the next packet, unless a listener
+ * retained the event, cancelled it, replaced its packet or scheduled it for asynchronous processing.
+ * <p>
+ * This is disabled by default, as listeners that store an event or its packet must call
+ * {@link PacketEvent#retain()} first. With leak detection enabled, recycled events are never reused -
+ * instead, they throw an exception whenever they are accessed again.
+ */
+public final class PacketEventPool {
+	private static volatile boolean enabled;
+	private static volatile boolean leakDetection;
+
+	private static final ThreadLocal<Slot> SLOTS = new ThreadLocal<Slot>() {
+		@Override
+		protected Slot initialValue() {
+			return new Slot();
+		}
+	};
+
+	/**
+	 * The reusable event of a single thread.
+	 */
+	private static class Slot {
+		private PacketEvent event;
+		private PacketContainer container;
+		private boolean inUse;
+	}
+
+	private PacketEventPool() {
+		// Not constructable
+	}
+
+	/**
+	 * Determine if packet events are reused.
+	 * @return TRUE if they are, FALSE otherwise.
+	 */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Set whether or not packet events are reused.
+	 * @param value - TRUE to reuse events, FALSE otherwise.
+	 */
+	public static void setEnabled(boolean value) {
+		enabled = value;
+	}
+
+	/**
+	 * Determine if recycled events are discarded and checked for later access.
+	 * @return TRUE if they are, FALSE otherwise.
+	 */
+	public static boolean isLeakDetection() {
+		return leakDetection;
+	}
+
+	/**
+	 * Set whether or not recycled events are discarded and checked for later access.
+	 * @param value - TRUE to detect leaked events, FALSE otherwise.
+	 */
+	public static void setLeakDetection(boolean value) {
+		leakDetection = value;
+	}
+
+	/**
+	 * Retrieve an event representing a server packet transmission.
+	 * <p>
+	 * The event must be returned with {@link #release(PacketEvent)} on the same thread.
+	 * @param source - the event source.
+	 * @param type - the packet type.
+	 * @param handle - the packet.
+	 * @param recipient - the client that will receieve the packet.
+	 * @return The event.
+	 */
+	public static PacketEvent fromServer(Object source, PacketType type, Object handle, Player recipient) {
+		return acquire(source, type, handle, recipient, true);
+	}
+
+	/**
+	 * Retrieve an event representing a client packet transmission.
+	 * <p>
+	 * The event must be returned with {@link #release(PacketEvent)} on the same thread.
+	 * @param source - the event source.
+	 * @param type - the packet type.
+	 * @param handle - the packet.
+	 * @param client - the client that sent the packet.
+	 * @return The event.
+	 */
+	public static PacketEvent fromClient(Object source, PacketType type, Object handle, Player client) {
+		return acquire(source, type, handle, client, false);
+	}
+
+	private static PacketEvent acquire(Object source, PacketType type, Object handle, Player player, boolean serverPacket) {
+		Slot slot = SLOTS.get();
+
+		// Packets sent or received by a listener must use a separate event
+		if (slot.inUse) {
+			PacketContainer container = new PacketContainer(type, handle);
+			return serverPacket ? PacketEvent.fromServer(source, container, player) : PacketEvent.fromClient(source, container, player);
+		}
+
+		if (slot.event == null) {
+			slot.event = new PacketEvent(source);
+			slot.container = new PacketContainer(type, handle);
+		} else {
+			slot.container.reuse(type, handle);
+		}
+		slot.event.reuse(source, slot.container, player, serverPacket);
+		slot.inUse = true;
+		return slot.event;
+	}
+
+	/**
+	 * Return an event once every synchronous listener has processed it.
+	 * <p>
+	 * If the event has escaped, it is detached from the pool and must be handled as an ordinary event.
+	 * @param event - the event.
+	 * @return TRUE if the event was recycled and must not be used by the caller, FALSE otherwise.
+	 */
+	public static boolean release(PacketEvent event) {
+		Slot slot = SLOTS.get();
+
+		if (!slot.inUse || slot.event != event)
+			return false;
+		slot.inUse = false;
+
+		if (!canRecycle(event, slot.container)) {
+			slot.event = null;
+			slot.container = null;
+			return false;
+		}
+
+		event.recycle();
+		slot.container.recycle();
+
+		// Never reuse the event again, so any later access will fail
+		if (leakDetection) {
+			slot.event = null;
+			slot.container = null;
+		}
+		return true;
+	}
+
+	// Determine if the caller and the listeners are done with the event
+	private static boolean canRecycle(PacketEvent event, PacketContainer container) {
+		return event.isEphemeral() && !event.isCancelled() && event.getAsyncMarker() == null &&
+				event.networkMarker == null && event.getPacket() == container;
+	}
+}
@@ -0,0 +1,32 @@
+package com.comphenix.protocol.events;
+
+import org.bukkit.plugin.Plugin;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * Represents an adapter version of the buffer output handler interface.
+ * <p>
+ * The byte array method is implemented by copying the array to a temporary buffer.
+ */
+public abstract class PacketOutputBufferAdapter extends PacketOutputAdapter implements PacketOutputBufferHandler {
+	/**
+	 * Construct a new packet output adapter with the given values.
+	 * @param priority - the output handler priority.
+	 * @param plugin - the owner plugin.
+	 */
+	public PacketOutputBufferAdapter(Plugin plugin, ListenerPriority priority) {
+		super(plugin, priority);
+	}
+
+	@Override
+	public byte[] handle(PacketEvent event, byte[] buffer) {
+		ByteBuf copy = Unpooled.buffer(buffer.length).writeBytes(buffer);
+		handle(event, copy);
+
+		byte[] result = new byte[copy.readableBytes()];
+		copy.readBytes(result);
+		return result;
+	}
+}
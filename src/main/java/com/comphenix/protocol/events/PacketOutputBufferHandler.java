@@ -0,0 +1,23 @@
+package com.comphenix.protocol.events;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Represents a custom packet serializer that transforms the network output buffer directly.
+ * <p>
+ * Unlike {@link PacketOutputHandler#handle(PacketEvent, byte[])}, the data is never copied to an intermediate
+ * array when the packet is sent through Netty. The byte array method is still invoked by the legacy network stack,
+ * see {@link PacketOutputBufferAdapter} for an implementation.
+ */
+public interface PacketOutputBufferHandler extends PacketOutputHandler {
+	/**
+	 * Invoked when a given packet is to be written to the output stream.
+	 * <p>
+	 * The readable bytes of the buffer are initially the output from the default write method, including
+	 * the packet header. Handlers may modify these bytes in place, append to them, or clear the buffer and
+	 * write a new packet. Do not release or retain the buffer.
+	 * @param event - the packet that will be outputted.
+	 * @param buffer - the data that is currently scheduled to be outputted.
+	 */
+	public void handle(PacketEvent event, ByteBuf buffer);
+}
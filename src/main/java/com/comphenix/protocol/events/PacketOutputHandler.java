@@ -4,6 +4,8 @@ import org.bukkit.plugin.Plugin;
 
 /**
  * Represents a custom packet serializer onto the network stream.
+ * <p>
+ * Implement {@link PacketOutputBufferHandler} to avoid copying the output to a byte array.
  * 
  * @author Kristian
  */
@@ -1,13 +1,16 @@
 package com.comphenix.protocol.injector;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import javax.annotation.Nonnull;
 
 import com.comphenix.protocol.AsynchronousManager;
+import com.comphenix.protocol.PacketBatch;
 import com.comphenix.protocol.PacketType;
 import com.comphenix.protocol.PacketType.Sender;
 import com.comphenix.protocol.error.ErrorReporter;
@@ -58,6 +61,7 @@ public class DelayedPacketManager implements InternalManager {
 	// If we have been closed
 	private boolean closed;
 	private boolean debug;
+	private boolean sharedBroadcasts;
 	
 	// Queued registration
 	private PluginManager queuedManager;
@@ -118,6 +122,7 @@ public class DelayedPacketManager implements InternalManager {
 			}
 			// And update the debug mode
 			delegate.setDebug(debug);
+			delegate.setSharedBroadcasts(sharedBroadcasts);
 			
 			// Add any pending listeners
 			synchronized (queuedListeners) {
@@ -203,6 +208,27 @@ public class DelayedPacketManager implements InternalManager {
 		}
 	}
 
+	@Override
+	public void sendServerPackets(Player receiver, Collection<PacketContainer> packets) throws InvocationTargetException {
+		sendServerPackets(receiver, packets, true);
+	}
+
+	@Override
+	public void sendServerPackets(Player receiver, Collection<PacketContainer> packets, boolean filters) throws InvocationTargetException {
+		if (delegate != null) {
+			delegate.sendServerPackets(receiver, packets, filters);
+		} else {
+			for (PacketContainer packet : packets) {
+				queuedActions.add(queuedAddPacket(ConnectionSide.SERVER_SIDE, receiver, packet, null, filters));
+			}
+		}
+	}
+
+	@Override
+	public PacketBatch openBatch(Player receiver) {
+		return new PacketBatch(this, receiver);
+	}
+
 	@Override
 	public void sendWirePacket(Player receiver, int id, byte[] bytes) throws InvocationTargetException {
 		WirePacket packet = new WirePacket(id, bytes);
@@ -210,22 +236,27 @@ public class DelayedPacketManager implements InternalManager {
 	}
 
 	@Override
-	public void sendWirePacket(final Player receiver, final WirePacket packet) throws InvocationTargetException {
+	public void sendWirePacket(final Player receiver, WirePacket packet) throws InvocationTargetException {
 		if (delegate != null) {
 			delegate.sendWirePacket(receiver, packet);
 		} else {
+			// The caller may release its buffer before the packet is sent
+			final WirePacket queued = packet.retainedDuplicate();
+
 			queuedActions.add(new Runnable() {
 
 				@Override
 				public void run() {
 					try {
-						delegate.sendWirePacket(receiver, packet);
+						delegate.sendWirePacket(receiver, queued);
 					} catch (Throwable ex) {
 						// Inform about this plugin error
 						reporter.reportWarning(this, Report.newBuilder(REPORT_CANNOT_SEND_QUEUED_WIRE_PACKET)
 								.callerParam(delegate)
-								.messageParam(packet)
+								.messageParam(queued)
 								.error(ex));
+					} finally {
+						queued.release();
 					}
 				}
 
@@ -442,7 +473,7 @@ public class DelayedPacketManager implements InternalManager {
 		if (delegate != null)
 			return delegate.getEntityFromID(container, id);
 		else
-			return EntityUtilities.getInstance().getEntityFromID(container, id);
+			return EntityIdCache.getInstance().getEntity(container, id);
 	}
 	
 	@Override
@@ -453,6 +484,14 @@ public class DelayedPacketManager implements InternalManager {
 			return EntityUtilities.getInstance().getEntityTrackers(entity);
 	}
 
+	@Override
+	public Map<Entity, List<Player>> getEntityTrackers(Collection<? extends Entity> entities) throws FieldAccessException {
+		if (delegate != null)
+			return delegate.getEntityTrackers(entities);
+		else
+			return EntityUtilities.getInstance().getEntityTrackers(entities);
+	}
+
 	@Override
 	public boolean isClosed() {
 		return closed || (delegate != null && delegate.isClosed());
@@ -479,6 +518,20 @@ public class DelayedPacketManager implements InternalManager {
 			delegate.setDebug(debug);
 		}
 	}
+
+	@Override
+	public boolean isSharedBroadcasts() {
+		return sharedBroadcasts;
+	}
+
+	@Override
+	public void setSharedBroadcasts(boolean sharedBroadcasts) {
+		this.sharedBroadcasts = sharedBroadcasts;
+
+		if (delegate != null) {
+			delegate.setSharedBroadcasts(sharedBroadcasts);
+		}
+	}
 	
 	/**
 	 * Update the asynchronous manager. This must be set.
@@ -0,0 +1,217 @@
+package com.comphenix.protocol.injector;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+
+import com.comphenix.protocol.collections.IntObjectHashMap;
+import com.comphenix.protocol.reflect.FieldAccessException;
+
+/**
+ * Represents a cache of entities by their ID, used to avoid searching the entity tracker on every lookup.
+ * <p>
+ * Every world has its own cache, which is emptied at the start of each tick and released when the world is
+ * unloaded. Entities that have been removed during the current tick are never returned. The cache is disabled by default, and may be
+ * enabled by any plugin that resolves entities in its packet listeners:
+ * <pre>
+ * EntityIdCache.getInstance().setEnabled(true);
+ * </pre>
+ */
+public class EntityIdCache {
+	private static final EntityIdCache INSTANCE = new EntityIdCache(new BiFunction<World, Integer, Entity>() {
+		@Override
+		public Entity apply(World world, Integer entityID) {
+			return EntityUtilities.getInstance().getEntityFromID(world, entityID);
+		}
+	});
+
+	/**
+	 * The entities of a single world, and the tick they were cached.
+	 */
+	private static class WorldCache {
+		private final IntObjectHashMap<Entity> entities = IntObjectHashMap.newMap();
+		private long tick;
+
+		public WorldCache(long tick) {
+			this.tick = tick;
+		}
+	}
+
+	private final ConcurrentMap<UUID, WorldCache> worlds = new ConcurrentHashMap<UUID, WorldCache>();
+
+	private volatile boolean enabled;
+	private volatile long currentTick;
+
+	// Cache statistics
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	// Searches the entity tracker
+	private final BiFunction<World, Integer, Entity> lookup;
+
+	/**
+	 * Construct a new entity cache.
+	 * @param lookup - the uncached entity lookup.
+	 */
+	EntityIdCache(BiFunction<World, Integer, Entity> lookup) {
+		this.lookup = lookup;
+	}
+
+	/**
+	 * Retrieve the entity cache used by ProtocolLib.
+	 * @return The entity cache.
+	 */
+	public static EntityIdCache getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Retrieve the entity with the given ID, using the cache if it is enabled.
+	 * @param world - the world the entity belongs to.
+	 * @param entityID - the ID of the entity.
+	 * @return The associated entity, or NULL if not found.
+	 * @throws FieldAccessException Reflection error.
+	 */
+	public Entity getEntity(World world, int entityID) throws FieldAccessException {
+		if (!enabled || world == null)
+			return lookup.apply(world, entityID);
+
+		long tick = currentTick;
+		WorldCache cache = getWorldCache(world, tick);
+		Entity entity;
+
+		// The cache may already belong to a later tick
+		synchronized (cache) {
+			entity = cache.tick == tick ? cache.entities.get(entityID) : null;
+		}
+
+		if (entity != null && entity.isValid()) {
+			hits.increment();
+			return entity;
+		}
+		misses.increment();
+		entity = lookup.apply(world, entityID);
+
+		// Missing entities may still be added during this tick
+		if (entity != null) {
+			synchronized (cache) {
+				if (cache.tick == tick) {
+					cache.entities.put(entityID, entity);
+				}
+			}
+		}
+		return entity;
+	}
+
+	private WorldCache getWorldCache(World world, long tick) {
+		UUID uid = world.getUID();
+		WorldCache cache = worlds.get(uid);
+
+		if (cache == null) {
+			WorldCache created = new WorldCache(tick);
+			cache = worlds.putIfAbsent(uid, created);
+
+			if (cache == null) {
+				cache = created;
+			}
+		}
+		return cache;
+	}
+
+	/**
+	 * Invalidate every cached entity. This is called by ProtocolLib at the start of each tick.
+	 * <p>
+	 * Each world cache is emptied in place, so it keeps its capacity for the next tick.
+	 */
+	public void nextTick() {
+		// Only the main thread updates the tick
+		long tick = ++currentTick;
+
+		for (WorldCache cache : worlds.values()) {
+			synchronized (cache) {
+				cache.entities.clear();
+				cache.tick = tick;
+			}
+		}
+	}
+
+	/**
+	 * Release the cache of a world that is being unloaded.
+	 * @param world - the world.
+	 */
+	public void removeWorld(World world) {
+		worlds.remove(world.getUID());
+	}
+
+	/**
+	 * Remove every cached entity, releasing the world caches.
+	 */
+	public void clear() {
+		worlds.clear();
+	}
+
+	/**
+	 * Determine if entities are currently being cached.
+	 * @return TRUE if they are, FALSE otherwise.
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Set whether or not entities should be cached for the rest of the tick.
+	 * @param enabled - TRUE to cache entities, FALSE otherwise.
+	 */
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+
+		if (!enabled) {
+			clear();
+		}
+	}
+
+	/**
+	 * Retrieve the number of lookups that were served by the cache.
+	 * @return The number of hits.
+	 */
+	public long getHits() {
+		return hits.sum();
+	}
+
+	/**
+	 * Retrieve the number of lookups that had to search the entity tracker while the cache was enabled.
+	 * @return The number of misses.
+	 */
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	/**
+	 * Retrieve the fraction of lookups that were served by the cache.
+	 * @return The hit rate, between 0 and 1.
+	 */
+	public double getHitRate() {
+		long hits = getHits();
+		long total = hits + getMisses();
+		return total > 0 ? hits / (double) total : 0;
+	}
+
+	/**
+	 * Reset the number of hits and misses.
+	 */
+	public void resetStatistics() {
+		hits.reset();
+		misses.reset();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("EntityIdCache[enabled=%s, worlds=%s, hits=%s, misses=%s, hitRate=%.2f]",
+				enabled, worlds.size(), getHits(), getMisses(), getHitRate());
+	}
+}
@@ -17,6 +17,7 @@
 
 package com.comphenix.protocol.injector;
 
+import com.comphenix.protocol.reflect.ExactReflection;
 import com.comphenix.protocol.reflect.FieldAccessException;
 import com.comphenix.protocol.reflect.FuzzyReflection;
 import com.comphenix.protocol.reflect.accessors.Accessors;
@@ -34,8 +35,16 @@ import org.bukkit.World;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -47,6 +56,7 @@ import java.util.Map;
 class EntityUtilities {
 	private static final boolean NEW_TRACKER = MinecraftVersion.atOrAbove(MinecraftVersion.VILLAGE_UPDATE);
 	private static final EntityUtilities INSTANCE = new EntityUtilities();
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
 	
 	public static EntityUtilities getInstance() {
 		return INSTANCE;
@@ -61,6 +71,10 @@ class EntityUtilities {
 	
 	private MethodAccessor scanPlayersMethod;
 
+	// Compiled path from a world server to its tracked entities, and from the tracked entities to an entry
+	private volatile MethodHandle trackedEntitiesHandle;
+	private volatile MethodHandle trackerEntryHandle;
+
 	public void updateEntity(Entity entity, List<Player> observers) {
 		if (entity == null || !entity.isValid()) {
 			return;
@@ -93,16 +107,74 @@ class EntityUtilities {
 			return new ArrayList<>();
 		}
 
-		List<Player> result = new ArrayList<>();
-		Collection<?> trackedPlayers = getTrackedPlayers(entity);
+		return wrapPlayers(getTrackedPlayers(entity), null);
+	}
 
-		// Wrap every player - we also ensure that the underlying tracker list is immutable
-		for (Object tracker : trackedPlayers) {
-			if (MinecraftReflection.isMinecraftPlayer(tracker)) {
-				result.add((Player) MinecraftReflection.getBukkitEntity(tracker));
+	/**
+	 * Retrieve every client that is receiving information about each of the given entities.
+	 * <p>
+	 * The tracked entities of each world are only resolved once, and every player is only converted once.
+	 * <p>
+	 * Entities that are invalid, or not yet tracked by their world (such as entities spawned during the
+	 * current tick), are omitted from the result.
+	 * @param entities - the entities that are being tracked.
+	 * @return The clients tracking each valid and tracked entity, in the same order.
+	 * @throws FieldAccessException If reflection failed.
+	 */
+	public Map<Entity, List<Player>> getEntityTrackers(Collection<? extends Entity> entities) {
+		Validate.notNull(entities, "entities cannot be null");
+
+		Map<Entity, List<Player>> result = new LinkedHashMap<>();
+		Map<World, Object> trackedEntities = new HashMap<>();
+		Map<Object, Player> converted = new IdentityHashMap<>();
+
+		for (Entity entity : entities) {
+			if (entity == null || !entity.isValid()) {
+				continue;
 			}
+
+			World world = entity.getWorld();
+			Object trackerEntry;
+
+			if (NEW_TRACKER) {
+				Object tracked = trackedEntities.get(world);
+
+				if (tracked == null) {
+					tracked = getTrackedEntities(BukkitUnwrapper.getInstance().unwrapItem(world));
+					trackedEntities.put(world, tracked);
+				}
+				trackerEntry = getTrackerEntry(tracked, entity.getEntityId());
+			} else {
+				trackerEntry = getEntityTrackerEntry(world, entity.getEntityId());
+			}
+
+			// Not tracked yet
+			if (trackerEntry == null) {
+				continue;
+			}
+			result.put(entity, wrapPlayers(getTrackedPlayers(trackerEntry), converted));
 		}
+		return result;
+	}
+
+	// Wrap every player - we also ensure that the underlying tracker list is immutable
+	private List<Player> wrapPlayers(Collection<?> trackedPlayers, Map<Object, Player> converted) {
+		List<Player> result = new ArrayList<>(trackedPlayers.size());
+
+		for (Object tracker : trackedPlayers) {
+			Player player = converted != null ? converted.get(tracker) : null;
+
+			if (player == null && MinecraftReflection.isMinecraftPlayer(tracker)) {
+				player = (Player) MinecraftReflection.getBukkitEntity(tracker);
 
+				if (converted != null) {
+					converted.put(tracker, player);
+				}
+			}
+			if (player != null) {
+				result.add(player);
+			}
+		}
 		return result;
 	}
 
@@ -112,8 +184,12 @@ class EntityUtilities {
 		Object trackerEntry = getEntityTrackerEntry(entity.getWorld(), entity.getEntityId());
 		Validate.notNull(trackerEntry, "Could not find entity trackers for " + entity);
 
+		return getTrackedPlayers(trackerEntry);
+	}
+
+	private Collection<?> getTrackedPlayers(Object trackerEntry) {
 		if (trackedPlayersField == null) {
-			trackedPlayersField = Accessors.getFieldAccessor(FuzzyReflection.fromObject(trackerEntry).getFieldByType("java\\.util\\..*"));
+			trackedPlayersField = Accessors.getFastFieldAccessor(FuzzyReflection.fromObject(trackerEntry).getFieldByType("java\\.util\\..*"));
 		}
 
 		Validate.notNull(trackedPlayersField, "Could not find trackedPlayers field");
@@ -129,42 +205,99 @@ class EntityUtilities {
 		}
 	}
 	
-	private MethodAccessor getChunkProvider;
-	private FieldAccessor chunkMapField;
-
-	@SuppressWarnings("unchecked")
 	private Object getNewEntityTracker(Object worldServer, int entityId) {
-		if (getChunkProvider == null) {
-			Class<?> chunkProviderClass = MinecraftReflection.getMinecraftClass("ChunkProviderServer");
-			getChunkProvider = Accessors.getMethodAccessor(
-					FuzzyReflection.fromClass(worldServer.getClass(), false).getMethod(
-							FuzzyMethodContract.newBuilder().parameterCount(0).returnTypeExact(chunkProviderClass).build()));
+		return getTrackerEntry(getTrackedEntities(worldServer), entityId);
+	}
+
+	/**
+	 * Retrieve the tracked entities map of a world server, using the compiled path.
+	 * @param worldServer - the world server.
+	 * @return The tracked entities.
+	 */
+	private Object getTrackedEntities(Object worldServer) {
+		MethodHandle handle = trackedEntitiesHandle;
+
+		if (handle == null) {
+			compileTrackerPath();
+			handle = trackedEntitiesHandle;
 		}
-		
-		Object chunkProvider = getChunkProvider.invoke(worldServer);
 
-		if (chunkMapField == null) {
-			Class<?> chunkMapClass = MinecraftReflection.getMinecraftClass("PlayerChunkMap");
-			chunkMapField = Accessors.getFieldAccessor(
-					FuzzyReflection.fromClass(chunkProvider.getClass(), false).getField(
-							FuzzyFieldContract.newBuilder().typeExact(chunkMapClass).build()));
+		try {
+			return (Object) handle.invokeExact(worldServer);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new RuntimeException("Cannot read tracked entities of " + worldServer, e);
 		}
-		
-		Object playerChunkMap = chunkMapField.get(chunkProvider);
+	}
 
-		if (trackedEntitiesField == null) {
-			trackedEntitiesField = Accessors.getFieldAccessor(
-					FuzzyReflection.fromClass(playerChunkMap.getClass(), false).getField(
-							FuzzyFieldContract.newBuilder().typeDerivedOf(Map.class).nameExact("trackedEntities").build()));
+	/**
+	 * Retrieve the tracker entry of an entity from a tracked entities map.
+	 * @param trackedEntities - the tracked entities.
+	 * @param entityId - the entity ID.
+	 * @return The tracker entry, or NULL if the entity is not tracked.
+	 */
+	private Object getTrackerEntry(Object trackedEntities, int entityId) {
+		try {
+			return (Object) trackerEntryHandle.invokeExact(trackedEntities, entityId);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new RuntimeException("Cannot read tracker entry of entity " + entityId, e);
 		}
+	}
 
-		Map<Integer, Object> trackedEntities = (Map<Integer, Object>) trackedEntitiesField.get(playerChunkMap);
-		return trackedEntities.get(entityId);
+	/**
+	 * Resolve the chunk provider, player chunk map and tracked entities once, and compile them into method handles.
+	 */
+	private synchronized void compileTrackerPath() {
+		if (trackedEntitiesHandle != null)
+			return;
+
+		Class<?> chunkProviderClass = MinecraftReflection.getMinecraftClass("ChunkProviderServer");
+		Class<?> chunkMapClass = MinecraftReflection.getMinecraftClass("PlayerChunkMap");
+
+		Method getChunkProvider = FuzzyReflection.fromClass(MinecraftReflection.getWorldServerClass(), false).getMethod(
+				FuzzyMethodContract.newBuilder().parameterCount(0).returnTypeExact(chunkProviderClass).build());
+		Field chunkMapField = FuzzyReflection.fromClass(chunkProviderClass, false).getField(
+				FuzzyFieldContract.newBuilder().typeExact(chunkMapClass).build());
+		Field trackedEntitiesField = FuzzyReflection.fromClass(chunkMapClass, false).getField(
+				FuzzyFieldContract.newBuilder().typeDerivedOf(Map.class).nameExact("trackedEntities").build());
+
+		try {
+			getChunkProvider.setAccessible(true);
+			chunkMapField.setAccessible(true);
+			trackedEntitiesField.setAccessible(true);
+
+			// World server -> chunk provider -> player chunk map -> tracked entities
+			MethodHandle handle = LOOKUP.unreflect(getChunkProvider);
+			handle = MethodHandles.filterReturnValue(handle, LOOKUP.unreflectGetter(chunkMapField));
+			handle = MethodHandles.filterReturnValue(handle, LOOKUP.unreflectGetter(trackedEntitiesField));
+
+			this.trackerEntryHandle = compileEntryLookup(trackedEntitiesField.getType());
+			this.trackedEntitiesHandle = handle.asType(MethodType.methodType(Object.class, Object.class));
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException("Cannot compile the entity tracker path.", e);
+		}
+	}
+
+	// Prefer a primitive lookup, such as Int2ObjectMap.get(int), to avoid boxing the entity ID
+	private MethodHandle compileEntryLookup(Class<?> mapClass) throws IllegalAccessException {
+		MethodType type = MethodType.methodType(Object.class, Object.class, int.class);
+
+		try {
+			return LOOKUP.findVirtual(mapClass, "get", MethodType.methodType(Object.class, int.class)).asType(type);
+		} catch (NoSuchMethodException e) {
+			try {
+				return LOOKUP.findVirtual(Map.class, "get", MethodType.methodType(Object.class, Object.class)).asType(type);
+			} catch (NoSuchMethodException e1) {
+				throw new IllegalStateException("Map does not have a get method.", e1);
+			}
+		}
 	}
 
 	private Object getEntityTrackerEntry(World world, int entityID) {
-		BukkitUnwrapper unwrapper = new BukkitUnwrapper();
-		Object worldServer = unwrapper.unwrapItem(world);
+		Object worldServer = BukkitUnwrapper.getInstance().unwrapItem(world);
 
 		if (NEW_TRACKER) {
 			return getNewEntityTracker(worldServer, entityID);
@@ -205,10 +338,10 @@ class EntityUtilities {
 			if (trackerEntry != null) {
 				if (trackerField == null) {
 					try {
-						trackerField = Accessors.getFieldAccessor(trackerEntry.getClass(), "tracker", true);
+						trackerField = Accessors.getFastFieldAccessor(ExactReflection.fromObject(trackerEntry, true).getField("tracker"));
 					} catch (Exception e) {
 						// Assume it's the first entity field then
-						trackerField = Accessors.getFieldAccessor(FuzzyReflection.fromObject(trackerEntry, true)
+						trackerField = Accessors.getFastFieldAccessor(FuzzyReflection.fromObject(trackerEntry, true)
 								.getFieldByType("tracker", MinecraftReflection.getEntityClass()));
 					}
 				}
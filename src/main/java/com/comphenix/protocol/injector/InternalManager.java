@@ -46,4 +46,16 @@ public interface InternalManager extends ProtocolManager {
 	 * @param debug - TRUE if it is, FALSE otherwise.
 	 */
 	public void setDebug(boolean debug);
+
+	/**
+	 * Determine if broadcasted packets without sending listeners are serialized once for every receiver.
+	 * @return TRUE if they are, FALSE otherwise.
+	 */
+	public boolean isSharedBroadcasts();
+
+	/**
+	 * Set whether or not broadcasted packets without sending listeners are serialized once for every receiver.
+	 * @param sharedBroadcasts - TRUE if they are, FALSE otherwise.
+	 */
+	public void setSharedBroadcasts(boolean sharedBroadcasts);
 }
@@ -0,0 +1,248 @@
+package com.comphenix.protocol.injector;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+
+import com.comphenix.protocol.error.ErrorReporter;
+import com.comphenix.protocol.error.Report;
+import com.comphenix.protocol.error.ReportType;
+import com.google.common.base.Preconditions;
+
+/**
+ * Represents a queue of packet actions that must be executed on the main thread.
+ * <p>
+ * Every network thread may add to the queue, and a single repeating task drains it once per tick, in the
+ * order the actions were added. This replaces scheduling one Bukkit task per packet.
+ */
+public class MainThreadQueue {
+	public static final ReportType REPORT_CANNOT_SCHEDULE_DRAIN_TASK = new ReportType("Unable to schedule the main thread packet task.");
+
+	/**
+	 * Indicates that there is no limit to the number of actions executed per tick.
+	 */
+	public static final int UNLIMITED_BUDGET = 0;
+
+	// The single queue we're using
+	private static volatile MainThreadQueue instance;
+
+	private final Queue<Runnable> queue = new ConcurrentLinkedQueue<Runnable>();
+	private final Plugin plugin;
+	private final ErrorReporter reporter;
+
+	// Maximum number of actions per tick
+	private volatile int budget;
+	private volatile int taskID = -1;
+
+	// Backpressure metrics
+	private final AtomicInteger pending = new AtomicInteger();
+	private final AtomicLong enqueued = new AtomicLong();
+	private volatile long executed;
+	private volatile long exhaustedTicks;
+	private volatile int peakPending;
+
+	/**
+	 * Construct a new main thread queue.
+	 * @param plugin - the owner plugin.
+	 * @param reporter - the error reporter.
+	 * @param budget - the maximum number of actions to execute per tick, or {@link #UNLIMITED_BUDGET}.
+	 */
+	public MainThreadQueue(Plugin plugin, ErrorReporter reporter, int budget) {
+		this.plugin = Preconditions.checkNotNull(plugin, "plugin cannot be NULL");
+		this.reporter = Preconditions.checkNotNull(reporter, "reporter cannot be NULL");
+		setBudget(budget);
+	}
+
+	/**
+	 * Retrieves the single main thread queue we're using.
+	 * @return The current queue, or NULL if it has not been started.
+	 */
+	public static MainThreadQueue getInstance() {
+		return instance;
+	}
+
+	/**
+	 * Sets the single main thread queue we're using.
+	 * @param queue - the current queue, or NULL if the library is not loaded.
+	 */
+	public static void setInstance(MainThreadQueue queue) {
+		instance = queue;
+	}
+
+	/**
+	 * Execute the given action on the main thread, using the shared queue if it is running.
+	 * <p>
+	 * If the queue has not been started, the action is scheduled as a separate Bukkit task.
+	 * @param plugin - the plugin that will own the fallback task.
+	 * @param action - the action to execute.
+	 */
+	public static void schedule(Plugin plugin, Runnable action) {
+		MainThreadQueue current = instance;
+
+		if (current != null && current.isRunning()) {
+			current.enqueue(action);
+		} else {
+			Bukkit.getScheduler().scheduleSyncDelayedTask(plugin, action);
+		}
+	}
+
+	/**
+	 * Start the repeating task that drains this queue.
+	 */
+	public synchronized void start() {
+		if (taskID >= 0)
+			throw new IllegalStateException("Main thread queue has already been started.");
+
+		taskID = plugin.getServer().getScheduler().scheduleSyncRepeatingTask(plugin, new Runnable() {
+			@Override
+			public void run() {
+				drain();
+			}
+		}, 1, 1);
+
+		if (taskID < 0) {
+			reporter.reportWarning(this, Report.newBuilder(REPORT_CANNOT_SCHEDULE_DRAIN_TASK));
+		}
+	}
+
+	/**
+	 * Stop draining this queue. Any pending actions are discarded.
+	 */
+	public synchronized void stop() {
+		if (taskID >= 0) {
+			plugin.getServer().getScheduler().cancelTask(taskID);
+			taskID = -1;
+		}
+		queue.clear();
+		pending.set(0);
+	}
+
+	/**
+	 * Determine if the repeating task is currently draining this queue.
+	 * @return TRUE if it is, FALSE otherwise.
+	 */
+	public boolean isRunning() {
+		return taskID >= 0;
+	}
+
+	/**
+	 * Add an action to the end of the queue.
+	 * @param action - the action to execute on the main thread.
+	 */
+	public void enqueue(Runnable action) {
+		queue.add(Preconditions.checkNotNull(action, "action cannot be NULL"));
+		enqueued.incrementAndGet();
+
+		int current = pending.incrementAndGet();
+
+		// Benign race - this is only used for reporting
+		if (current > peakPending) {
+			peakPending = current;
+		}
+	}
+
+	/**
+	 * Execute the pending actions in order, until the queue is empty or the budget has been used up.
+	 * <p>
+	 * This must be called on the main thread.
+	 * @return The number of executed actions.
+	 */
+	public int drain() {
+		int limit = budget;
+		int count = 0;
+		Runnable action;
+
+		while ((limit == UNLIMITED_BUDGET || count < limit) && (action = queue.poll()) != null) {
+			pending.decrementAndGet();
+			count++;
+
+			try {
+				action.run();
+			} catch (OutOfMemoryError e) {
+				throw e;
+			} catch (ThreadDeath e) {
+				throw e;
+			} catch (Throwable e) {
+				reporter.reportMinimal(plugin, "MainThreadQueue.drain()", e);
+			}
+		}
+
+		if (count > 0) {
+			executed += count;
+
+			if (limit != UNLIMITED_BUDGET && count >= limit && !queue.isEmpty()) {
+				exhaustedTicks++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Retrieve the maximum number of actions that will be executed per tick.
+	 * @return The budget, or {@link #UNLIMITED_BUDGET}.
+	 */
+	public int getBudget() {
+		return budget;
+	}
+
+	/**
+	 * Set the maximum number of actions that will be executed per tick.
+	 * <p>
+	 * Actions that exceed the budget are postponed to the next tick, preserving their order.
+	 * @param budget - the new budget, or {@link #UNLIMITED_BUDGET}.
+	 */
+	public void setBudget(int budget) {
+		Preconditions.checkArgument(budget >= 0, "budget cannot be negative");
+		this.budget = budget;
+	}
+
+	/**
+	 * Retrieve the number of actions waiting to be executed.
+	 * @return The number of pending actions.
+	 */
+	public int getPending() {
+		return pending.get();
+	}
+
+	/**
+	 * Retrieve the largest number of actions that has been waiting at the same time.
+	 * @return The peak number of pending actions.
+	 */
+	public int getPeakPending() {
+		return peakPending;
+	}
+
+	/**
+	 * Retrieve the total number of actions that have been added to the queue.
+	 * @return The number of enqueued actions.
+	 */
+	public long getEnqueued() {
+		return enqueued.get();
+	}
+
+	/**
+	 * Retrieve the total number of actions that have been executed.
+	 * @return The number of executed actions.
+	 */
+	public long getExecuted() {
+		return executed;
+	}
+
+	/**
+	 * Retrieve the number of ticks where the budget was used up before the queue was empty.
+	 * @return The number of exhausted ticks.
+	 */
+	public long getExhaustedTicks() {
+		return exhaustedTicks;
+	}
+
+	@Override
+	public String toString() {
+		return "MainThreadQueue[pending=" + getPending() + ", peak=" + peakPending + ", enqueued=" + getEnqueued() +
+				", executed=" + executed + ", exhaustedTicks=" + exhaustedTicks + ", budget=" + budget + "]";
+	}
+}
@@ -8,10 +8,13 @@ import com.comphenix.protocol.ProtocolManager;
 import com.comphenix.protocol.error.ErrorReporter;
 import com.comphenix.protocol.events.NetworkMarker;
 import com.comphenix.protocol.events.PacketEvent;
+import com.comphenix.protocol.events.PacketOutputBufferHandler;
 import com.comphenix.protocol.events.PacketOutputHandler;
 import com.comphenix.protocol.events.PacketPostListener;
 import com.comphenix.protocol.events.ScheduledPacket;
 
+import io.netty.buffer.ByteBuf;
+
 /**
  * Represents a processor for network markers.
  * @author Kristian
@@ -64,6 +67,49 @@ public class NetworkProcessor {
 		return output;
 	}
 
+	/**
+	 * Process the serialized packet in the given buffer with the given network marker.
+	 * <p>
+	 * Handlers that implement {@link PacketOutputBufferHandler} transform the buffer in place. The
+	 * readable bytes are only copied to an array for the remaining handlers.
+	 * @param event - current packet event.
+	 * @param marker - the network marker.
+	 * @param buffer - the buffer to transform.
+	 */
+	public void processOutput(PacketEvent event, NetworkMarker marker, ByteBuf buffer) {
+		PriorityQueue<PacketOutputHandler> handlers = (PriorityQueue<PacketOutputHandler>)
+			marker.getOutputHandlers();
+
+		while (!handlers.isEmpty()) {
+			PacketOutputHandler handler = handlers.poll();
+
+			try {
+				if (handler instanceof PacketOutputBufferHandler) {
+					((PacketOutputBufferHandler) handler).handle(event, buffer);
+					continue;
+				}
+
+				// Fall back to the byte array API
+				byte[] input = new byte[buffer.readableBytes()];
+				buffer.getBytes(buffer.readerIndex(), input);
+				byte[] changed = handler.handle(event, input);
+
+				if (changed != null) {
+					buffer.writerIndex(buffer.readerIndex());
+					buffer.writeBytes(changed);
+				} else {
+					throw new IllegalStateException("Handler cannot return a NULL array.");
+				}
+			} catch (OutOfMemoryError e) {
+				throw e;
+			} catch (ThreadDeath e) {
+				throw e;
+			} catch (Throwable e) {
+				reporter.reportMinimal(handler.getPlugin(), "PacketOutputHandler.handle()", e);
+			}
+		}
+	}
+
 	/**
 	 * Invoke the post listeners and packet transmission, if any.
 	 * @param event - PacketEvent
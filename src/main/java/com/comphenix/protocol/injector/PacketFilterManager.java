@@ -18,8 +18,10 @@
 package com.comphenix.protocol.injector;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -27,6 +29,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import javax.annotation.Nullable;
 
 import com.comphenix.protocol.AsynchronousManager;
+import com.comphenix.protocol.PacketBatch;
 import com.comphenix.protocol.PacketType;
 import com.comphenix.protocol.PacketType.Sender;
 import com.comphenix.protocol.async.AsyncFilterManager;
@@ -54,6 +57,7 @@ import com.google.common.base.Objects;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Predicate;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 
 import org.bukkit.Bukkit;
@@ -69,10 +73,14 @@ import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerLoginEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.PluginManager;
 
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
 
 public final class PacketFilterManager implements ListenerInvoker, InternalManager {
 
@@ -166,6 +174,9 @@ public final class PacketFilterManager implements ListenerInvoker, InternalManag
 	// Whether or not Location.distance(Location) exists - we assume this is the case
 	private boolean hasRecycleDistance = true;
 
+	// Players bucketed by their current chunk
+	private final PlayerSpatialIndex playerIndex = new PlayerSpatialIndex();
+
 	// The current Minecraft version
 	private MinecraftVersion minecraftVersion;
 
@@ -175,6 +186,9 @@ public final class PacketFilterManager implements ListenerInvoker, InternalManag
 	// Debug mode
 	private boolean debug;
 
+	// Whether or not to serialize broadcasts once
+	private volatile boolean sharedBroadcasts;
+
 	/**
 	 * Only create instances of this class if ProtocolLib is disabled.
 	 * @param builder - PacketFilterBuilder
@@ -308,6 +322,16 @@ public final class PacketFilterManager implements ListenerInvoker, InternalManag
 		}
 	}
 
+	@Override
+	public boolean isSharedBroadcasts() {
+		return sharedBroadcasts;
+	}
+
+	@Override
+	public void setSharedBroadcasts(boolean sharedBroadcasts) {
+		this.sharedBroadcasts = sharedBroadcasts;
+	}
+
 	/**
 	 * Retrieves how the server packets are read.
 	 * @return Injection method for reading server packets.
@@ -678,25 +702,23 @@ public final class PacketFilterManager implements ListenerInvoker, InternalManag
 
 	@Override
 	public void broadcastServerPacket(PacketContainer packet, Location origin, int maxObserverDistance) {
-		try {
-			// Square the maximum too
-			int maxDistance = maxObserverDistance * maxObserverDistance;
+		// Square the maximum too
+		int maxDistance = maxObserverDistance * maxObserverDistance;
 
-			World world = origin.getWorld();
-			Location recycle = origin.clone();
+		World world = origin.getWorld();
+		Location recycle = origin.clone();
+		List<Player> players = Lists.newArrayList();
+		List<Player> candidates = playerIndex.getCandidates(origin, maxObserverDistance);
 
-			// Only broadcast the packet to nearby players
-			for (Player player : Util.getOnlinePlayers()) {
-				if (world.equals(player.getWorld()) &&
-				    getDistanceSquared(origin, recycle, player) <= maxDistance) {
+		// Only broadcast the packet to nearby players
+		for (Player player : candidates != null ? candidates : Util.getOnlinePlayers()) {
+			if (world.equals(player.getWorld()) &&
+			    getDistanceSquared(origin, recycle, player) <= maxDistance) {
 
-					sendServerPacket(player, packet);
-				}
+				players.add(player);
 			}
-
-		} catch (InvocationTargetException e) {
-			throw new FieldAccessException("Unable to send server packet.", e);
 		}
+		broadcastServerPacket(packet, players);
 	}
 
 	/**
@@ -727,6 +749,16 @@ public final class PacketFilterManager implements ListenerInvoker, InternalManag
 	 */
 	private void broadcastServerPacket(PacketContainer packet, Iterable<Player> players) {
 		try {
+			if (sharedBroadcasts && canShareBroadcast(packet)) {
+				List<Player> receivers = Lists.newArrayList(players);
+
+				if (receivers.size() > 1) {
+					broadcastSharedPacket(packet, receivers);
+					return;
+				}
+				players = receivers;
+			}
+
 			for (Player player : players) {
 				sendServerPacket(player, packet);
 			}
@@ -735,6 +767,51 @@ public final class PacketFilterManager implements ListenerInvoker, InternalManag
 		}
 	}
 
+	/**
+	 * Determine if a broadcasted packet can be serialized once and shared by every receiver.
+	 * <p>
+	 * This is only possible if no listener (including asynchronous listeners) may modify or cancel the packet.
+	 * @param packet - the packet to broadcast.
+	 * @return TRUE if it can, FALSE otherwise.
+	 */
+	private boolean canShareBroadcast(PacketContainer packet) {
+		if (packet.getType().getProtocol() != PacketType.Protocol.PLAY)
+			return false;
+
+		Collection<?> listeners = sendingListeners.getListener(packet.getType());
+		return listeners == null || listeners.isEmpty();
+	}
+
+	/**
+	 * Serialize a packet once, and write the resulting buffer to the channel of every receiver.
+	 * <p>
+	 * Receivers without an active channel are sent the packet normally.
+	 * @param packet - the packet to broadcast.
+	 * @param players - the receivers.
+	 * @throws InvocationTargetException If we were unable to send the packet.
+	 */
+	private void broadcastSharedPacket(PacketContainer packet, List<Player> players) throws InvocationTargetException {
+		if (packetCreation.compareAndSet(false, true))
+			incrementPhases(GamePhase.PLAYING);
+
+		WirePacket wire = WirePacket.fromPacket(packet, PooledByteBufAllocator.DEFAULT);
+
+		try {
+			for (Player player : players) {
+				Channel channel = playerInjection.getChannel(player);
+
+				if (channel != null && channel.isActive()) {
+					sendWirePacket(player, wire);
+				} else {
+					sendServerPacket(player, packet);
+				}
+			}
+		} finally {
+			// Every channel holds its own reference
+			wire.release();
+		}
+	}
+
 	@Override
 	public void sendServerPacket(Player reciever, PacketContainer packet) throws InvocationTargetException {
 		sendServerPacket(reciever, packet, null, true);
@@ -763,7 +840,7 @@ public final class PacketFilterManager implements ListenerInvoker, InternalManag
 			if (!Bukkit.isPrimaryThread() && playerInjection.hasMainThreadListener(packet.getType())) {
 				final NetworkMarker copy = marker;
 
-				server.getScheduler().scheduleSyncDelayedTask(library, new Runnable() {
+				MainThreadQueue.schedule(library, new Runnable() {
 					@Override
 					public void run() {
 						try {
@@ -786,6 +863,73 @@ public final class PacketFilterManager implements ListenerInvoker, InternalManag
 		playerInjection.sendServerPacket(receiver, packet, marker, filters);
 	}
 
+	@Override
+	public void sendServerPackets(Player receiver, Collection<PacketContainer> packets) throws InvocationTargetException {
+		sendServerPackets(receiver, packets, true);
+	}
+
+	@Override
+	public void sendServerPackets(final Player receiver, Collection<PacketContainer> packets, final boolean filters) throws InvocationTargetException {
+		if (receiver == null)
+			throw new IllegalArgumentException("receiver cannot be NULL.");
+		if (packets == null)
+			throw new IllegalArgumentException("packets cannot be NULL.");
+
+		final List<PacketContainer> sent = Lists.newArrayList(packets);
+		boolean mainThread = false;
+
+		for (PacketContainer packet : sent) {
+			if (packet == null)
+				throw new IllegalArgumentException("packet cannot be NULL.");
+			if (packet.getType().getSender() == Sender.CLIENT)
+				throw new IllegalArgumentException("Packet of sender CLIENT cannot be sent to a client.");
+			mainThread |= playerInjection.hasMainThreadListener(packet.getType());
+		}
+
+		if (sent.isEmpty())
+			return;
+
+		// We may have to enable player injection indefinitely after this
+		if (packetCreation.compareAndSet(false, true))
+			incrementPhases(GamePhase.PLAYING);
+
+		List<NetworkMarker> markers = Lists.newArrayListWithCapacity(sent.size());
+
+		if (!filters) {
+			// Delay the whole batch to preserve the order of the packets
+			if (!Bukkit.isPrimaryThread() && mainThread) {
+				MainThreadQueue.schedule(library, new Runnable() {
+					@Override
+					public void run() {
+						try {
+							// Prevent infinite loops
+							if (!Bukkit.isPrimaryThread())
+								throw new IllegalStateException("Scheduled task was not executed on the main thread!");
+							sendServerPackets(receiver, sent, filters);
+						} catch (Exception e) {
+							reporter.reportMinimal(library, "sendServerPackets-run()", e);
+						}
+					}
+				});
+				return;
+			}
+
+			for (PacketContainer packet : sent) {
+				PacketEvent event = PacketEvent.fromServer(this, packet, null, receiver, false);
+				sendingListeners.invokePacketSending(reporter, event, ListenerPriority.MONITOR);
+				markers.add(NetworkMarker.getNetworkMarker(event));
+			}
+		} else {
+			markers.addAll(Collections.<NetworkMarker>nCopies(sent.size(), null));
+		}
+		playerInjection.sendServerPackets(receiver, sent, markers, filters);
+	}
+
+	@Override
+	public PacketBatch openBatch(Player receiver) {
+		return new PacketBatch(this, receiver);
+	}
+
 	@Override
 	public void sendWirePacket(Player receiver, int id, byte[] bytes) throws InvocationTargetException {
 		WirePacket packet = new WirePacket(id, bytes);
@@ -799,7 +943,19 @@ public final class PacketFilterManager implements ListenerInvoker, InternalManag
 			throw new InvocationTargetException(new NullPointerException(), "Failed to obtain channel for " + receiver.getName());
 		}
 
-		channel.writeAndFlush(packet);
+		if (packet.isBuffered()) {
+			// Hold a reference until the contents have been written to the channel
+			final WirePacket sent = packet.retainedDuplicate();
+
+			channel.writeAndFlush(sent).addListener(new ChannelFutureListener() {
+				@Override
+				public void operationComplete(ChannelFuture future) {
+					sent.release();
+				}
+			});
+		} else {
+			channel.writeAndFlush(packet);
+		}
 	}
 
 	@Override
@@ -929,7 +1085,7 @@ public final class PacketFilterManager implements ListenerInvoker, InternalManag
 
 	@Override
 	public Entity getEntityFromID(World container, int id) throws FieldAccessException {
-		return EntityUtilities.getInstance().getEntityFromID(container, id);
+		return EntityIdCache.getInstance().getEntity(container, id);
 	}
 
 	@Override
@@ -937,6 +1093,11 @@ public final class PacketFilterManager implements ListenerInvoker, InternalManag
 		return EntityUtilities.getInstance().getEntityTrackers(entity);
 	}
 
+	@Override
+	public Map<Entity, List<Player>> getEntityTrackers(Collection<? extends Entity> entities) throws FieldAccessException {
+		return EntityUtilities.getInstance().getEntityTrackers(entities);
+	}
+
 	/**
 	 * Initialize the packet injection for every player.
 	 * @param players - list of players to inject.
@@ -969,6 +1130,7 @@ public final class PacketFilterManager implements ListenerInvoker, InternalManag
 		if (nettyInjector != null)
 			nettyInjector.inject();
 
+		playerIndex.start(plugin);
 		manager.registerEvents(new Listener() {
 
 			@EventHandler(priority = EventPriority.LOWEST)
@@ -991,6 +1153,11 @@ public final class PacketFilterManager implements ListenerInvoker, InternalManag
 					PacketFilterManager.this.onPlayerQuit(event);
 				}
 
+			@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+			public void onWorldUnload(WorldUnloadEvent event) {
+					EntityIdCache.getInstance().removeWorld(event.getWorld());
+				}
+
 			@EventHandler(priority = EventPriority.MONITOR)
 			public void onPluginDisabled(PluginDisableEvent event) {
 					PacketFilterManager.this.onPluginDisabled(event, plugin);
@@ -1154,6 +1321,7 @@ public final class PacketFilterManager implements ListenerInvoker, InternalManag
 
 		// Remove server handler
 		playerInjection.close();
+		playerIndex.stop();
 		hasClosed = true;
 
 		// Remove listeners
@@ -0,0 +1,253 @@
+package com.comphenix.protocol.injector;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+import org.bukkit.plugin.Plugin;
+
+import com.comphenix.protocol.utility.Util;
+import com.google.common.base.Preconditions;
+
+/**
+ * Represents an index of online players, bucketed by world and chunk.
+ * <p>
+ * The index is rebuilt on the main thread by the first lookup of each tick, so ticks without any lookups
+ * cost nothing. Other threads may use an index that is at most a tick old. Because the positions may be up
+ * to a tick old, lookups include a margin of one chunk in every direction, and the caller is expected to
+ * check the exact distance of each candidate.
+ * <p>
+ * Players that move further than that without walking, such as when they join, respawn or teleport,
+ * discard the index until it is rebuilt.
+ */
+public class PlayerSpatialIndex implements Listener {
+	/**
+	 * The number of bits to shift a block coordinate to get its chunk coordinate.
+	 */
+	private static final int CELL_SHIFT = 4;
+
+	// Chunks to include around the search area, to account for movement since the last refresh
+	private static final int CELL_MARGIN = 1;
+
+	/**
+	 * The players in a single world.
+	 */
+	private static class WorldCells {
+		private final List<Player> players = new ArrayList<Player>();
+		private final Map<Long, List<Player>> cells = new HashMap<Long, List<Player>>();
+
+		public void add(Player player, int cellX, int cellZ) {
+			Long key = getKey(cellX, cellZ);
+			List<Player> cell = cells.get(key);
+
+			if (cell == null) {
+				cells.put(key, cell = new ArrayList<Player>(2));
+			}
+			cell.add(player);
+			players.add(player);
+		}
+	}
+
+	// NULL if the index must not be used
+	private volatile Map<UUID, WorldCells> worlds;
+
+	// The current tick, and the tick the index was built in - written after the index itself
+	private volatile int currentTick;
+	private volatile int builtTick;
+
+	private Plugin plugin;
+	private volatile Thread mainThread;
+	private int taskID = -1;
+
+	/**
+	 * Start refreshing this index when it is first used in a tick, and listen for players that move
+	 * without walking.
+	 * <p>
+	 * This must be called on the main thread.
+	 * @param plugin - the plugin that will own the tick task.
+	 */
+	public synchronized void start(Plugin plugin) {
+		Preconditions.checkNotNull(plugin, "plugin cannot be NULL");
+
+		if (taskID >= 0)
+			throw new IllegalStateException("Player index has already been started.");
+
+		this.plugin = plugin;
+		this.mainThread = Thread.currentThread();
+		this.taskID = plugin.getServer().getScheduler().scheduleSyncRepeatingTask(plugin, new Runnable() {
+			@Override
+			public void run() {
+				nextTick();
+			}
+		}, 0, 1);
+		plugin.getServer().getPluginManager().registerEvents(this, plugin);
+	}
+
+	/**
+	 * Stop refreshing this index, and discard its content.
+	 */
+	public synchronized void stop() {
+		if (taskID >= 0) {
+			plugin.getServer().getScheduler().cancelTask(taskID);
+			HandlerList.unregisterAll(this);
+			taskID = -1;
+			plugin = null;
+			mainThread = null;
+		}
+		invalidate();
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR)
+	public void onPlayerJoin(PlayerJoinEvent event) {
+		invalidate();
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR)
+	public void onPlayerQuit(PlayerQuitEvent event) {
+		invalidate();
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+	public void onPlayerTeleport(PlayerTeleportEvent event) {
+		invalidate();
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR)
+	public void onPlayerRespawn(PlayerRespawnEvent event) {
+		invalidate();
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR)
+	public void onPlayerChangedWorld(PlayerChangedWorldEvent event) {
+		invalidate();
+	}
+
+	/**
+	 * Mark the index as out of date, so that it is rebuilt by the next lookup on the main thread.
+	 */
+	void nextTick() {
+		currentTick++;
+	}
+
+	/**
+	 * Discard the content of this index until the next refresh.
+	 * <p>
+	 * This is called automatically whenever players join, leave, teleport, respawn or change world.
+	 */
+	public void invalidate() {
+		worlds = null;
+	}
+
+	/**
+	 * Rebuild this index from the current location of the given players.
+	 * <p>
+	 * This must be called on the main thread.
+	 * @param players - every online player.
+	 */
+	public void refresh(Iterable<? extends Player> players) {
+		Map<UUID, WorldCells> result = new HashMap<UUID, WorldCells>();
+
+		for (Player player : players) {
+			Location location = player.getLocation();
+			World world = location.getWorld();
+
+			if (world == null)
+				continue;
+
+			WorldCells cells = result.get(world.getUID());
+
+			if (cells == null) {
+				result.put(world.getUID(), cells = new WorldCells());
+			}
+			cells.add(player, location.getBlockX() >> CELL_SHIFT, location.getBlockZ() >> CELL_SHIFT);
+		}
+		worlds = result;
+		builtTick = currentTick;
+	}
+
+	/**
+	 * Retrieve every player that may be within a given distance of a location.
+	 * <p>
+	 * The result is a superset of the players in range. Each candidate is in the same world as the origin
+	 * at the time of the last refresh.
+	 * <p>
+	 * On the main thread, the index is rebuilt if it is out of date. Other threads cannot rebuild it, and
+	 * receive NULL if it is more than a tick old.
+	 * @param origin - the origin location.
+	 * @param maxDistance - the maximum distance from the origin.
+	 * @return The candidate players, or NULL if the index is not available.
+	 */
+	public List<Player> getCandidates(Location origin, double maxDistance) {
+		World world = origin.getWorld();
+
+		if (world == null)
+			return null;
+
+		// Read the tick first, so that the index is never older than it claims
+		int built = builtTick;
+		int tick = currentTick;
+		Map<UUID, WorldCells> current = worlds;
+
+		if (current == null || built != tick) {
+			if (Thread.currentThread() == mainThread) {
+				refresh(Util.getOnlinePlayers());
+				current = worlds;
+			} else if (current == null || tick - built > 1) {
+				return null;
+			}
+		}
+
+		WorldCells cells = current.get(world.getUID());
+
+		if (cells == null)
+			return new ArrayList<Player>(0);
+
+		int minX = (floor(origin.getX() - maxDistance) >> CELL_SHIFT) - CELL_MARGIN;
+		int maxX = (floor(origin.getX() + maxDistance) >> CELL_SHIFT) + CELL_MARGIN;
+		int minZ = (floor(origin.getZ() - maxDistance) >> CELL_SHIFT) - CELL_MARGIN;
+		int maxZ = (floor(origin.getZ() + maxDistance) >> CELL_SHIFT) + CELL_MARGIN;
+
+		// Cheaper to check every player in the world
+		long area = (long) (maxX - minX + 1) * (maxZ - minZ + 1);
+
+		if (area >= cells.players.size()) {
+			return new ArrayList<Player>(cells.players);
+		}
+
+		List<Player> result = new ArrayList<Player>();
+
+		for (int x = minX; x <= maxX; x++) {
+			for (int z = minZ; z <= maxZ; z++) {
+				List<Player> cell = cells.cells.get(getKey(x, z));
+
+				if (cell != null) {
+					result.addAll(cell);
+				}
+			}
+		}
+		return result;
+	}
+
+	private static int floor(double value) {
+		int result = (int) value;
+		return value < result ? result - 1 : result;
+	}
+
+	private static Long getKey(int cellX, int cellZ) {
+		return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+	}
+}
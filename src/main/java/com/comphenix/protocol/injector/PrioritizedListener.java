@@ -18,6 +18,9 @@
 package com.comphenix.protocol.injector;
 
 import com.comphenix.protocol.events.ListenerPriority;
+import com.comphenix.protocol.events.PacketListener;
+import com.comphenix.protocol.timing.ListenerTrackers;
+import com.comphenix.protocol.timing.TimedListenerManager;
 import com.google.common.base.Objects;
 import com.google.common.primitives.Ints;
 
@@ -30,6 +33,9 @@ public class PrioritizedListener<TListener> implements Comparable<PrioritizedLis
 
 	private TListener listener;
 	private ListenerPriority priority;
+
+	// Resolved the first time the listener is timed
+	private volatile ListenerTrackers trackers;
 	
 	public PrioritizedListener(TListener listener, ListenerPriority priority) {
 		this.listener = listener;
@@ -78,4 +84,22 @@ public class PrioritizedListener<TListener> implements Comparable<PrioritizedLis
 	public ListenerPriority getPriority() {
 		return priority;
 	}
+
+	/**
+	 * Retrieve the timed trackers of the underlying packet listener.
+	 * @return The timed trackers.
+	 * @throws IllegalStateException If the underlying listener is not a packet listener.
+	 */
+	public ListenerTrackers getTrackers() {
+		ListenerTrackers result = trackers;
+
+		if (result == null) {
+			if (!(listener instanceof PacketListener))
+				throw new IllegalStateException("Only packet listeners can be timed.");
+
+			// Every instance of the same listener shares the same trackers
+			trackers = result = TimedListenerManager.getInstance().getTrackers((PacketListener) listener);
+		}
+		return result;
+	}
 }
@@ -17,11 +17,15 @@
 
 package com.comphenix.protocol.injector;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 
+import com.comphenix.protocol.PacketType;
 import com.comphenix.protocol.concurrency.AbstractConcurrentListenerMultimap;
 import com.comphenix.protocol.error.ErrorReporter;
 import com.comphenix.protocol.events.ListenerPriority;
+import com.comphenix.protocol.events.ListeningWhitelist;
 import com.comphenix.protocol.events.PacketEvent;
 import com.comphenix.protocol.events.PacketListener;
 import com.comphenix.protocol.timing.TimedListenerManager;
@@ -30,16 +34,127 @@ import com.comphenix.protocol.timing.TimedTracker;
 
 /**
  * Registry of synchronous packet listeners.
+ * <p>
+ * Every change to the registered listeners compiles an immutable dispatch chain for each affected packet type,
+ * indexed by {@link PacketType#getOrdinal()}. Invoking the listeners is then a plain array walk.
  * 
  * @author Kristian
  */
 public final class SortedPacketListenerList extends AbstractConcurrentListenerMultimap<PacketListener> {
+	/**
+	 * An immutable list of listeners for a single packet type, sorted from the lowest to the highest priority.
+	 * @author Kristian
+	 */
+	private static final class DispatchChain {
+		private final PrioritizedListener<PacketListener>[] listeners;
+		
+		// The first index of each priority - MONITOR listeners always come last
+		private final int[] priorityStart;
+		
+		@SuppressWarnings("unchecked")
+		public DispatchChain(Collection<PrioritizedListener<PacketListener>> list) {
+			this.listeners = list.toArray(new PrioritizedListener[list.size()]);
+			this.priorityStart = new int[ListenerPriority.values().length + 1];
+			
+			int index = 0;
+			
+			for (ListenerPriority priority : ListenerPriority.values()) {
+				priorityStart[priority.getSlot()] = index;
+				
+				while (index < listeners.length && listeners[index].getPriority() == priority) {
+					index++;
+				}
+			}
+			priorityStart[priorityStart.length - 1] = listeners.length;
+		}
+		
+		/**
+		 * Retrieve the index of the first listener with the given priority.
+		 * @param priority - the priority.
+		 * @return The first index.
+		 */
+		public int start(ListenerPriority priority) {
+			return priorityStart[priority.getSlot()];
+		}
+		
+		/**
+		 * Retrieve the index after the last listener with the given priority.
+		 * @param priority - the priority.
+		 * @return The last index, exclusive.
+		 */
+		public int end(ListenerPriority priority) {
+			return priorityStart[priority.getSlot() + 1];
+		}
+	}
+	
+	private static final DispatchChain[] EMPTY_CHAINS = new DispatchChain[0];
+	
 	// The current listener manager
 	private TimedListenerManager timedManager = TimedListenerManager.getInstance();
 	
+	// Compiled chains indexed by packet type ordinal
+	private volatile DispatchChain[] chains = EMPTY_CHAINS;
+	
 	public SortedPacketListenerList() {
 		super();
 	}
+	
+	@Override
+	public void addListener(PacketListener listener, ListeningWhitelist whitelist) {
+		super.addListener(listener, whitelist);
+		compileChains(whitelist.getTypes());
+	}
+	
+	@Override
+	public List<PacketType> removeListener(PacketListener listener, ListeningWhitelist whitelist) {
+		List<PacketType> removed = super.removeListener(listener, whitelist);
+		compileChains(whitelist.getTypes());
+		return removed;
+	}
+	
+	@Override
+	protected void clearListeners() {
+		super.clearListeners();
+		
+		synchronized (this) {
+			chains = EMPTY_CHAINS;
+		}
+	}
+	
+	/**
+	 * Recompile the dispatch chain of every given packet type.
+	 * <p>
+	 * This must be called after the underlying listener lists have been updated.
+	 * @param types - the packet types that have changed.
+	 */
+	private synchronized void compileChains(Iterable<PacketType> types) {
+		DispatchChain[] copy = chains;
+		
+		for (PacketType type : types) {
+			int ordinal = type.getOrdinal();
+			
+			if (ordinal >= copy.length) {
+				copy = Arrays.copyOf(copy, Math.max(ordinal + 1, PacketType.getOrdinalCount()));
+			} else if (copy == chains) {
+				copy = copy.clone();
+			}
+			Collection<PrioritizedListener<PacketListener>> list = getListener(type);
+			copy[ordinal] = list != null && !list.isEmpty() ? new DispatchChain(list) : null;
+		}
+		chains = copy;
+	}
+	
+	/**
+	 * Retrieve the compiled dispatch chain of a given packet type.
+	 * @param type - the packet type.
+	 * @return The dispatch chain, or NULL if there are no listeners.
+	 */
+	private DispatchChain getChain(PacketType type) {
+		DispatchChain[] current = chains;
+		int ordinal = type.getOrdinal();
+		
+		return ordinal < current.length ? current[ordinal] : null;
+	}
 
 	/**
 	 * Invokes the given packet event for every registered listener.
@@ -47,26 +162,11 @@ public final class SortedPacketListenerList extends AbstractConcurrentListenerMu
 	 * @param event - the packet event to invoke.
 	 */
 	public void invokePacketRecieving(ErrorReporter reporter, PacketEvent event) {
-		Collection<PrioritizedListener<PacketListener>> list = getListener(event.getPacketType());
+		DispatchChain chain = getChain(event.getPacketType());
 		
-		if (list == null)
+		if (chain == null)
 			return;
-
-		// The returned list is thread-safe
-		if (timedManager.isTiming()) {
-			for (PrioritizedListener<PacketListener> element : list) {
-				TimedTracker tracker = timedManager.getTracker(element.getListener(), ListenerType.SYNC_CLIENT_SIDE);
-				long token = tracker.beginTracking();
-				
-				// Measure and record the execution time
-				invokeReceivingListener(reporter, event, element);
-				tracker.endTracking(token, event.getPacketType());
-			}
-		} else {
-			for (PrioritizedListener<PacketListener> element : list) {
-				invokeReceivingListener(reporter, event, element);
-			}
-		}
+		invokeReceiving(reporter, event, chain, 0, chain.start(ListenerPriority.MONITOR), chain.listeners.length);
 	}
 	
 	/**
@@ -76,28 +176,38 @@ public final class SortedPacketListenerList extends AbstractConcurrentListenerMu
 	 * @param priorityFilter - the required priority for a listener to be invoked.
 	 */
 	public void invokePacketRecieving(ErrorReporter reporter, PacketEvent event, ListenerPriority priorityFilter) {
-		Collection<PrioritizedListener<PacketListener>> list = getListener(event.getPacketType());
+		DispatchChain chain = getChain(event.getPacketType());
 		
-		if (list == null)
+		if (chain == null)
 			return;
-
-		// The returned list is thread-safe
+		invokeReceiving(reporter, event, chain, 
+				chain.start(priorityFilter), chain.start(ListenerPriority.MONITOR), chain.end(priorityFilter));
+	}
+	
+	/**
+	 * Invoke the receiving listeners in the given range of a dispatch chain.
+	 * @param reporter - the error reporter.
+	 * @param event - the related packet event.
+	 * @param chain - the dispatch chain.
+	 * @param start - the first listener to invoke.
+	 * @param monitor - the first read-only listener.
+	 * @param end - the index after the last listener to invoke.
+	 */
+	private void invokeReceiving(ErrorReporter reporter, PacketEvent event, DispatchChain chain, int start, int monitor, int end) {
+		PrioritizedListener<PacketListener>[] listeners = chain.listeners;
+		
 		if (timedManager.isTiming()) {
-			for (PrioritizedListener<PacketListener> element : list) {
-				if (element.getPriority() == priorityFilter) {
-					TimedTracker tracker = timedManager.getTracker(element.getListener(), ListenerType.SYNC_CLIENT_SIDE);
-					long token = tracker.beginTracking();
-					
-					// Measure and record the execution time
-					invokeReceivingListener(reporter, event, element);
-					tracker.endTracking(token, event.getPacketType());
-				}
+			for (int i = start; i < end; i++) {
+				TimedTracker tracker = listeners[i].getTrackers().getTracker(ListenerType.SYNC_CLIENT_SIDE);
+				long token = tracker.beginTracking();
+				
+				// Measure and record the execution time
+				invokeReceivingListener(reporter, event, listeners[i], i >= monitor);
+				tracker.endTracking(token, event.getPacketType());
 			}
 		} else {
-			for (PrioritizedListener<PacketListener> element : list) {
-				if (element.getPriority() == priorityFilter) {
-					invokeReceivingListener(reporter, event, element);
-				}
+			for (int i = start; i < end; i++) {
+				invokeReceivingListener(reporter, event, listeners[i], i >= monitor);
 			}
 		}
 	}
@@ -107,10 +217,11 @@ public final class SortedPacketListenerList extends AbstractConcurrentListenerMu
 	 * @param reporter - the error reporter.
 	 * @param event - the related packet event.
 	 * @param element - the listener to invoke.
+	 * @param readOnly - whether or not the listener may only observe the event.
 	 */
-	private final void invokeReceivingListener(ErrorReporter reporter, PacketEvent event, PrioritizedListener<PacketListener> element) {
+	private final void invokeReceivingListener(ErrorReporter reporter, PacketEvent event, PrioritizedListener<PacketListener> element, boolean readOnly) {
 		try {
-			event.setReadOnly(element.getPriority() == ListenerPriority.MONITOR);
+			event.setReadOnly(readOnly);
 			element.getListener().onPacketReceiving(event);
 			
 		} catch (OutOfMemoryError e) {
@@ -130,25 +241,11 @@ public final class SortedPacketListenerList extends AbstractConcurrentListenerMu
 	 * @param event - the packet event to invoke.
 	 */
 	public void invokePacketSending(ErrorReporter reporter, PacketEvent event) {
-		Collection<PrioritizedListener<PacketListener>> list = getListener(event.getPacketType());
+		DispatchChain chain = getChain(event.getPacketType());
 		
-		if (list == null)
+		if (chain == null)
 			return;
-		
-		if (timedManager.isTiming()) {
-			for (PrioritizedListener<PacketListener> element : list) {
-				TimedTracker tracker = timedManager.getTracker(element.getListener(), ListenerType.SYNC_SERVER_SIDE);
-				long token = tracker.beginTracking();
-				
-				// Measure and record the execution time
-				invokeSendingListener(reporter, event, element);
-				tracker.endTracking(token, event.getPacketType());
-			}
-		} else {
-			for (PrioritizedListener<PacketListener> element : list) {
-				invokeSendingListener(reporter, event, element);
-			}
-		}
+		invokeSending(reporter, event, chain, 0, chain.start(ListenerPriority.MONITOR), chain.listeners.length);
 	}
 	
 	/**
@@ -158,27 +255,38 @@ public final class SortedPacketListenerList extends AbstractConcurrentListenerMu
 	 * @param priorityFilter - the required priority for a listener to be invoked.
 	 */
 	public void invokePacketSending(ErrorReporter reporter, PacketEvent event, ListenerPriority priorityFilter) {
-		Collection<PrioritizedListener<PacketListener>> list = getListener(event.getPacketType());
+		DispatchChain chain = getChain(event.getPacketType());
 		
-		if (list == null)
+		if (chain == null)
 			return;
+		invokeSending(reporter, event, chain, 
+				chain.start(priorityFilter), chain.start(ListenerPriority.MONITOR), chain.end(priorityFilter));
+	}
+	
+	/**
+	 * Invoke the sending listeners in the given range of a dispatch chain.
+	 * @param reporter - the error reporter.
+	 * @param event - the related packet event.
+	 * @param chain - the dispatch chain.
+	 * @param start - the first listener to invoke.
+	 * @param monitor - the first read-only listener.
+	 * @param end - the index after the last listener to invoke.
+	 */
+	private void invokeSending(ErrorReporter reporter, PacketEvent event, DispatchChain chain, int start, int monitor, int end) {
+		PrioritizedListener<PacketListener>[] listeners = chain.listeners;
 		
 		if (timedManager.isTiming()) {
-			for (PrioritizedListener<PacketListener> element : list) {
-				if (element.getPriority() == priorityFilter) {
-				TimedTracker tracker = timedManager.getTracker(element.getListener(), ListenerType.SYNC_SERVER_SIDE);
+			for (int i = start; i < end; i++) {
+				TimedTracker tracker = listeners[i].getTrackers().getTracker(ListenerType.SYNC_SERVER_SIDE);
 				long token = tracker.beginTracking();
 				
 				// Measure and record the execution time
-				invokeSendingListener(reporter, event, element);
+				invokeSendingListener(reporter, event, listeners[i], i >= monitor);
 				tracker.endTracking(token, event.getPacketType());
-				}
 			}
 		} else {
-			for (PrioritizedListener<PacketListener> element : list) {
-				if (element.getPriority() == priorityFilter) {
-					invokeSendingListener(reporter, event, element);
-				}
+			for (int i = start; i < end; i++) {
+				invokeSendingListener(reporter, event, listeners[i], i >= monitor);
 			}
 		}
 	}
@@ -188,10 +296,11 @@ public final class SortedPacketListenerList extends AbstractConcurrentListenerMu
 	 * @param reporter - the error reporter.
 	 * @param event - the related packet event.
 	 * @param element - the listener to invoke.
+	 * @param readOnly - whether or not the listener may only observe the event.
 	 */
-	private final void invokeSendingListener(ErrorReporter reporter, PacketEvent event, PrioritizedListener<PacketListener> element) {
+	private final void invokeSendingListener(ErrorReporter reporter, PacketEvent event, PrioritizedListener<PacketListener> element, boolean readOnly) {
 		try {
-			event.setReadOnly(element.getPriority() == ListenerPriority.MONITOR);
+			event.setReadOnly(readOnly);
 			element.getListener().onPacketSending(event);
 			
 		} catch (OutOfMemoryError e) {
@@ -17,17 +17,12 @@
 
 package com.comphenix.protocol.injector;
 
-import java.util.HashSet;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
-
 import com.comphenix.protocol.PacketType;
+import com.comphenix.protocol.collections.PacketTypeMap;
 import com.comphenix.protocol.injector.packet.PacketRegistry;
 import com.comphenix.protocol.reflect.StructureModifier;
 import com.comphenix.protocol.reflect.compiler.BackgroundCompiler;
 import com.comphenix.protocol.reflect.compiler.CompileListener;
-import com.comphenix.protocol.reflect.compiler.CompiledStructureModifier;
 import com.comphenix.protocol.reflect.instances.DefaultInstances;
 import com.comphenix.protocol.utility.MinecraftReflection;
 
@@ -36,11 +31,31 @@ import com.comphenix.protocol.utility.MinecraftReflection;
  * @author Kristian
  */
 public class StructureCache {
-	// Structure modifiers
-	private static ConcurrentMap<PacketType, StructureModifier<Object>> structureModifiers =
-			new ConcurrentHashMap<PacketType, StructureModifier<Object>>();
+	/**
+	 * The compilation state of a structure modifier.
+	 */
+	private enum State {
+		UNCOMPILED,
+		SCHEDULED,
+		COMPILED,
+		FAILED
+	}
+
+	/**
+	 * A structure modifier and its compilation state. Replaced on every state change.
+	 */
+	private static final class CachedStructure {
+		private final StructureModifier<Object> modifier;
+		private final State state;
+
+		private CachedStructure(StructureModifier<Object> modifier, State state) {
+			this.modifier = modifier;
+			this.state = state;
+		}
+	}
 
-	private static Set<PacketType> compiling = new HashSet<PacketType>();
+	// Structure modifiers
+	private static PacketTypeMap<CachedStructure> structureModifiers = PacketTypeMap.newMap();
 
 	/**
 	 * Creates an empty Minecraft packet of the given id.
@@ -139,13 +154,47 @@ public class StructureCache {
 	 * @return A structure modifier.
 	 */
 	public static StructureModifier<Object> getStructure(final PacketType type, boolean compile) {
-		StructureModifier<Object> result = structureModifiers.get(type);
+		CachedStructure cached = getCached(type);
+
+		// Automatically compile the structure modifier
+		if (compile && cached.state == State.UNCOMPILED) {
+			scheduleCompilation(type, cached);
+		}
+		return cached.modifier;
+	}
+
+	/**
+	 * Compile the structure modifier for the given packet type on the current thread.
+	 * @param type - packet type.
+	 * @return The compiled structure modifier, or the original if the compiler is disabled.
+	 */
+	public static StructureModifier<Object> compileStructure(PacketType type) {
+		CachedStructure cached = getCached(type);
+		BackgroundCompiler compiler = BackgroundCompiler.getInstance();
+
+		if (cached.state == State.COMPILED || compiler == null || !compiler.isEnabled())
+			return cached.modifier;
+
+		try {
+			StructureModifier<Object> compiled = compiler.getCompiler().compile(cached.modifier);
+
+			structureModifiers.put(type, new CachedStructure(compiled, State.COMPILED));
+			return compiled;
+		} catch (RuntimeException e) {
+			structureModifiers.put(type, new CachedStructure(cached.modifier, State.FAILED));
+			throw e;
+		}
+	}
+
+	// Retrieve or create the structure modifier of a packet type
+	private static CachedStructure getCached(PacketType type) {
+		CachedStructure result = structureModifiers.get(type);
 
 		// We don't want to create this for every lookup
 		if (result == null) {
 			// Use the vanilla class definition
-			final StructureModifier<Object> value = new StructureModifier<Object>(
-					PacketRegistry.getPacketClassFromType(type, true), MinecraftReflection.getPacketClass(), true);
+			CachedStructure value = new CachedStructure(new StructureModifier<Object>(
+					PacketRegistry.getPacketClassFromType(type, true), MinecraftReflection.getPacketClass(), true), State.UNCOMPILED);
 
 			result = structureModifiers.putIfAbsent(type, value);
 
@@ -154,24 +203,29 @@ public class StructureCache {
 				result = value;
 			}
 		}
+		return result;
+	}
 
-		// Automatically compile the structure modifier
-		if (compile && !(result instanceof CompiledStructureModifier)) {
-			// Compilation is many orders of magnitude slower than synchronization
-			synchronized (compiling) {
-				final BackgroundCompiler compiler = BackgroundCompiler.getInstance();
-
-				if (!compiling.contains(type) && compiler != null) {
-					compiler.scheduleCompilation(result, new CompileListener<Object>() {
-						@Override
-						public void onCompiled(StructureModifier<Object> compiledModifier) {
-							structureModifiers.put(type, compiledModifier);
-						}
-					});
-					compiling.add(type);
+	private static void scheduleCompilation(final PacketType type, CachedStructure cached) {
+		BackgroundCompiler compiler = BackgroundCompiler.getInstance();
+
+		// Try again later
+		if (compiler == null)
+			return;
+
+		if (!compiler.isEnabled()) {
+			structureModifiers.replace(type, cached, new CachedStructure(cached.modifier, State.FAILED));
+			return;
+		}
+
+		// Only one thread gets to schedule the compilation
+		if (structureModifiers.replace(type, cached, new CachedStructure(cached.modifier, State.SCHEDULED))) {
+			compiler.scheduleCompilation(cached.modifier, new CompileListener<Object>() {
+				@Override
+				public void onCompiled(StructureModifier<Object> compiledModifier) {
+					structureModifiers.put(type, new CachedStructure(compiledModifier, State.COMPILED));
 				}
-			}
+			});
 		}
-		return result;
 	}
 }
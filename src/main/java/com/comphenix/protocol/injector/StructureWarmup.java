@@ -0,0 +1,178 @@
+package com.comphenix.protocol.injector;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ForkJoinWorkerThreadFactory;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.comphenix.protocol.PacketType;
+import com.comphenix.protocol.error.ErrorReporter;
+import com.comphenix.protocol.error.Report;
+import com.comphenix.protocol.error.ReportType;
+import com.comphenix.protocol.reflect.StructureModifier;
+import com.comphenix.protocol.reflect.compiler.BackgroundCompiler;
+import com.comphenix.protocol.reflect.compiler.StructureCompiler;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+
+/**
+ * Builds and compiles the structure modifiers of every packet type before they are first used.
+ * <p>
+ * Otherwise, the first packets of each type are processed by reflection while the background compiler
+ * slowly catches up. The packet types are prepared in parallel, though the structure compiler itself
+ * only generates one class at a time.
+ */
+public class StructureWarmup {
+	public static final ReportType REPORT_CANNOT_PREPARE_STRUCTURE = new ReportType("Unable to prepare structure modifier for %s.");
+
+	/**
+	 * The default format for the name of new worker threads.
+	 */
+	public static final String THREAD_FORMAT = "ProtocolLib-StructureWarmup %s";
+
+	/**
+	 * The maximum number of worker threads used by default.
+	 */
+	public static final int MAX_PARALLELISM = 4;
+
+	// Field types most listeners will ask for
+	private static final Class<?>[] COMMON_FIELD_TYPES = {
+		byte.class, short.class, int.class, long.class, float.class, double.class, boolean.class,
+		String.class, UUID.class, byte[].class, int[].class
+	};
+
+	private final ErrorReporter reporter;
+	private final int parallelism;
+
+	// Statistics of the last run
+	private final AtomicInteger prepared = new AtomicInteger();
+	private final AtomicInteger failed = new AtomicInteger();
+	private volatile long elapsed;
+
+	/**
+	 * Construct a new warm-up using the default number of threads.
+	 * @param reporter - the error reporter.
+	 */
+	public StructureWarmup(ErrorReporter reporter) {
+		this(reporter, Math.max(1, Math.min(MAX_PARALLELISM, Runtime.getRuntime().availableProcessors() - 1)));
+	}
+
+	/**
+	 * Construct a new warm-up.
+	 * @param reporter - the error reporter.
+	 * @param parallelism - the number of worker threads.
+	 */
+	public StructureWarmup(ErrorReporter reporter, int parallelism) {
+		Preconditions.checkArgument(parallelism > 0, "parallelism must be positive");
+		this.reporter = Preconditions.checkNotNull(reporter, "reporter cannot be NULL");
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * Prepare the structure modifiers of the given packet types, blocking until every type has been processed.
+	 * @param types - the packet types.
+	 */
+	public void warmUp(Collection<PacketType> types) {
+		ForkJoinPool pool = new ForkJoinPool(parallelism, new ForkJoinWorkerThreadFactory() {
+			@Override
+			public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+				ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+				thread.setName(String.format(THREAD_FORMAT, thread.getPoolIndex()));
+				return thread;
+			}
+		}, null, false);
+
+		List<ForkJoinTask<?>> tasks = Lists.newArrayListWithCapacity(types.size());
+		long start = System.nanoTime();
+
+		try {
+			for (final PacketType type : types) {
+				tasks.add(pool.submit(new Runnable() {
+					@Override
+					public void run() {
+						prepare(type);
+					}
+				}));
+			}
+
+			for (ForkJoinTask<?> task : tasks) {
+				task.join();
+			}
+		} finally {
+			pool.shutdown();
+			elapsed = System.nanoTime() - start;
+		}
+	}
+
+	private void prepare(PacketType type) {
+		try {
+			StructureModifier<Object> modifier = StructureCache.getStructure(type, false);
+			BackgroundCompiler background = BackgroundCompiler.getInstance();
+			StructureCompiler compiler = background != null && background.isEnabled() ? background.getCompiler() : null;
+
+			// Creating a copy resolves the field accessors of the shared modifier
+			modifier.withTarget(null);
+
+			for (Class<?> fieldType : COMMON_FIELD_TYPES) {
+				StructureModifier<Object> subtype = modifier.withType(fieldType);
+
+				// The background compiler will find the generated class in the cache
+				if (compiler != null && subtype.size() > 0) {
+					compiler.compile(subtype);
+				}
+			}
+
+			StructureCache.compileStructure(type);
+			prepared.incrementAndGet();
+		} catch (OutOfMemoryError e) {
+			throw e;
+		} catch (Throwable e) {
+			failed.incrementAndGet();
+			reporter.reportWarning(this, Report.newBuilder(REPORT_CANNOT_PREPARE_STRUCTURE).messageParam(type).error(e));
+		}
+	}
+
+	/**
+	 * Retrieve the number of packet types that were prepared.
+	 * @return The number of packet types.
+	 */
+	public int getPrepared() {
+		return prepared.get();
+	}
+
+	/**
+	 * Retrieve the number of packet types that could not be prepared.
+	 * @return The number of packet types.
+	 */
+	public int getFailed() {
+		return failed.get();
+	}
+
+	/**
+	 * Retrieve the time it took to prepare every packet type.
+	 * @param unit - the unit of the returned time.
+	 * @return The elapsed time.
+	 */
+	public long getElapsed(TimeUnit unit) {
+		return unit.convert(elapsed, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Retrieve the number of worker threads.
+	 * @return The number of threads.
+	 */
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("Prepared %s structure modifiers in %s ms using %s threads (%s failed).",
+				getPrepared(), getElapsed(TimeUnit.MILLISECONDS), parallelism, getFailed());
+	}
+}
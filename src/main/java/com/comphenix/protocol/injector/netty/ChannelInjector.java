@@ -24,6 +24,7 @@ import com.comphenix.protocol.error.ReportType;
 import com.comphenix.protocol.events.ConnectionSide;
 import com.comphenix.protocol.events.NetworkMarker;
 import com.comphenix.protocol.events.PacketEvent;
+import com.comphenix.protocol.injector.MainThreadQueue;
 import com.comphenix.protocol.injector.NetworkProcessor;
 import com.comphenix.protocol.injector.server.SocketInjector;
 import com.comphenix.protocol.reflect.FuzzyReflection;
@@ -38,6 +39,7 @@ import com.comphenix.protocol.utility.MinecraftReflection;
 import com.comphenix.protocol.wrappers.WrappedGameProfile;
 import com.google.common.base.Preconditions;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.*;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.handler.codec.ByteToMessageDecoder;
@@ -135,6 +137,9 @@ public class ChannelInjector extends ByteToMessageDecoder implements Injector {
 
 	private Deque<PacketEvent> finishQueue = new ArrayDeque<>();
 
+	// Events whose network marker shares the input buffer until the packet has been read
+	private List<PacketEvent> bufferedEvents = new ArrayList<>();
+
 	// The channel listener
 	private ChannelListener channelListener;
 
@@ -433,15 +438,20 @@ public class ChannelInjector extends ByteToMessageDecoder implements Injector {
 
 			// Process output handler
 			if (packet != null && event != null && NetworkMarker.hasOutputHandlers(marker)) {
-				ByteBuf packetBuffer = ctx.alloc().buffer();
-				ENCODE_BUFFER.invoke(vanillaEncoder, ctx, packet, packetBuffer);
+				// The output starts out empty, so the handlers can transform it directly
+				int start = output.writerIndex();
+
+				try {
+					ENCODE_BUFFER.invoke(vanillaEncoder, ctx, packet, output);
+				} catch (RuntimeException e) {
+					// Discard any partial output, as we encode the packet again below
+					output.writerIndex(start);
+					throw e;
+				}
+				packet = null;
 
 				// Let each handler prepare the actual output
-				byte[] data = processor.processOutput(event, marker, getBytes(packetBuffer));
-
-				// Write the result
-				output.writeBytes(data);
-				packet = null;
+				processor.processOutput(event, marker, output);
 
 				// Sent listeners?
 				finalEvent = event;
@@ -475,7 +485,7 @@ public class ChannelInjector extends ByteToMessageDecoder implements Injector {
 
 	private void scheduleMainThread(final Object packetCopy) {
 		// Don't use BukkitExecutors for this - it has a bit of overhead
-		Bukkit.getScheduler().scheduleSyncDelayedTask(factory.getPlugin(), () -> {
+		MainThreadQueue.schedule(factory.getPlugin(), () -> {
 			if (!closed) {
 				invokeSendPacket(packetCopy);
 			}
@@ -500,11 +510,20 @@ public class ChannelInjector extends ByteToMessageDecoder implements Injector {
 
 				if (channelListener.includeBuffer(packetClass)) {
 					byteBuffer.resetReaderIndex();
-					marker = new NettyNetworkMarker(ConnectionSide.CLIENT_SIDE, getBytes(byteBuffer));
+					marker = new NettyNetworkMarker(ConnectionSide.CLIENT_SIDE, captureBytes(byteBuffer));
 				}
 
 				PacketEvent output = channelListener.onPacketReceiving(this, input, marker);
 
+				// Keep the captured buffer until the packet has been read
+				if (marker != null) {
+					if (output != null && NetworkMarker.getNetworkMarker(output) == marker) {
+						bufferedEvents.add(output);
+					} else {
+						marker.releaseInputBuffer(false);
+					}
+				}
+
 				// Handle packet changes
 				if (output != null) {
 					if (output.isCancelled()) {
@@ -538,6 +557,22 @@ public class ChannelInjector extends ByteToMessageDecoder implements Injector {
 				processor.invokePostEvent(event, marker);
 			}
 		}
+		releaseInputBuffers();
+	}
+
+	/**
+	 * Release the input buffers captured while decoding the current packets.
+	 * <p>
+	 * Events that are still being processed by asynchronous listeners get a copy of the data.
+	 */
+	private void releaseInputBuffers() {
+		if (bufferedEvents.isEmpty())
+			return;
+
+		for (PacketEvent event : bufferedEvents) {
+			NetworkMarker.getNetworkMarker(event).releaseInputBuffer(event.getAsyncMarker() != null);
+		}
+		bufferedEvents.clear();
 	}
 
 	/**
@@ -598,15 +633,15 @@ public class ChannelInjector extends ByteToMessageDecoder implements Injector {
 	}
 
 	/**
-	 * Retrieve every byte in the given byte buffer.
+	 * Retrieve a retained read-only view of every readable byte in the given buffer, and consume them.
 	 * @param buffer - the buffer.
-	 * @return The bytes.
+	 * @return The view, which must be released.
 	 */
-	private byte[] getBytes(ByteBuf buffer) {
-		byte[] data = new byte[buffer.readableBytes()];
+	private ByteBuf captureBytes(ByteBuf buffer) {
+		ByteBuf view = Unpooled.unmodifiableBuffer(buffer.slice()).retain();
 
-		buffer.readBytes(data);
-		return data;
+		buffer.skipBytes(buffer.readableBytes());
+		return view;
 	}
 
 	/**
@@ -640,6 +675,92 @@ public class ChannelInjector extends ByteToMessageDecoder implements Injector {
 		}
 	}
 
+	@Override
+	public void sendServerPackets(List<Object> packets, boolean filtered) {
+		Validate.isTrue(!closed, "cannot send packets to a closed channel");
+
+		// Let Minecraft handle protocol changes and connections that are not ready
+		if (player instanceof Factory || !originalChannel.isActive() || getCurrentProtocol() != Protocol.PLAY) {
+			for (Object packet : packets) {
+				sendServerPacket(packet, null, filtered);
+			}
+			return;
+		}
+
+		// Synchronous listeners must not run in the event loop - send the whole batch from the main thread instead
+		if (filtered && originalChannel.eventLoop().inEventLoop() && hasMainThreadListener(packets)) {
+			final List<Object> delayed = new ArrayList<>(packets);
+
+			MainThreadQueue.schedule(factory.getPlugin(), () -> {
+				if (!closed) {
+					sendServerPackets(delayed, true);
+				}
+			});
+			return;
+		}
+
+		final List<Object> sent = new ArrayList<>(packets.size());
+		final List<PacketEvent> events = new ArrayList<>(packets.size());
+
+		// Invoke the listeners in the current thread, as if each packet was sent by Minecraft
+		for (Object packet : packets) {
+			PacketEvent event;
+
+			if (filtered) {
+				event = processSending(packet);
+
+				if (event != null && event.isCancelled())
+					continue;
+				if (event != null)
+					packet = event.getPacket().getHandle();
+			} else {
+				NetworkMarker marker = getMarker(packet);
+
+				if (marker != null) {
+					event = new PacketEvent(ChannelInjector.class);
+					event.setNetworkMarker(marker);
+				} else {
+					event = null;
+				}
+			}
+			sent.add(packet);
+			events.add(event != null ? event : BYPASSED_PACKET);
+		}
+
+		if (sent.isEmpty())
+			return;
+
+		// Write every packet in the event loop, and flush once
+		Runnable action = () -> {
+			for (int i = 0; i < sent.size(); i++) {
+				currentEvent = events.get(i);
+				originalChannel.write(sent.get(i)).addListener(ChannelFutureListener.FIRE_EXCEPTION_ON_FAILURE);
+				currentEvent = null;
+			}
+			originalChannel.flush();
+		};
+
+		if (originalChannel.eventLoop().inEventLoop()) {
+			action.run();
+		} else {
+			originalChannel.eventLoop().execute(action);
+		}
+	}
+
+	/**
+	 * Determine if any of the given packets must be processed on the main thread.
+	 * @param packets - the packets.
+	 * @return TRUE if at least one packet has a main thread listener, FALSE otherwise.
+	 */
+	private boolean hasMainThreadListener(List<Object> packets) {
+		for (Object packet : packets) {
+			if (channelListener.hasMainThreadListener(packet.getClass())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * Invoke the sendPacket method in Minecraft.
 	 * @param packet - the packet to send.
@@ -1,5 +1,7 @@
 package com.comphenix.protocol.injector.netty;
 
+import java.util.List;
+
 import org.bukkit.entity.Player;
 
 import com.comphenix.protocol.PacketType.Protocol;
@@ -35,6 +37,11 @@ public class ClosedInjector implements Injector {
 		// Do nothing
 	}
 
+	@Override
+	public void sendServerPackets(List<Object> packets, boolean filtered) {
+		// Do nothing
+	}
+
 	@Override
 	public void recieveClientPacket(Object packet) {
 		// Do nothing
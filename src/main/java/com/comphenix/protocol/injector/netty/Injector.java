@@ -1,5 +1,7 @@
 package com.comphenix.protocol.injector.netty;
 
+import java.util.List;
+
 import org.bukkit.entity.Player;
 
 import com.comphenix.protocol.PacketType.Protocol;
@@ -37,6 +39,15 @@ public interface Injector {
 	 */
 	public abstract void sendServerPacket(Object packet, NetworkMarker marker, boolean filtered);
 
+	/**
+	 * Send a list of packets to a player's client in order, flushing the channel once.
+	 * <p>
+	 * Network markers must be associated with the packets beforehand.
+	 * @param packets - the packets to send.
+	 * @param filtered - whether or not the packets are filtered.
+	 */
+	public abstract void sendServerPackets(List<Object> packets, boolean filtered);
+
 	/**
 	 * Recieve a packet on the server.
 	 * @param packet - the (NMS) packet to send.
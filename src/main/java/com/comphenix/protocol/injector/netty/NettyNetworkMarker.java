@@ -10,6 +10,8 @@ import com.comphenix.protocol.PacketType;
 import com.comphenix.protocol.events.ConnectionSide;
 import com.comphenix.protocol.events.NetworkMarker;
 
+import io.netty.buffer.ByteBuf;
+
 public class NettyNetworkMarker extends NetworkMarker {
 	public NettyNetworkMarker(@Nonnull ConnectionSide side, byte[] inputBuffer) {
 		super(side, inputBuffer, null);
@@ -19,6 +21,10 @@ public class NettyNetworkMarker extends NetworkMarker {
 		super(side, inputBuffer, null);
 	}
 
+	public NettyNetworkMarker(@Nonnull ConnectionSide side, ByteBuf inputBuffer) {
+		super(side, inputBuffer, null);
+	}
+
 	@Override
 	protected DataInputStream skipHeader(DataInputStream input) throws IOException {
 		// Skip the variable int containing the packet ID
@@ -87,6 +87,9 @@ public class NettyProtocolRegistry extends ProtocolRegistry {
 				associatePackets(result, clientMaps.get(protocol), equivalent, Sender.CLIENT);
 		}
 
+		// Precompute the lookup tables before anyone can see the register
+		result.buildLookups();
+
 		// Exchange (thread safe, as we have only one writer)
 		this.register = result;
 	}
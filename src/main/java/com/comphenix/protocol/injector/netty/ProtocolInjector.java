@@ -22,6 +22,7 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
@@ -39,6 +40,7 @@ import com.comphenix.protocol.events.ListenerOptions;
 import com.comphenix.protocol.events.NetworkMarker;
 import com.comphenix.protocol.events.PacketContainer;
 import com.comphenix.protocol.events.PacketEvent;
+import com.comphenix.protocol.events.PacketEventPool;
 import com.comphenix.protocol.injector.ListenerInvoker;
 import com.comphenix.protocol.injector.packet.PacketInjector;
 import com.comphenix.protocol.injector.packet.PacketRegistry;
@@ -228,7 +230,8 @@ public class ProtocolInjector implements ChannelListener {
 
 	@Override
 	public boolean hasListener(Class<?> packetClass) {
-		return reveivedFilters.contains(packetClass) || sendingFilters.contains(packetClass);
+		PacketType type = PacketRegistry.getPacketType(packetClass);
+		return reveivedFilters.contains(type) || sendingFilters.contains(type);
 	}
 
 	@Override
@@ -290,11 +293,14 @@ public class ProtocolInjector implements ChannelListener {
 
 	@Override
 	public PacketEvent onPacketSending(Injector injector, Object packet, NetworkMarker marker) {
-		Class<?> clazz = packet.getClass();
+		PacketType type = PacketRegistry.getPacketType(packet.getClass());
 
-		if (sendingFilters.contains(clazz) || marker != null) {
+		if (sendingFilters.contains(type) || marker != null) {
 			try {
-				PacketContainer container = new PacketContainer(PacketRegistry.getPacketType(clazz), packet);
+				if (marker == null && PacketEventPool.isEnabled()) {
+					return ephemeralPacketQueued(type, packet, injector.getPlayer());
+				}
+				PacketContainer container = new PacketContainer(type, packet);
 				return packetQueued(container, injector.getPlayer(), marker);
 			} catch (LinkageError e) {
 				// So far this has been seen when the jar is shared
@@ -310,10 +316,13 @@ public class ProtocolInjector implements ChannelListener {
 
 	@Override
 	public PacketEvent onPacketReceiving(Injector injector, Object packet, NetworkMarker marker) {
-		Class<?> clazz = packet.getClass();
+		PacketType type = PacketRegistry.getPacketType(packet.getClass());
 
-		if (reveivedFilters.contains(clazz) || marker != null) {
-			PacketContainer container = new PacketContainer(PacketRegistry.getPacketType(clazz), packet);
+		if (reveivedFilters.contains(type) || marker != null) {
+			if (marker == null && PacketEventPool.isEnabled()) {
+				return ephemeralPacketReceived(type, packet, injector.getPlayer());
+			}
+			PacketContainer container = new PacketContainer(type, packet);
 			return packetReceived(container, injector.getPlayer(), marker);
 		}
 
@@ -353,6 +362,48 @@ public class ProtocolInjector implements ChannelListener {
 		return event;
 	}
 
+	/**
+	 * Called to inform the event listeners of a queued packet, using a pooled event.
+	 * @param type - the packet type.
+	 * @param packet - the packet that is to be sent.
+	 * @param receiver - the receiver of this packet.
+	 * @return The packet event that was used, or NULL if it was recycled.
+	 */
+	private PacketEvent ephemeralPacketQueued(PacketType type, Object packet, Player receiver) {
+		PacketEvent event = PacketEventPool.fromServer(this, type, packet, receiver);
+
+		try {
+			invoker.invokePacketSending(event);
+		} finally {
+			// The packet is sent unchanged
+			if (PacketEventPool.release(event)) {
+				event = null;
+			}
+		}
+		return event;
+	}
+
+	/**
+	 * Called to inform the event listeners of a received packet, using a pooled event.
+	 * @param type - the packet type.
+	 * @param packet - the packet that has been receieved.
+	 * @param sender - the client packet.
+	 * @return The packet event that was used, or NULL if it was recycled.
+	 */
+	private PacketEvent ephemeralPacketReceived(PacketType type, Object packet, Player sender) {
+		PacketEvent event = PacketEventPool.fromClient(this, type, packet, sender);
+
+		try {
+			invoker.invokePacketRecieving(event);
+		} finally {
+			// The packet is received unchanged
+			if (PacketEventPool.release(event)) {
+				event = null;
+			}
+		}
+		return event;
+	}
+
 	// Server side
 	public PlayerInjectionHandler getPlayerInjector() {
 		return new AbstractPlayerHandler(sendingFilters) {
@@ -403,6 +454,20 @@ public class ProtocolInjector implements ChannelListener {
 				injectionFactory.fromPlayer(receiver, listener).sendServerPacket(packet.getHandle(), marker, filters);
 			}
 
+			@Override
+			public void sendServerPackets(Player receiver, List<PacketContainer> packets, List<NetworkMarker> markers, boolean filters) throws InvocationTargetException {
+				Injector injector = injectionFactory.fromPlayer(receiver, listener);
+				List<Object> handles = new ArrayList<Object>(packets.size());
+
+				for (int i = 0; i < packets.size(); i++) {
+					Object handle = packets.get(i).getHandle();
+
+					injector.saveMarker(handle, markers.get(i));
+					handles.add(handle);
+				}
+				injector.sendServerPackets(handles, filters);
+			}
+
 			@Override
 			public boolean hasMainThreadListener(PacketType type) {
 				return mainThreadFilters.contains(type);
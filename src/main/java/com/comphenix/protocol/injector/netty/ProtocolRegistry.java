@@ -12,6 +12,7 @@ import com.comphenix.protocol.injector.packet.MapContainer;
 import com.comphenix.protocol.utility.MinecraftReflection;
 import com.google.common.collect.BiMap;
 import com.google.common.collect.HashBiMap;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 
@@ -32,9 +33,28 @@ public abstract class ProtocolRegistry {
 		public volatile Set<PacketType> clientPackets = Sets.newHashSet();
 		public List<MapContainer> containers = Lists.newArrayList();
 
+		// Immutable lookup tables, computed once the register is complete
+		public Map<PacketType, Class<?>> typeLookup = ImmutableMap.of();
+		public Map<Class<?>, PacketType> classLookup = ImmutableMap.of();
+
 		public Register() {
 		}
 
+		/**
+		 * Compute the immutable lookup tables from the current content of this register, and assign
+		 * every registered packet type its dense ordinal.
+		 * <p>
+		 * This must be called before the register is published, as the lookup tables are read
+		 * by every network thread for every packet.
+		 */
+		public void buildLookups() {
+			for (PacketType type : typeToClass.keySet()) {
+				type.getOrdinal();
+			}
+			typeLookup = ImmutableMap.copyOf(typeToClass);
+			classLookup = ImmutableMap.copyOf(typeToClass.inverse());
+		}
+
 		/**
 		 * Determine if the current register is outdated.
 		 * @return TRUE if it is, FALSE otherwise.
@@ -64,7 +84,7 @@ public abstract class ProtocolRegistry {
 	 * @return The packet type lookup.
 	 */
 	public Map<PacketType, Class<?>> getPacketTypeLookup() {
-		return Collections.unmodifiableMap(register.typeToClass);
+		return register.typeLookup;
 	}
 	
 	/**
@@ -72,7 +92,27 @@ public abstract class ProtocolRegistry {
 	 * @return The packet type lookup.
 	 */
 	public Map<Class<?>, PacketType> getPacketClassLookup() {
-		return Collections.unmodifiableMap(register.typeToClass.inverse());
+		return register.classLookup;
+	}
+
+	/**
+	 * Retrieve the packet type associated with the given packet class.
+	 * <p>
+	 * This is a single lookup in a precomputed table, and will not allocate.
+	 * @param packetClass - the packet class.
+	 * @return The packet type, or NULL if not found.
+	 */
+	public PacketType getPacketType(Class<?> packetClass) {
+		return register.classLookup.get(packetClass);
+	}
+
+	/**
+	 * Retrieve the packet class associated with the given packet type.
+	 * @param type - the packet type.
+	 * @return The packet class, or NULL if not found.
+	 */
+	public Class<?> getPacketClass(PacketType type) {
+		return register.typeLookup.get(type);
 	}
 	
 	/**
@@ -28,16 +28,24 @@ import com.comphenix.protocol.utility.MinecraftMethods;
 import com.comphenix.protocol.utility.MinecraftReflection;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.buffer.Unpooled;
 
 /**
  * A packet represented only by its id and bytes.
+ * <p>
+ * The contents are either stored in a byte array, or in a {@link ByteBuf} that is written to the channel
+ * without being copied to an intermediate array. The latter must be released when it is no longer needed.
  * @author dmulloy2
  */
 public class WirePacket {
 	private final int id;
 	private final byte[] bytes;
 
+	// NULL if the contents are stored in the byte array
+	private final ByteBuf buffer;
+
 	/**
 	 * Constructs a new WirePacket with a given type and contents
 	 * @param type Type of the packet
@@ -46,6 +54,7 @@ public class WirePacket {
 	public WirePacket(PacketType type, byte[] bytes) {
 		this.id = checkNotNull(type, "type cannot be null").getCurrentId();
 		this.bytes = bytes;
+		this.buffer = null;
 	}
 
 	/**
@@ -56,6 +65,21 @@ public class WirePacket {
 	public WirePacket(int id, byte[] bytes) {
 		this.id = id;
 		this.bytes = bytes;
+		this.buffer = null;
+	}
+
+	/**
+	 * Constructs a new WirePacket with a given id and contents stored in a buffer.
+	 * <p>
+	 * The packet takes over the caller's reference to the buffer, which is released by {@link #release()}.
+	 * The readable bytes of the buffer are never consumed, so the packet may be sent more than once.
+	 * @param id ID of the packet
+	 * @param buffer Contents of the packet
+	 */
+	public WirePacket(int id, ByteBuf buffer) {
+		this.id = id;
+		this.bytes = null;
+		this.buffer = checkNotNull(buffer, "buffer cannot be null");
 	}
 
 	/**
@@ -67,13 +91,56 @@ public class WirePacket {
 	}
 
 	/**
-	 * Gets this packet's contents as a byte array
+	 * Gets this packet's contents as a byte array.
+	 * <p>
+	 * If the contents are stored in a buffer, this creates a copy of the readable bytes.
 	 * @return The contents
 	 */
 	public byte[] getBytes() {
+		if (buffer != null) {
+			byte[] array = new byte[buffer.readableBytes()];
+			buffer.getBytes(buffer.readerIndex(), array);
+			return array;
+		}
 		return bytes;
 	}
 
+	/**
+	 * Gets the buffer that stores the contents of this packet.
+	 * @return The buffer, or NULL if the contents are stored in a byte array.
+	 */
+	public ByteBuf getBuffer() {
+		return buffer;
+	}
+
+	/**
+	 * Determine if the contents of this packet are stored in a reference counted buffer.
+	 * @return TRUE if they are, FALSE otherwise.
+	 */
+	public boolean isBuffered() {
+		return buffer != null;
+	}
+
+	/**
+	 * Create a packet that shares the contents of this packet, but holds its own reference to the buffer.
+	 * <p>
+	 * Packets backed by a byte array are returned as is.
+	 * @return The packet.
+	 */
+	public WirePacket retainedDuplicate() {
+		if (buffer == null)
+			return this;
+		return new WirePacket(id, buffer.duplicate().retain());
+	}
+
+	/**
+	 * Release this packet's reference to its buffer, if any.
+	 * @return TRUE if the buffer was deallocated, FALSE otherwise.
+	 */
+	public boolean release() {
+		return buffer != null && buffer.release();
+	}
+
 	/**
 	 * Writes the id of this packet to a given output
 	 * @param output Output to write to
@@ -88,7 +155,12 @@ public class WirePacket {
 	 */
 	public void writeBytes(ByteBuf output) {
 		checkNotNull(output, "output cannot be null!");
-		output.writeBytes(bytes);
+
+		if (buffer != null) {
+			output.writeBytes(buffer, buffer.readerIndex(), buffer.readableBytes());
+		} else {
+			output.writeBytes(bytes);
+		}
 	}
 
 	/**
@@ -117,7 +189,7 @@ public class WirePacket {
 		if (obj instanceof WirePacket) {
 			WirePacket that = (WirePacket) obj;
 			return this.id == that.id &&
-					Arrays.equals(this.bytes, that.bytes);
+					Arrays.equals(this.getBytes(), that.getBytes());
 		}
 
 		return false;
@@ -127,14 +199,14 @@ public class WirePacket {
 	public int hashCode() {
 		final int prime = 31;
 		int result = 1;
-		result = prime * result + Arrays.hashCode(bytes);
+		result = prime * result + Arrays.hashCode(getBytes());
 		result = prime * result + id;
 		return result;
 	}
 
 	@Override
 	public String toString() {
-		return "WirePacket[id=" + id + ", bytes=" + Arrays.toString(bytes) + "]";
+		return "WirePacket[id=" + id + ", bytes=" + Arrays.toString(getBytes()) + "]";
 	}
 
 	private static byte[] getBytes(ByteBuf buffer) {
@@ -153,6 +225,36 @@ public class WirePacket {
 		return new WirePacket(id, bytesFromPacket(packet));
 	}
 
+	/**
+	 * Creates a WirePacket from an existing PacketContainer, storing its contents in a buffer from the given allocator.
+	 * <p>
+	 * This avoids copying the contents to a byte array. The returned packet must be {@link #release() released}
+	 * once it has been sent.
+	 * @param packet Existing packet
+	 * @param allocator Allocator of the buffer, such as the allocator of the receiving channel
+	 * @return The resulting WirePacket
+	 */
+	public static WirePacket fromPacket(PacketContainer packet, ByteBufAllocator allocator) {
+		checkNotNull(packet, "packet cannot be null!");
+		checkNotNull(allocator, "allocator cannot be null!");
+
+		int id = packet.getType().getCurrentId();
+		ByteBuf buffer = PacketContainer.createPacketBuffer(allocator);
+
+		try {
+			writePacket(packet.getHandle(), buffer);
+
+			if (isCustomPayload(packet.getType())) {
+				rewritePacket(packet.getHandle(), buffer);
+			}
+		} catch (RuntimeException ex) {
+			buffer.release();
+			throw ex;
+		}
+
+		return new WirePacket(id, buffer);
+	}
+
 	/**
 	 * Creates a byte array from an existing PacketContainer containing all the
 	 * bytes from that packet
@@ -162,44 +264,49 @@ public class WirePacket {
 	 */
 	public static byte[] bytesFromPacket(PacketContainer packet) {
 		checkNotNull(packet, "packet cannot be null!");
-		
-		ByteBuf buffer = PacketContainer.createPacketBuffer();
-		ByteBuf store = PacketContainer.createPacketBuffer();
-		
-		// Read the bytes once
+
+		// The array is the only copy we need
+		ByteBuf buffer = PacketContainer.createPacketBuffer(PooledByteBufAllocator.DEFAULT);
+
+		try {
+			writePacket(packet.getHandle(), buffer);
+
+			// Rewrite them to the packet to avoid issues with certain packets
+			if (isCustomPayload(packet.getType())) {
+				rewritePacket(packet.getHandle(), buffer);
+			}
+			return getBytes(buffer);
+		} finally {
+			buffer.release();
+		}
+	}
+
+	private static boolean isCustomPayload(PacketType type) {
+		return type == PacketType.Play.Server.CUSTOM_PAYLOAD || type == PacketType.Play.Client.CUSTOM_PAYLOAD;
+	}
+
+	private static void writePacket(Object handle, ByteBuf buffer) {
 		Method write = MinecraftMethods.getPacketWriteByteBufMethod();
 
 		try {
-			write.invoke(packet.getHandle(), buffer);
+			write.invoke(handle, buffer);
 		} catch (ReflectiveOperationException ex) {
 			throw new RuntimeException("Failed to read packet contents.", ex);
 		}
+	}
 
-		byte[] bytes = getBytes(buffer);
-		
-		buffer.release();
-
-		// Rewrite them to the packet to avoid issues with certain packets
-		if (packet.getType() == PacketType.Play.Server.CUSTOM_PAYLOAD
-				|| packet.getType() == PacketType.Play.Client.CUSTOM_PAYLOAD) {
-			// Make a copy of the array before writing
-			byte[] ret = Arrays.copyOf(bytes, bytes.length);
-			store.writeBytes(bytes);
-
-			Method read = MinecraftMethods.getPacketReadByteBufMethod();
+	// Read the written bytes back into the packet, without consuming the given buffer
+	private static void rewritePacket(Object handle, ByteBuf buffer) {
+		ByteBuf store = PacketContainer.createPacketBuffer();
+		store.writeBytes(buffer, buffer.readerIndex(), buffer.readableBytes());
 
-			try {
-				read.invoke(packet.getHandle(), store);
-			} catch (ReflectiveOperationException ex) {
-				throw new RuntimeException("Failed to rewrite packet contents.", ex);
-			}
+		Method read = MinecraftMethods.getPacketReadByteBufMethod();
 
-			return ret;
+		try {
+			read.invoke(handle, store);
+		} catch (ReflectiveOperationException ex) {
+			throw new RuntimeException("Failed to rewrite packet contents.", ex);
 		}
-		
-		store.release();
-
-		return bytes;
 	}
 
 	/**
@@ -215,20 +322,14 @@ public class WirePacket {
 		PacketType type = PacketType.fromClass(packet.getClass());
 		int id = type.getCurrentId();
 
-		ByteBuf buffer = PacketContainer.createPacketBuffer();
-		Method write = MinecraftMethods.getPacketWriteByteBufMethod();
+		ByteBuf buffer = PacketContainer.createPacketBuffer(PooledByteBufAllocator.DEFAULT);
 
 		try {
-			write.invoke(packet, buffer);
-		} catch (ReflectiveOperationException ex) {
-			throw new RuntimeException("Failed to serialize packet contents.", ex);
+			writePacket(packet, buffer);
+			return new WirePacket(id, getBytes(buffer));
+		} finally {
+			buffer.release();
 		}
-		
-		byte[] bytes = getBytes(buffer);
-		
-		buffer.release();
-
-		return new WirePacket(id, bytes);
 	}
 
 	public static void writeVarInt(ByteBuf output, int i) {
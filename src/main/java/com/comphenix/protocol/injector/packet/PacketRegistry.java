@@ -78,7 +78,7 @@ public class PacketRegistry {
 	 */
 	public static boolean isSupported(PacketType type) {
 		initialize();
-		return NETTY.getPacketTypeLookup().containsKey(type);
+		return NETTY.getPacketClass(type) != null;
 	}
 
 	/**
@@ -271,7 +271,7 @@ public class PacketRegistry {
 		initialize();
 
 		// Try the lookup first
-		Class<?> clazz = NETTY.getPacketTypeLookup().get(type);
+		Class<?> clazz = NETTY.getPacketClass(type);
 		if (clazz != null) {
 			return clazz;
 		}
@@ -314,7 +314,7 @@ public class PacketRegistry {
 	@Deprecated
 	public static int getPacketID(Class<?> packet) {
 		initialize();
-		return NETTY.getPacketClassLookup().get(packet).getLegacyId();
+		return NETTY.getPacketType(packet).getLegacyId();
 	}
 
 	/**
@@ -334,6 +334,6 @@ public class PacketRegistry {
 	 */
 	public static PacketType getPacketType(Class<?> packet, Sender sender) {
 		initialize();
-		return NETTY.getPacketClassLookup().get(packet);
+		return NETTY.getPacketType(packet);
 	}
 }
@@ -6,6 +6,7 @@ import java.io.DataInputStream;
 import java.io.InputStream;
 import java.lang.reflect.InvocationTargetException;
 import java.net.InetSocketAddress;
+import java.util.List;
 import java.util.Set;
 
 import org.bukkit.entity.Player;
@@ -136,6 +137,21 @@ public interface PlayerInjectionHandler {
 	public abstract void sendServerPacket(Player receiver, PacketContainer packet, NetworkMarker marker, boolean filters)
 			throws InvocationTargetException;
 
+	/**
+	 * Send the given packets in order to the given receiver, flushing the network stream once if possible.
+	 * @param receiver - the player receiver.
+	 * @param packets - the packets to send.
+	 * @param markers - the network marker of each packet, or NULL.
+	 * @param filters - whether or not to invoke the packet filters.
+	 * @throws InvocationTargetException If an error occurred during sending.
+	 */
+	public default void sendServerPackets(Player receiver, List<PacketContainer> packets, List<NetworkMarker> markers, boolean filters)
+			throws InvocationTargetException {
+		for (int i = 0; i < packets.size(); i++) {
+			sendServerPacket(receiver, packets.get(i), markers.get(i), filters);
+		}
+	}
+
 	/**
 	 * Process a packet as if it were sent by the given player.
 	 * @param player - the sender.
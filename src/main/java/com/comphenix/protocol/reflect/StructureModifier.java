@@ -26,6 +26,9 @@ import java.util.logging.Level;
 import com.comphenix.protocol.ProtocolLibrary;
 import com.comphenix.protocol.ProtocolLogger;
 import com.comphenix.protocol.error.PluginContext;
+import com.comphenix.protocol.reflect.accessors.Accessors;
+import com.comphenix.protocol.reflect.accessors.FieldAccessor;
+import com.comphenix.protocol.reflect.accessors.PrimitiveFieldAccessor;
 import com.comphenix.protocol.reflect.compiler.BackgroundCompiler;
 import com.comphenix.protocol.reflect.instances.BannedGenerator;
 import com.comphenix.protocol.reflect.instances.DefaultInstances;
@@ -57,6 +60,9 @@ public class StructureModifier<TField> {
 	// The fields to read in order
 	protected Class fieldType;
 	protected List<Field> data = new ArrayList<Field>();
+
+	// Accessors for each field, shared with every copy of this modifier
+	private volatile PrimitiveFieldAccessor[] accessors;
 	
 	// Improved default values
 	protected Map<Field, Integer> defaultFields;
@@ -139,6 +145,7 @@ public class StructureModifier<TField> {
 		initialize(other.targetType, other.fieldType, other.data,
 				   other.defaultFields, other.converter, other.subtypeCache,
 				   other.useStructureCompiler);
+		this.accessors = other.getAccessors();
 	}
 	
 	/**
@@ -178,6 +185,26 @@ public class StructureModifier<TField> {
 		this.converter = converter;
 		this.subtypeCache = subTypeCache;
 		this.useStructureCompiler = useStructureCompiler;
+		this.accessors = null;
+	}
+
+	/**
+	 * Retrieve the accessor of every field, in order.
+	 * @return The field accessors.
+	 */
+	private PrimitiveFieldAccessor[] getAccessors() {
+		PrimitiveFieldAccessor[] result = accessors;
+
+		// Benign race - every thread creates the same accessors
+		if (result == null) {
+			result = new PrimitiveFieldAccessor[data.size()];
+
+			for (int i = 0; i < result.length; i++) {
+				result[i] = Accessors.getFastFieldAccessor(data.get(i));
+			}
+			accessors = result;
+		}
+		return result;
 	}
 
 	/**
@@ -206,31 +233,21 @@ public class StructureModifier<TField> {
 
 	@SuppressWarnings("unchecked")
 	private TField readInternal(int fieldIndex) throws FieldAccessException {
-		if (target == null)
-			throw new IllegalStateException("Cannot read from a null target!");
-
-		if (fieldIndex < 0)
-			throw new FieldAccessException(String.format("Field index (%s) cannot be negative.", fieldIndex));
-
-		if (data.size() == 0)
-			throw new FieldAccessException(String.format("No field with type %s exists in class %s.", fieldType.getName(),
-					target.getClass().getSimpleName()));
-
-		if (fieldIndex >= data.size())
-			throw new FieldAccessException(String.format("Field index out of bounds. (Index: %s, Size: %s)", fieldIndex, data.size()));
+		FieldAccessor accessor = getCheckedAccessor(fieldIndex);
+		Object result;
 
 		try {
-			Object result = FieldUtils.readField(data.get(fieldIndex), target, true);
-
-			// Use the converter, if we have it
-			if (needConversion()) {
-				return converter.getSpecific(result);
-			} else {
-				return (TField) result;
-			}
-		} catch (IllegalAccessException e) {
+			result = accessor.get(target);
+		} catch (IllegalStateException e) {
 			throw new FieldAccessException("Cannot read field due to a security limitation.", e);
 		}
+
+		// Use the converter, if we have it
+		if (needConversion()) {
+			return converter.getSpecific(result);
+		} else {
+			return (TField) result;
+		}
 	}
 	
 	/**
@@ -353,6 +370,28 @@ public class StructureModifier<TField> {
 	}
 
 	private StructureModifier<TField> writeInternal(int fieldIndex, TField value) throws FieldAccessException {
+		FieldAccessor accessor = getCheckedAccessor(fieldIndex);
+
+		// Use the converter, if it exists
+		Object obj = needConversion() ? converter.getGeneric(value) : value;
+
+		try {
+			accessor.set(target, obj);
+		} catch (IllegalStateException e) {
+			throw new FieldAccessException("Cannot read field due to a security limitation.", e);
+		}
+
+		// Make this method chainable
+		return this;
+	}
+	
+	/**
+	 * Retrieve the accessor of the given field, after verifying that it can be accessed.
+	 * @param fieldIndex - index of the field.
+	 * @return The field accessor.
+	 * @throws FieldAccessException If the field doesn't exist.
+	 */
+	private PrimitiveFieldAccessor getCheckedAccessor(int fieldIndex) throws FieldAccessException {
 		if (target == null)
 			throw new IllegalStateException("Cannot read from a null target!");
 
@@ -366,19 +405,247 @@ public class StructureModifier<TField> {
 		if (fieldIndex >= data.size())
 			throw new FieldAccessException(String.format("Field index out of bounds. (Index: %s, Size: %s)", fieldIndex, data.size()));
 
-		// Use the converter, if it exists
-		Object obj = needConversion() ? converter.getGeneric(value) : value;
+		return getAccessors()[fieldIndex];
+	}
+
+	/**
+	 * Reads the value of an int field without boxing it. The converter is not used.
+	 * @param fieldIndex - index of the field.
+	 * @return Value of the field.
+	 * @throws FieldAccessException if the field doesn't exist, or it cannot be accessed under the current security contraints.
+	 */
+	public int readInt(int fieldIndex) throws FieldAccessException {
+		PrimitiveFieldAccessor accessor = getCheckedAccessor(fieldIndex);
 
 		try {
-			FieldUtils.writeField(data.get(fieldIndex), target, obj, true);
-		} catch (IllegalAccessException e) {
+			return accessor.getInt(target);
+		} catch (IllegalStateException e) {
 			throw new FieldAccessException("Cannot read field due to a security limitation.", e);
 		}
+	}
 
-		// Make this method chainable
+	/**
+	 * Writes the value of an int field without boxing it. The converter is not used.
+	 * @param fieldIndex - index of the field.
+	 * @param value - new value of the field.
+	 * @return This structure modifier - for chaining.
+	 * @throws FieldAccessException The field doesn't exist, or it cannot be accessed under the current security contraints.
+	 */
+	public StructureModifier<TField> writeInt(int fieldIndex, int value) throws FieldAccessException {
+		PrimitiveFieldAccessor accessor = getCheckedAccessor(fieldIndex);
+
+		try {
+			accessor.setInt(target, value);
+		} catch (IllegalStateException e) {
+			throw new FieldAccessException("Cannot write field due to a security limitation.", e);
+		}
 		return this;
 	}
-	
+
+	/**
+	 * Reads the value of a long field without boxing it. The converter is not used.
+	 * @param fieldIndex - index of the field.
+	 * @return Value of the field.
+	 * @throws FieldAccessException if the field doesn't exist, or it cannot be accessed under the current security contraints.
+	 */
+	public long readLong(int fieldIndex) throws FieldAccessException {
+		PrimitiveFieldAccessor accessor = getCheckedAccessor(fieldIndex);
+
+		try {
+			return accessor.getLong(target);
+		} catch (IllegalStateException e) {
+			throw new FieldAccessException("Cannot read field due to a security limitation.", e);
+		}
+	}
+
+	/**
+	 * Writes the value of a long field without boxing it. The converter is not used.
+	 * @param fieldIndex - index of the field.
+	 * @param value - new value of the field.
+	 * @return This structure modifier - for chaining.
+	 * @throws FieldAccessException The field doesn't exist, or it cannot be accessed under the current security contraints.
+	 */
+	public StructureModifier<TField> writeLong(int fieldIndex, long value) throws FieldAccessException {
+		PrimitiveFieldAccessor accessor = getCheckedAccessor(fieldIndex);
+
+		try {
+			accessor.setLong(target, value);
+		} catch (IllegalStateException e) {
+			throw new FieldAccessException("Cannot write field due to a security limitation.", e);
+		}
+		return this;
+	}
+
+	/**
+	 * Reads the value of a float field without boxing it. The converter is not used.
+	 * @param fieldIndex - index of the field.
+	 * @return Value of the field.
+	 * @throws FieldAccessException if the field doesn't exist, or it cannot be accessed under the current security contraints.
+	 */
+	public float readFloat(int fieldIndex) throws FieldAccessException {
+		PrimitiveFieldAccessor accessor = getCheckedAccessor(fieldIndex);
+
+		try {
+			return accessor.getFloat(target);
+		} catch (IllegalStateException e) {
+			throw new FieldAccessException("Cannot read field due to a security limitation.", e);
+		}
+	}
+
+	/**
+	 * Writes the value of a float field without boxing it. The converter is not used.
+	 * @param fieldIndex - index of the field.
+	 * @param value - new value of the field.
+	 * @return This structure modifier - for chaining.
+	 * @throws FieldAccessException The field doesn't exist, or it cannot be accessed under the current security contraints.
+	 */
+	public StructureModifier<TField> writeFloat(int fieldIndex, float value) throws FieldAccessException {
+		PrimitiveFieldAccessor accessor = getCheckedAccessor(fieldIndex);
+
+		try {
+			accessor.setFloat(target, value);
+		} catch (IllegalStateException e) {
+			throw new FieldAccessException("Cannot write field due to a security limitation.", e);
+		}
+		return this;
+	}
+
+	/**
+	 * Reads the value of a double field without boxing it. The converter is not used.
+	 * @param fieldIndex - index of the field.
+	 * @return Value of the field.
+	 * @throws FieldAccessException if the field doesn't exist, or it cannot be accessed under the current security contraints.
+	 */
+	public double readDouble(int fieldIndex) throws FieldAccessException {
+		PrimitiveFieldAccessor accessor = getCheckedAccessor(fieldIndex);
+
+		try {
+			return accessor.getDouble(target);
+		} catch (IllegalStateException e) {
+			throw new FieldAccessException("Cannot read field due to a security limitation.", e);
+		}
+	}
+
+	/**
+	 * Writes the value of a double field without boxing it. The converter is not used.
+	 * @param fieldIndex - index of the field.
+	 * @param value - new value of the field.
+	 * @return This structure modifier - for chaining.
+	 * @throws FieldAccessException The field doesn't exist, or it cannot be accessed under the current security contraints.
+	 */
+	public StructureModifier<TField> writeDouble(int fieldIndex, double value) throws FieldAccessException {
+		PrimitiveFieldAccessor accessor = getCheckedAccessor(fieldIndex);
+
+		try {
+			accessor.setDouble(target, value);
+		} catch (IllegalStateException e) {
+			throw new FieldAccessException("Cannot write field due to a security limitation.", e);
+		}
+		return this;
+	}
+
+	/**
+	 * Reads the value of a byte field without boxing it. The converter is not used.
+	 * @param fieldIndex - index of the field.
+	 * @return Value of the field.
+	 * @throws FieldAccessException if the field doesn't exist, or it cannot be accessed under the current security contraints.
+	 */
+	public byte readByte(int fieldIndex) throws FieldAccessException {
+		PrimitiveFieldAccessor accessor = getCheckedAccessor(fieldIndex);
+
+		try {
+			return accessor.getByte(target);
+		} catch (IllegalStateException e) {
+			throw new FieldAccessException("Cannot read field due to a security limitation.", e);
+		}
+	}
+
+	/**
+	 * Writes the value of a byte field without boxing it. The converter is not used.
+	 * @param fieldIndex - index of the field.
+	 * @param value - new value of the field.
+	 * @return This structure modifier - for chaining.
+	 * @throws FieldAccessException The field doesn't exist, or it cannot be accessed under the current security contraints.
+	 */
+	public StructureModifier<TField> writeByte(int fieldIndex, byte value) throws FieldAccessException {
+		PrimitiveFieldAccessor accessor = getCheckedAccessor(fieldIndex);
+
+		try {
+			accessor.setByte(target, value);
+		} catch (IllegalStateException e) {
+			throw new FieldAccessException("Cannot write field due to a security limitation.", e);
+		}
+		return this;
+	}
+
+	/**
+	 * Reads the value of a short field without boxing it. The converter is not used.
+	 * @param fieldIndex - index of the field.
+	 * @return Value of the field.
+	 * @throws FieldAccessException if the field doesn't exist, or it cannot be accessed under the current security contraints.
+	 */
+	public short readShort(int fieldIndex) throws FieldAccessException {
+		PrimitiveFieldAccessor accessor = getCheckedAccessor(fieldIndex);
+
+		try {
+			return accessor.getShort(target);
+		} catch (IllegalStateException e) {
+			throw new FieldAccessException("Cannot read field due to a security limitation.", e);
+		}
+	}
+
+	/**
+	 * Writes the value of a short field without boxing it. The converter is not used.
+	 * @param fieldIndex - index of the field.
+	 * @param value - new value of the field.
+	 * @return This structure modifier - for chaining.
+	 * @throws FieldAccessException The field doesn't exist, or it cannot be accessed under the current security contraints.
+	 */
+	public StructureModifier<TField> writeShort(int fieldIndex, short value) throws FieldAccessException {
+		PrimitiveFieldAccessor accessor = getCheckedAccessor(fieldIndex);
+
+		try {
+			accessor.setShort(target, value);
+		} catch (IllegalStateException e) {
+			throw new FieldAccessException("Cannot write field due to a security limitation.", e);
+		}
+		return this;
+	}
+
+	/**
+	 * Reads the value of a boolean field without boxing it. The converter is not used.
+	 * @param fieldIndex - index of the field.
+	 * @return Value of the field.
+	 * @throws FieldAccessException if the field doesn't exist, or it cannot be accessed under the current security contraints.
+	 */
+	public boolean readBoolean(int fieldIndex) throws FieldAccessException {
+		PrimitiveFieldAccessor accessor = getCheckedAccessor(fieldIndex);
+
+		try {
+			return accessor.getBoolean(target);
+		} catch (IllegalStateException e) {
+			throw new FieldAccessException("Cannot read field due to a security limitation.", e);
+		}
+	}
+
+	/**
+	 * Writes the value of a boolean field without boxing it. The converter is not used.
+	 * @param fieldIndex - index of the field.
+	 * @param value - new value of the field.
+	 * @return This structure modifier - for chaining.
+	 * @throws FieldAccessException The field doesn't exist, or it cannot be accessed under the current security contraints.
+	 */
+	public StructureModifier<TField> writeBoolean(int fieldIndex, boolean value) throws FieldAccessException {
+		PrimitiveFieldAccessor accessor = getCheckedAccessor(fieldIndex);
+
+		try {
+			accessor.setBoolean(target, value);
+		} catch (IllegalStateException e) {
+			throw new FieldAccessException("Cannot write field due to a security limitation.", e);
+		}
+		return this;
+	}
+
 	/**
 	 * Retrieve the type of a specified field.
 	 * @param index - the index.
@@ -440,18 +707,29 @@ public class StructureModifier<TField> {
 	public StructureModifier<TField> writeDefaults() throws FieldAccessException {
 		DefaultInstances generator = DefaultInstances.DEFAULT;
 
+		FieldAccessor[] accessors = getAccessors();
+
 		// Write a default instance to every field
-		for (Field field : defaultFields.keySet()) {
+		for (Map.Entry<Field, Integer> entry : defaultFields.entrySet()) {
+			Field field = entry.getKey();
+			int index = entry.getValue();
+
+			// Filtered modifiers may store the index of the original modifier
+			if (index >= accessors.length || data.get(index) != field) {
+				index = data.indexOf(field);
+			}
+			FieldAccessor accessor = accessors[index];
+
 			try {
 				// Special case for Spigot's custom chat components
 				// They must be null or messages will be blank
 				if (field.getType().getCanonicalName().equals("net.md_5.bungee.api.chat.BaseComponent[]")) {
-					FieldUtils.writeField(field, target, null, true);
+					accessor.set(target, null);
 					continue;
 				}
 
-				FieldUtils.writeField(field, target, generator.getDefault(field.getType()), true);
-			} catch (IllegalAccessException e) {
+				accessor.set(target, generator.getDefault(field.getType()));
+			} catch (IllegalStateException e) {
 				throw new FieldAccessException("Cannot write to field due to a security limitation.", e);
 			}
 		}
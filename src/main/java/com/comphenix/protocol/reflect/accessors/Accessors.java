@@ -106,7 +106,26 @@ public final class Accessors {
 		field.setAccessible(true);
 		return new DefaultFieldAccessor(field);
 	}
-	
+
+	/**
+	 * Retrieve a field accessor from a given field that uses method handles instead of reflection.
+	 * <p>
+	 * The handles are adapted to a fixed signature and skip the access checks of reflection. They are stored
+	 * per accessor rather than as constants, so the JIT compiler cannot fold them into the caller. We fall back
+	 * to reflection if the method handles cannot be created.
+	 * @param field - the field.
+	 * @return The field accessor.
+	 */
+	public static PrimitiveFieldAccessor getFastFieldAccessor(final Field field) {
+		field.setAccessible(true);
+
+		try {
+			return new MethodHandleFieldAccessor(field);
+		} catch (IllegalAccessException | RuntimeException e) {
+			return new DefaultFieldAccessor(field);
+		}
+	}
+
 	/**
 	 * Retrieve a field accessor for a field with the given name and equivalent type, or NULL.
 	 * @param clazz - the declaration class.
@@ -2,7 +2,7 @@ package com.comphenix.protocol.reflect.accessors;
 
 import java.lang.reflect.Field;
 
-final class DefaultFieldAccessor implements FieldAccessor {
+final class DefaultFieldAccessor implements PrimitiveFieldAccessor {
 	private final Field field;
 	
 	public DefaultFieldAccessor(Field field) {
@@ -31,6 +31,132 @@ final class DefaultFieldAccessor implements FieldAccessor {
 		}
 	}
 	
+	@Override
+	public int getInt(Object instance) {
+		try {
+			return field.getInt(instance);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException("Cannot use reflection.", e);
+		}
+	}
+	
+	@Override
+	public void setInt(Object instance, int value) {
+		try {
+			field.setInt(instance, value);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException("Cannot use reflection.", e);
+		}
+	}
+	
+	@Override
+	public long getLong(Object instance) {
+		try {
+			return field.getLong(instance);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException("Cannot use reflection.", e);
+		}
+	}
+	
+	@Override
+	public void setLong(Object instance, long value) {
+		try {
+			field.setLong(instance, value);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException("Cannot use reflection.", e);
+		}
+	}
+	
+	@Override
+	public float getFloat(Object instance) {
+		try {
+			return field.getFloat(instance);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException("Cannot use reflection.", e);
+		}
+	}
+	
+	@Override
+	public void setFloat(Object instance, float value) {
+		try {
+			field.setFloat(instance, value);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException("Cannot use reflection.", e);
+		}
+	}
+	
+	@Override
+	public double getDouble(Object instance) {
+		try {
+			return field.getDouble(instance);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException("Cannot use reflection.", e);
+		}
+	}
+	
+	@Override
+	public void setDouble(Object instance, double value) {
+		try {
+			field.setDouble(instance, value);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException("Cannot use reflection.", e);
+		}
+	}
+	
+	@Override
+	public byte getByte(Object instance) {
+		try {
+			return field.getByte(instance);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException("Cannot use reflection.", e);
+		}
+	}
+	
+	@Override
+	public void setByte(Object instance, byte value) {
+		try {
+			field.setByte(instance, value);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException("Cannot use reflection.", e);
+		}
+	}
+	
+	@Override
+	public short getShort(Object instance) {
+		try {
+			return field.getShort(instance);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException("Cannot use reflection.", e);
+		}
+	}
+	
+	@Override
+	public void setShort(Object instance, short value) {
+		try {
+			field.setShort(instance, value);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException("Cannot use reflection.", e);
+		}
+	}
+	
+	@Override
+	public boolean getBoolean(Object instance) {
+		try {
+			return field.getBoolean(instance);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException("Cannot use reflection.", e);
+		}
+	}
+	
+	@Override
+	public void setBoolean(Object instance, boolean value) {
+		try {
+			field.setBoolean(instance, value);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException("Cannot use reflection.", e);
+		}
+	}
+
 	@Override
 	public Field getField() {
 		return field;
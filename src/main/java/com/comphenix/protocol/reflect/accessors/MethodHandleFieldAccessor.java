@@ -0,0 +1,311 @@
+package com.comphenix.protocol.reflect.accessors;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * Represents a field accessor that uses method handles instead of reflection.
+ * <p>
+ * The handles are adapted to a fixed signature, so each call is an exact invocation without any
+ * access checks. Final fields cannot be written by a method handle, so they are written using reflection.
+ * <p>
+ * Primitive fields get a second pair of handles with the primitive type in their signature, so their values
+ * are never boxed. Reading or writing a primitive of a different type, such as an int from a short field,
+ * falls back to reflection.
+ */
+final class MethodHandleFieldAccessor implements PrimitiveFieldAccessor {
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+	private final Field field;
+	private final Class<?> fieldType;
+	private final MethodHandle getter;
+
+	// NULL if we must use reflection
+	private final MethodHandle setter;
+
+	// NULL if the field is not primitive
+	private final MethodHandle primitiveGetter;
+	private final MethodHandle primitiveSetter;
+
+	/**
+	 * Construct a new method handle field accessor.
+	 * @param field - the field. Must be accessible.
+	 * @throws IllegalAccessException If we are unable to create a getter for this field.
+	 */
+	public MethodHandleFieldAccessor(Field field) throws IllegalAccessException {
+		boolean isStatic = Modifier.isStatic(field.getModifiers());
+		MethodHandle getter = LOOKUP.unreflectGetter(field);
+		MethodHandle setter = null;
+
+		if (!Modifier.isFinal(field.getModifiers())) {
+			setter = LOOKUP.unreflectSetter(field);
+		}
+
+		// Ignore the instance parameter of static fields
+		if (isStatic) {
+			getter = MethodHandles.dropArguments(getter, 0, Object.class);
+			setter = setter != null ? MethodHandles.dropArguments(setter, 0, Object.class) : null;
+		}
+
+		this.field = field;
+		this.fieldType = field.getType();
+		this.getter = getter.asType(GETTER_TYPE);
+		this.setter = setter != null ? setter.asType(SETTER_TYPE) : null;
+
+		if (fieldType.isPrimitive()) {
+			this.primitiveGetter = getter.asType(MethodType.methodType(fieldType, Object.class));
+			this.primitiveSetter = setter != null ? setter.asType(MethodType.methodType(void.class, Object.class, fieldType)) : null;
+		} else {
+			this.primitiveGetter = null;
+			this.primitiveSetter = null;
+		}
+	}
+
+	@Override
+	public Object get(Object instance) {
+		try {
+			return (Object) getter.invokeExact(instance);
+		} catch (Throwable e) {
+			throw readFailure(instance, e);
+		}
+	}
+
+	@Override
+	public void set(Object instance, Object value) {
+		try {
+			if (setter != null)
+				setter.invokeExact(instance, value);
+			else
+				field.set(instance, value);
+		} catch (Throwable e) {
+			throw writeFailure(value, e);
+		}
+	}
+
+	@Override
+	public int getInt(Object instance) {
+		try {
+			if (fieldType == int.class)
+				return (int) primitiveGetter.invokeExact(instance);
+			return field.getInt(instance);
+		} catch (Throwable e) {
+			throw readFailure(instance, e);
+		}
+	}
+
+	@Override
+	public void setInt(Object instance, int value) {
+		try {
+			if (fieldType == int.class && primitiveSetter != null)
+				primitiveSetter.invokeExact(instance, value);
+			else
+				field.setInt(instance, value);
+		} catch (Throwable e) {
+			throw writeFailure(value, e);
+		}
+	}
+
+	@Override
+	public long getLong(Object instance) {
+		try {
+			if (fieldType == long.class)
+				return (long) primitiveGetter.invokeExact(instance);
+			return field.getLong(instance);
+		} catch (Throwable e) {
+			throw readFailure(instance, e);
+		}
+	}
+
+	@Override
+	public void setLong(Object instance, long value) {
+		try {
+			if (fieldType == long.class && primitiveSetter != null)
+				primitiveSetter.invokeExact(instance, value);
+			else
+				field.setLong(instance, value);
+		} catch (Throwable e) {
+			throw writeFailure(value, e);
+		}
+	}
+
+	@Override
+	public float getFloat(Object instance) {
+		try {
+			if (fieldType == float.class)
+				return (float) primitiveGetter.invokeExact(instance);
+			return field.getFloat(instance);
+		} catch (Throwable e) {
+			throw readFailure(instance, e);
+		}
+	}
+
+	@Override
+	public void setFloat(Object instance, float value) {
+		try {
+			if (fieldType == float.class && primitiveSetter != null)
+				primitiveSetter.invokeExact(instance, value);
+			else
+				field.setFloat(instance, value);
+		} catch (Throwable e) {
+			throw writeFailure(value, e);
+		}
+	}
+
+	@Override
+	public double getDouble(Object instance) {
+		try {
+			if (fieldType == double.class)
+				return (double) primitiveGetter.invokeExact(instance);
+			return field.getDouble(instance);
+		} catch (Throwable e) {
+			throw readFailure(instance, e);
+		}
+	}
+
+	@Override
+	public void setDouble(Object instance, double value) {
+		try {
+			if (fieldType == double.class && primitiveSetter != null)
+				primitiveSetter.invokeExact(instance, value);
+			else
+				field.setDouble(instance, value);
+		} catch (Throwable e) {
+			throw writeFailure(value, e);
+		}
+	}
+
+	@Override
+	public byte getByte(Object instance) {
+		try {
+			if (fieldType == byte.class)
+				return (byte) primitiveGetter.invokeExact(instance);
+			return field.getByte(instance);
+		} catch (Throwable e) {
+			throw readFailure(instance, e);
+		}
+	}
+
+	@Override
+	public void setByte(Object instance, byte value) {
+		try {
+			if (fieldType == byte.class && primitiveSetter != null)
+				primitiveSetter.invokeExact(instance, value);
+			else
+				field.setByte(instance, value);
+		} catch (Throwable e) {
+			throw writeFailure(value, e);
+		}
+	}
+
+	@Override
+	public short getShort(Object instance) {
+		try {
+			if (fieldType == short.class)
+				return (short) primitiveGetter.invokeExact(instance);
+			return field.getShort(instance);
+		} catch (Throwable e) {
+			throw readFailure(instance, e);
+		}
+	}
+
+	@Override
+	public void setShort(Object instance, short value) {
+		try {
+			if (fieldType == short.class && primitiveSetter != null)
+				primitiveSetter.invokeExact(instance, value);
+			else
+				field.setShort(instance, value);
+		} catch (Throwable e) {
+			throw writeFailure(value, e);
+		}
+	}
+
+	@Override
+	public boolean getBoolean(Object instance) {
+		try {
+			if (fieldType == boolean.class)
+				return (boolean) primitiveGetter.invokeExact(instance);
+			return field.getBoolean(instance);
+		} catch (Throwable e) {
+			throw readFailure(instance, e);
+		}
+	}
+
+	@Override
+	public void setBoolean(Object instance, boolean value) {
+		try {
+			if (fieldType == boolean.class && primitiveSetter != null)
+				primitiveSetter.invokeExact(instance, value);
+			else
+				field.setBoolean(instance, value);
+		} catch (Throwable e) {
+			throw writeFailure(value, e);
+		}
+	}
+
+	/**
+	 * Convert an exception thrown while reading the field into the exception reflection would have thrown.
+	 * @param instance - the instance we attempted to read.
+	 * @param e - the exception.
+	 * @return The exception to throw.
+	 */
+	private RuntimeException readFailure(Object instance, Throwable e) {
+		return translate("Cannot read " + field + " of " + instance, e);
+	}
+
+	/**
+	 * Convert an exception thrown while writing the field into the exception reflection would have thrown.
+	 * @param value - the value we attempted to write.
+	 * @param e - the exception.
+	 * @return The exception to throw.
+	 */
+	private RuntimeException writeFailure(Object value, Throwable e) {
+		return translate("Cannot set field " + field + " to value " + value, e);
+	}
+
+	private static RuntimeException translate(String message, Throwable e) {
+		// Same as Field.get() and Field.set()
+		if (e instanceof ClassCastException)
+			return new IllegalArgumentException(message, e);
+		if (e instanceof IllegalAccessException)
+			return new IllegalStateException("Cannot use reflection.", e);
+		if (e instanceof RuntimeException)
+			return (RuntimeException) e;
+		if (e instanceof Error)
+			throw (Error) e;
+		return new RuntimeException(message, e);
+	}
+
+	@Override
+	public Field getField() {
+		return field;
+	}
+
+	@Override
+	public int hashCode() {
+		return field.hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+
+		if (obj instanceof MethodHandleFieldAccessor) {
+			MethodHandleFieldAccessor other = (MethodHandleFieldAccessor) obj;
+			return other.field.equals(field);
+		}
+		return false;
+	}
+
+	@Override
+	public String toString() {
+		return "MethodHandleFieldAccessor [field=" + field + "]";
+	}
+}
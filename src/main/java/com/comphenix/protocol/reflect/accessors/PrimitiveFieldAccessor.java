@@ -0,0 +1,106 @@
+package com.comphenix.protocol.reflect.accessors;
+
+/**
+ * Represents a field accessor that can read and write primitive values without boxing them.
+ * <p>
+ * The usual widening conversions apply, so an int can be read from a byte or short field.
+ */
+public interface PrimitiveFieldAccessor extends FieldAccessor {
+	/**
+	 * Retrieve the value of an int field for a particular instance.
+	 * @param instance - the instance, or NULL for a static field.
+	 * @return The value of the field.
+	 */
+	public int getInt(Object instance);
+
+	/**
+	 * Set the value of an int field for a particular instance.
+	 * @param instance - the instance, or NULL for a static field.
+	 * @param value - the new value of the field.
+	 */
+	public void setInt(Object instance, int value);
+
+	/**
+	 * Retrieve the value of a long field for a particular instance.
+	 * @param instance - the instance, or NULL for a static field.
+	 * @return The value of the field.
+	 */
+	public long getLong(Object instance);
+
+	/**
+	 * Set the value of a long field for a particular instance.
+	 * @param instance - the instance, or NULL for a static field.
+	 * @param value - the new value of the field.
+	 */
+	public void setLong(Object instance, long value);
+
+	/**
+	 * Retrieve the value of a float field for a particular instance.
+	 * @param instance - the instance, or NULL for a static field.
+	 * @return The value of the field.
+	 */
+	public float getFloat(Object instance);
+
+	/**
+	 * Set the value of a float field for a particular instance.
+	 * @param instance - the instance, or NULL for a static field.
+	 * @param value - the new value of the field.
+	 */
+	public void setFloat(Object instance, float value);
+
+	/**
+	 * Retrieve the value of a double field for a particular instance.
+	 * @param instance - the instance, or NULL for a static field.
+	 * @return The value of the field.
+	 */
+	public double getDouble(Object instance);
+
+	/**
+	 * Set the value of a double field for a particular instance.
+	 * @param instance - the instance, or NULL for a static field.
+	 * @param value - the new value of the field.
+	 */
+	public void setDouble(Object instance, double value);
+
+	/**
+	 * Retrieve the value of a byte field for a particular instance.
+	 * @param instance - the instance, or NULL for a static field.
+	 * @return The value of the field.
+	 */
+	public byte getByte(Object instance);
+
+	/**
+	 * Set the value of a byte field for a particular instance.
+	 * @param instance - the instance, or NULL for a static field.
+	 * @param value - the new value of the field.
+	 */
+	public void setByte(Object instance, byte value);
+
+	/**
+	 * Retrieve the value of a short field for a particular instance.
+	 * @param instance - the instance, or NULL for a static field.
+	 * @return The value of the field.
+	 */
+	public short getShort(Object instance);
+
+	/**
+	 * Set the value of a short field for a particular instance.
+	 * @param instance - the instance, or NULL for a static field.
+	 * @param value - the new value of the field.
+	 */
+	public void setShort(Object instance, short value);
+
+	/**
+	 * Retrieve the value of a boolean field for a particular instance.
+	 * @param instance - the instance, or NULL for a static field.
+	 * @return The value of the field.
+	 */
+	public boolean getBoolean(Object instance);
+
+	/**
+	 * Set the value of a boolean field for a particular instance.
+	 * @param instance - the instance, or NULL for a static field.
+	 * @param value - the new value of the field.
+	 */
+	public void setBoolean(Object instance, boolean value);
+}
@@ -37,6 +37,7 @@ import com.comphenix.protocol.error.Report;
 import com.comphenix.protocol.error.ReportType;
 import com.comphenix.protocol.reflect.StructureModifier;
 import com.google.common.base.Objects;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.primitives.Primitives;
 
 // public class CompiledStructureModifierPacket20<TField> extends CompiledStructureModifier<TField> {
@@ -147,6 +148,17 @@ public final class StructureCompiler {
 	private static String COMPILED_CLASS = PACKAGE_NAME + "/CompiledStructureModifier";
 	private static String FIELD_EXCEPTION_CLASS = "com/comphenix/protocol/reflect/FieldAccessException";
 
+	// The suffix of the primitive read and write methods in StructureModifier
+	private static final Map<Class<?>, String> PRIMITIVE_NAMES = ImmutableMap.<Class<?>, String>builder().
+			put(int.class, "Int").
+			put(long.class, "Long").
+			put(float.class, "Float").
+			put(double.class, "Double").
+			put(byte.class, "Byte").
+			put(short.class, "Short").
+			put(boolean.class, "Boolean").
+			build();
+
 	public static boolean attemptClassLoad = false;
 
 	/**
@@ -291,6 +303,14 @@ public final class StructureCompiler {
 		createConstructor(cw, className, targetSignature, targetName);
 		createReadMethod(cw, className, source.getFields(), targetSignature, targetName);
 		createWriteMethod(cw, className, source.getFields(), targetSignature, targetName);
+
+		// Unboxed accessors, such as readInt and writeInt
+		String primitiveName = PRIMITIVE_NAMES.get(source.getFieldType());
+
+		if (primitiveName != null && !source.getFields().isEmpty()) {
+			createPrimitiveReadMethod(cw, className, source, primitiveName, targetSignature, targetName);
+			createPrimitiveWriteMethod(cw, className, source, primitiveName, targetSignature, targetName);
+		}
 		cw.visitEnd();
 
 		byte[] data = cw.toByteArray();
@@ -517,6 +537,143 @@ public final class StructureCompiler {
 		mv.visitEnd();
 	}
 
+	private void createPrimitiveReadMethod($ClassWriter cw, String className, StructureModifier<?> source, String primitiveName,
+										   String targetSignature, String targetName) {
+		List<Field> fields = source.getFields();
+		$Type primitiveType = $Type.getType(source.getFieldType());
+		String methodName = "read" + primitiveName;
+		String methodDescriptor = "(I)" + primitiveType.getDescriptor();
+
+		$MethodVisitor mv = cw.visitMethod($Opcodes.ACC_PUBLIC, methodName, methodDescriptor, null,
+									new String[] { FIELD_EXCEPTION_CLASS });
+		String generatedClassName = PACKAGE_NAME + "/" + className;
+
+		mv.visitCode();
+		mv.visitVarInsn($Opcodes.ALOAD, 0);
+		mv.visitFieldInsn($Opcodes.GETFIELD, generatedClassName, "typedTarget", targetSignature);
+		mv.visitVarInsn($Opcodes.ASTORE, 2);
+		mv.visitVarInsn($Opcodes.ILOAD, 1);
+
+		$Label[] $Labels = new $Label[fields.size()];
+		$Label error$Label = new $Label();
+
+		for (int i = 0; i < fields.size(); i++) {
+			$Labels[i] = new $Label();
+		}
+
+		mv.visitTableSwitchInsn(0, fields.size() - 1, error$Label, $Labels);
+
+		for (int i = 0; i < fields.size(); i++) {
+			Field field = fields.get(i);
+
+			mv.visitLabel($Labels[i]);
+
+			if (i == 0)
+				mv.visitFrame($Opcodes.F_APPEND, 1, new Object[] { targetName }, 0, null);
+			else
+				mv.visitFrame($Opcodes.F_SAME, 0, null, 0, null);
+
+			if (isPublic(field) && field.getType() == source.getFieldType()) {
+				mv.visitVarInsn($Opcodes.ALOAD, 2);
+				mv.visitFieldInsn($Opcodes.GETFIELD, targetName, field.getName(), primitiveType.getDescriptor());
+			} else {
+				// Let the field accessor handle it
+				mv.visitVarInsn($Opcodes.ALOAD, 0);
+				mv.visitVarInsn($Opcodes.ILOAD, 1);
+				mv.visitMethodInsn($Opcodes.INVOKESPECIAL, COMPILED_CLASS, methodName, methodDescriptor);
+			}
+			mv.visitInsn(primitiveType.getOpcode($Opcodes.IRETURN));
+		}
+
+		mv.visitLabel(error$Label);
+		mv.visitFrame($Opcodes.F_SAME, 0, null, 0, null);
+		throwInvalidIndex(mv);
+		mv.visitMaxs(5, 3);
+		mv.visitEnd();
+	}
+
+	private void createPrimitiveWriteMethod($ClassWriter cw, String className, StructureModifier<?> source, String primitiveName,
+											String targetSignature, String targetName) {
+		List<Field> fields = source.getFields();
+		$Type primitiveType = $Type.getType(source.getFieldType());
+		String methodName = "write" + primitiveName;
+		String methodDescriptor = "(I" + primitiveType.getDescriptor() + ")L" + SUPER_CLASS + ";";
+
+		$MethodVisitor mv = cw.visitMethod($Opcodes.ACC_PUBLIC, methodName, methodDescriptor, null,
+									new String[] { FIELD_EXCEPTION_CLASS });
+		String generatedClassName = PACKAGE_NAME + "/" + className;
+
+		// Longs and doubles occupy two local variable slots
+		int targetIndex = 2 + primitiveType.getSize();
+
+		mv.visitCode();
+		mv.visitVarInsn($Opcodes.ALOAD, 0);
+		mv.visitFieldInsn($Opcodes.GETFIELD, generatedClassName, "typedTarget", targetSignature);
+		mv.visitVarInsn($Opcodes.ASTORE, targetIndex);
+		mv.visitVarInsn($Opcodes.ILOAD, 1);
+
+		$Label[] $Labels = new $Label[fields.size()];
+		$Label error$Label = new $Label();
+		$Label return$Label = new $Label();
+
+		for (int i = 0; i < fields.size(); i++) {
+			$Labels[i] = new $Label();
+		}
+
+		mv.visitTableSwitchInsn(0, fields.size() - 1, error$Label, $Labels);
+
+		for (int i = 0; i < fields.size(); i++) {
+			Field field = fields.get(i);
+
+			mv.visitLabel($Labels[i]);
+
+			if (i == 0)
+				mv.visitFrame($Opcodes.F_APPEND, 1, new Object[] { targetName }, 0, null);
+			else
+				mv.visitFrame($Opcodes.F_SAME, 0, null, 0, null);
+
+			if (isPublic(field) && isNonFinal(field) && field.getType() == source.getFieldType()) {
+				mv.visitVarInsn($Opcodes.ALOAD, targetIndex);
+				mv.visitVarInsn(primitiveType.getOpcode($Opcodes.ILOAD), 2);
+				mv.visitFieldInsn($Opcodes.PUTFIELD, targetName, field.getName(), primitiveType.getDescriptor());
+			} else {
+				// Let the field accessor handle it
+				mv.visitVarInsn($Opcodes.ALOAD, 0);
+				mv.visitVarInsn($Opcodes.ILOAD, 1);
+				mv.visitVarInsn(primitiveType.getOpcode($Opcodes.ILOAD), 2);
+				mv.visitMethodInsn($Opcodes.INVOKESPECIAL, COMPILED_CLASS, methodName, methodDescriptor);
+				mv.visitInsn($Opcodes.POP);
+			}
+			mv.visitJumpInsn($Opcodes.GOTO, return$Label);
+		}
+
+		mv.visitLabel(error$Label);
+		mv.visitFrame($Opcodes.F_SAME, 0, null, 0, null);
+		throwInvalidIndex(mv);
+
+		mv.visitLabel(return$Label);
+		mv.visitFrame($Opcodes.F_SAME, 0, null, 0, null);
+		mv.visitVarInsn($Opcodes.ALOAD, 0);
+		mv.visitInsn($Opcodes.ARETURN);
+		mv.visitMaxs(5, targetIndex + 1);
+		mv.visitEnd();
+	}
+
+	// Throw a FieldAccessException for the index in the first parameter
+	private void throwInvalidIndex($MethodVisitor mv) {
+		mv.visitTypeInsn($Opcodes.NEW, FIELD_EXCEPTION_CLASS);
+		mv.visitInsn($Opcodes.DUP);
+		mv.visitTypeInsn($Opcodes.NEW, "java/lang/StringBuilder");
+		mv.visitInsn($Opcodes.DUP);
+		mv.visitLdcInsn("Invalid index ");
+		mv.visitMethodInsn($Opcodes.INVOKESPECIAL, "java/lang/StringBuilder", "<init>", "(Ljava/lang/String;)V");
+		mv.visitVarInsn($Opcodes.ILOAD, 1);
+		mv.visitMethodInsn($Opcodes.INVOKEVIRTUAL, "java/lang/StringBuilder", "append", "(I)Ljava/lang/StringBuilder;");
+		mv.visitMethodInsn($Opcodes.INVOKEVIRTUAL, "java/lang/StringBuilder", "toString", "()Ljava/lang/String;");
+		mv.visitMethodInsn($Opcodes.INVOKESPECIAL, FIELD_EXCEPTION_CLASS, "<init>", "(Ljava/lang/String;)V");
+		mv.visitInsn($Opcodes.ATHROW);
+	}
+
 	private void createConstructor($ClassWriter cw, String className, String targetSignature, String targetName) {
 		$MethodVisitor mv = cw.visitMethod($Opcodes.ACC_PUBLIC, "<init>",
 				"(L" + SUPER_CLASS + ";L" + PACKAGE_NAME + "/StructureCompiler;)V",
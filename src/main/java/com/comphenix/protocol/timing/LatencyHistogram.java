@@ -0,0 +1,183 @@
+package com.comphenix.protocol.timing;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Represents a histogram of latencies in nanoseconds, with logarithmically sized buckets.
+ * <p>
+ * Every power of two is split into a fixed number of linear sub-buckets, so each recorded value is
+ * accurate to within a few percent regardless of its magnitude. The memory use is fixed, and two
+ * histograms can be merged without losing any accuracy. This is the same layout used by HdrHistogram.
+ */
+public class LatencyHistogram extends OnlineComputation {
+	// Number of linear sub-buckets per power of two
+	private static final int SUB_BUCKET_BITS = 5;
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+	/**
+	 * The largest value that can be recorded, which is a bit over a minute in nanoseconds. Larger values are clamped.
+	 */
+	public static final long MAX_VALUE = (1L << 36) - 1;
+
+	private static final int BUCKET_COUNT = (36 - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+	private final int[] counts;
+	private int count;
+
+	// The exact extremes
+	private long minimum = Long.MAX_VALUE;
+	private long maximum = 0;
+
+	/**
+	 * Construct a new empty histogram.
+	 */
+	public LatencyHistogram() {
+		this.counts = new int[BUCKET_COUNT];
+	}
+
+	/**
+	 * Construct a copy of the given histogram.
+	 * @param other - the histogram to copy.
+	 */
+	public LatencyHistogram(LatencyHistogram other) {
+		this.counts = other.counts.clone();
+		this.count = other.count;
+		this.minimum = other.minimum;
+		this.maximum = other.maximum;
+	}
+
+	@Override
+	public LatencyHistogram copy() {
+		return new LatencyHistogram(this);
+	}
+
+	@Override
+	public void observe(double value) {
+		record((long) value);
+	}
+
+	/**
+	 * Record a latency.
+	 * @param nanoseconds - the latency in nanoseconds. Negative values are recorded as zero.
+	 */
+	public void record(long nanoseconds) {
+		long value = Math.min(Math.max(nanoseconds, 0), MAX_VALUE);
+
+		counts[getIndex(value)]++;
+		count++;
+
+		if (value < minimum)
+			minimum = value;
+		if (value > maximum)
+			maximum = value;
+	}
+
+	/**
+	 * Retrieve a new histogram containing the observations of this and the given histogram.
+	 * @param other - the other histogram.
+	 * @return The merged histogram.
+	 */
+	public LatencyHistogram add(LatencyHistogram other) {
+		LatencyHistogram result = new LatencyHistogram(this);
+
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			result.counts[i] += other.counts[i];
+		}
+		result.count += other.count;
+		result.minimum = Math.min(minimum, other.minimum);
+		result.maximum = Math.max(maximum, other.maximum);
+		return result;
+	}
+
+	/**
+	 * Retrieve the smallest value such that the given percentage of observations are less than or equal to it.
+	 * <p>
+	 * The result is the highest value of the matching bucket, but never larger than the largest observation.
+	 * @param percentile - the percentile, between 0 and 100.
+	 * @return The value at this percentile, in nanoseconds.
+	 */
+	public double getValueAtPercentile(double percentile) {
+		Preconditions.checkArgument(percentile >= 0 && percentile <= 100, "percentile must be between 0 and 100");
+		checkCount();
+
+		long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+		long seen = 0;
+
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			seen += counts[i];
+
+			if (seen >= rank) {
+				return Math.max(minimum, Math.min(maximum, getHighestValue(i)));
+			}
+		}
+		return maximum;
+	}
+
+	/**
+	 * Retrieve the smallest recorded latency.
+	 * @return The smallest latency, in nanoseconds.
+	 */
+	public double getMinimum() {
+		checkCount();
+		return minimum;
+	}
+
+	/**
+	 * Retrieve the largest recorded latency.
+	 * @return The largest latency, in nanoseconds.
+	 */
+	public double getMaximum() {
+		checkCount();
+		return maximum;
+	}
+
+	@Override
+	public int getCount() {
+		return count;
+	}
+
+	private void checkCount() {
+		if (count == 0) {
+			throw new IllegalStateException("No observations in histogram.");
+		}
+	}
+
+	/**
+	 * Retrieve the bucket index of a given value.
+	 * @param value - the value, which must be between 0 and {@link #MAX_VALUE}.
+	 * @return The bucket index.
+	 */
+	static int getIndex(long value) {
+		if (value < SUB_BUCKET_COUNT)
+			return (int) value;
+
+		// Keep the highest bits of the value
+		int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+		int subBucket = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+		return (shift + 1) * SUB_BUCKET_COUNT + subBucket;
+	}
+
+	/**
+	 * Retrieve the largest value that belongs to the given bucket.
+	 * @param index - the bucket index.
+	 * @return The largest value.
+	 */
+	static long getHighestValue(int index) {
+		if (index < SUB_BUCKET_COUNT)
+			return index;
+
+		int shift = index / SUB_BUCKET_COUNT - 1;
+		long lowest = (long) (SUB_BUCKET_COUNT + index % SUB_BUCKET_COUNT) << shift;
+		return lowest + (1L << shift) - 1;
+	}
+
+	@Override
+	public String toString() {
+		if (count == 0)
+			return "LatencyHistogram [Nothing recorded]";
+
+		return String.format("LatencyHistogram [P50: %.3f, P99: %.3f, P99.9: %.3f, Max: %.3f, Count: %s]",
+			getValueAtPercentile(50), getValueAtPercentile(99), getValueAtPercentile(99.9),
+			getMaximum(), getCount());
+	}
+}
@@ -0,0 +1,89 @@
+package com.comphenix.protocol.timing;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.comphenix.protocol.timing.TimedListenerManager.ListenerType;
+
+/**
+ * Represents the timed trackers of a single registered packet listener.
+ * <p>
+ * Each listener object receives its own registration ID, so listeners of the same class can be told apart.
+ */
+public class ListenerTrackers {
+	private final String pluginName;
+	private final String listenerName;
+	private final int registrationId;
+
+	// Replaced when the timings are cleared
+	private volatile Map<ListenerType, TimedTracker> trackers;
+
+	/**
+	 * Construct a new set of trackers for a listener.
+	 * @param pluginName - the name of the plugin that owns the listener.
+	 * @param listenerClass - the class of the listener.
+	 * @param registrationId - the unique registration ID.
+	 */
+	ListenerTrackers(String pluginName, Class<?> listenerClass, int registrationId) {
+		this.pluginName = pluginName;
+		this.listenerName = getClassName(listenerClass) + " #" + registrationId;
+		this.registrationId = registrationId;
+		reset();
+	}
+
+	// Anonymous classes have no simple name
+	private static String getClassName(Class<?> listenerClass) {
+		String name = listenerClass.getSimpleName();
+		return name.isEmpty() ? listenerClass.getName() : name;
+	}
+
+	/**
+	 * Retrieve the tracker of the given listener type.
+	 * @param type - the listener type.
+	 * @return The timed tracker.
+	 */
+	public TimedTracker getTracker(ListenerType type) {
+		return trackers.get(type);
+	}
+
+	/**
+	 * Discard every recorded observation.
+	 */
+	void reset() {
+		Map<ListenerType, TimedTracker> created = new EnumMap<ListenerType, TimedTracker>(ListenerType.class);
+
+		for (ListenerType type : ListenerType.values()) {
+			created.put(type, new TimedTracker());
+		}
+		this.trackers = created;
+	}
+
+	/**
+	 * Retrieve the name of the plugin that owns the listener.
+	 * @return The plugin name.
+	 */
+	public String getPluginName() {
+		return pluginName;
+	}
+
+	/**
+	 * Retrieve a human readable name of the listener, consisting of its class and registration ID.
+	 * @return The listener name.
+	 */
+	public String getListenerName() {
+		return listenerName;
+	}
+
+	/**
+	 * Retrieve the unique registration ID of the listener.
+	 * @return The registration ID.
+	 */
+	public int getRegistrationId() {
+		return registrationId;
+	}
+
+	@Override
+	public String toString() {
+		return "ListenerTrackers[plugin=" + pluginName + ", listener=" + listenerName + "]";
+	}
+}
@@ -118,11 +118,11 @@ public class StatisticsStream extends OnlineComputation {
     	
     	StatisticsStream stream = new StatisticsStream();
     	double delta = other.mean - mean;
-    	double n = count + other.count;
+    	double n = (double) count + other.count;
     	
     	stream.count = (int) n;
     	stream.mean = mean + delta * (other.count / n);
-    	stream.m2 = m2 + other.m2 + ((delta * delta) * (count * other.count) / n);
+    	stream.m2 = m2 + other.m2 + ((delta * delta) * ((double) count * other.count) / n);
     	stream.minimum = Math.min(minimum, other.minimum);
     	stream.maximum = Math.max(maximum, other.maximum);
     	return stream;
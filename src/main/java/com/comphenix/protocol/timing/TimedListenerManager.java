@@ -1,16 +1,25 @@
 package com.comphenix.protocol.timing;
 
 import java.util.Calendar;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.bukkit.plugin.Plugin;
 
 import com.comphenix.protocol.events.PacketListener;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.MapMaker;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 
 /**
  * Represents a system for recording the time spent by each packet listener.
@@ -35,6 +44,18 @@ public class TimedListenerManager {
 	// The map of time trackers
 	private ConcurrentMap<String, ImmutableMap<ListenerType, TimedTracker>> map = Maps.newConcurrentMap();
 
+	// The trackers of every listener - released along with the listener
+	private final ConcurrentMap<PacketListener, ListenerTrackers> listenerTrackers = new MapMaker().weakKeys().makeMap();
+	private final AtomicInteger nextRegistrationId = new AtomicInteger();
+
+	// Order in which the listeners were first timed
+	private static final Comparator<ListenerTrackers> REGISTRATION_ORDER = new Comparator<ListenerTrackers>() {
+		@Override
+		public int compare(ListenerTrackers a, ListenerTrackers b) {
+			return Integer.compare(a.getRegistrationId(), b.getRegistrationId());
+		}
+	};
+
 	/**
 	 * Retrieve the shared listener manager.
 	 * <p>
@@ -107,6 +128,11 @@ public class TimedListenerManager {
 	 */
 	public void clear() {
 		map.clear();
+
+		// Listeners keep their trackers, so we must reset them instead
+		for (ListenerTrackers trackers : listenerTrackers.values()) {
+			trackers.reset();
+		}
 	}
 	
 	/**
@@ -114,7 +140,54 @@ public class TimedListenerManager {
 	 * @return Every tracked plugin.
 	 */
 	public Set<String> getTrackedPlugins() {
-		return map.keySet();
+		Set<String> plugins = Sets.newHashSet(map.keySet());
+
+		for (ListenerTrackers trackers : listenerTrackers.values()) {
+			plugins.add(trackers.getPluginName());
+		}
+		return ImmutableSet.copyOf(plugins);
+	}
+
+	/**
+	 * Retrieve the trackers of every listener that has been timed for the given plugin.
+	 * <p>
+	 * Trackers are dropped once their listener has been unregistered and garbage collected.
+	 * @param pluginName - the plugin name.
+	 * @return The trackers of each listener, in the order they were first timed.
+	 */
+	public Collection<ListenerTrackers> getListenerTrackers(String pluginName) {
+		List<ListenerTrackers> result = Lists.newArrayList();
+
+		for (ListenerTrackers trackers : listenerTrackers.values()) {
+			if (trackers.getPluginName().equals(pluginName)) {
+				result.add(trackers);
+			}
+		}
+		Collections.sort(result, REGISTRATION_ORDER);
+		return result;
+	}
+
+	/**
+	 * Retrieve the trackers of the given listener.
+	 * <p>
+	 * The trackers are created the first time a listener is timed, and should be stored by the caller.
+	 * @param listener - the listener.
+	 * @return The trackers of this listener.
+	 */
+	public ListenerTrackers getTrackers(PacketListener listener) {
+		ListenerTrackers trackers = listenerTrackers.get(listener);
+
+		// Atomic pattern
+		if (trackers == null) {
+			String pluginName = listener.getPlugin().getName();
+			ListenerTrackers created = new ListenerTrackers(pluginName, listener.getClass(), nextRegistrationId.incrementAndGet());
+			trackers = listenerTrackers.putIfAbsent(listener, created);
+
+			if (trackers == null) {
+				trackers = created;
+			}
+		}
+		return trackers;
 	}
 	
 	/**
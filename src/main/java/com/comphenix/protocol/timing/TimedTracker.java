@@ -1,20 +1,44 @@
 package com.comphenix.protocol.timing;
 
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import com.comphenix.protocol.PacketType;
+import com.comphenix.protocol.collections.PacketTypeMap;
 import com.google.common.collect.Maps;
 
 /**
  * Tracks the invocation time for a particular plugin against a list of packets.
+ * <p>
+ * Every thread records its observations in its own shard, which are merged when the statistics are read.
+ * A shard is only ever contended while it is being read, so tracking is cheap enough to leave enabled.
  * @author Kristian
  */
 public class TimedTracker {
-	// Table of packets and invocations
-	private Map<PacketType, StatisticsStream> packets = Maps.newHashMap();
-	private int observations;
-	
+	/**
+	 * The observations recorded by a single thread.
+	 * @author Kristian
+	 */
+	private static class Shard {
+		// Table of packets and invocations
+		private final PacketTypeMap<StatisticsStream> packets = PacketTypeMap.newMap();
+		private final PacketTypeMap<LatencyHistogram> histograms = PacketTypeMap.newMap();
+		private int observations;
+	}
+
+	// Every shard that has been created, including those of threads that have stopped
+	private final Queue<Shard> shards = new ConcurrentLinkedQueue<Shard>();
+
+	private final ThreadLocal<Shard> localShard = new ThreadLocal<Shard>() {
+		@Override
+		protected Shard initialValue() {
+			Shard shard = new Shard();
+			shards.add(shard);
+			return shard;
+		}
+	};
+
 	/**
 	 * Begin tracking an execution time.
 	 * @return The current tracking token.
@@ -28,39 +52,78 @@ public class TimedTracker {
 	 * @param trackingToken - the tracking token.
 	 * @param type - the packet type.
 	 */
-	public synchronized void endTracking(long trackingToken, PacketType type) {
-		StatisticsStream stream = packets.get(type);
-		
-		// Lazily create a stream
-		if (stream == null) {
-			packets.put(type, stream = new StatisticsStream());
+	public void endTracking(long trackingToken, PacketType type) {
+		long elapsed = System.nanoTime() - trackingToken;
+		Shard shard = localShard.get();
+
+		synchronized (shard) {
+			StatisticsStream stream = shard.packets.get(type);
+			LatencyHistogram histogram = shard.histograms.get(type);
+
+			// Lazily create a stream
+			if (stream == null) {
+				shard.packets.put(type, stream = new StatisticsStream());
+				shard.histograms.put(type, histogram = new LatencyHistogram());
+			}
+			// Store this observation
+			stream.observe(elapsed);
+			histogram.record(elapsed);
+			shard.observations++;
 		}
-		// Store this observation
-		stream.observe(System.nanoTime() - trackingToken);
-		observations++;
 	}
-	
+
 	/**
 	 * Retrieve the total number of observations.
 	 * @return Total number of observations.
 	 */
 	public int getObservations() {
+		int observations = 0;
+
+		for (Shard shard : shards) {
+			synchronized (shard) {
+				observations += shard.observations;
+			}
+		}
 		return observations;
 	}
-	
+
 	/**
 	 * Retrieve an map (indexed by packet type) of all relevant statistics.
 	 * @return The map of statistics.
 	 */
-	public synchronized Map<PacketType, StatisticsStream> getStatistics() {
-		Map<PacketType, StatisticsStream> clone = Maps.newHashMap();
-		
-		for (Entry<PacketType, StatisticsStream> entry : packets.entrySet()) {
-			clone.put(
-				entry.getKey(),
-				new StatisticsStream(entry.getValue())
-			);
+	public Map<PacketType, StatisticsStream> getStatistics() {
+		Map<PacketType, StatisticsStream> merged = Maps.newHashMap();
+
+		for (Shard shard : shards) {
+			synchronized (shard) {
+				for (PacketType type : shard.packets.keySet()) {
+					StatisticsStream copy = new StatisticsStream(shard.packets.get(type));
+					StatisticsStream existing = merged.get(type);
+
+					merged.put(type, existing != null ? existing.add(copy) : copy);
+				}
+			}
+		}
+		return merged;
+	}
+
+	/**
+	 * Retrieve a map (indexed by packet type) of the latency histogram of each packet.
+	 * @return The map of histograms.
+	 */
+	public Map<PacketType, LatencyHistogram> getHistograms() {
+		Map<PacketType, LatencyHistogram> merged = Maps.newHashMap();
+
+		for (Shard shard : shards) {
+			synchronized (shard) {
+				for (PacketType type : shard.histograms.keySet()) {
+					LatencyHistogram histogram = shard.histograms.get(type);
+					LatencyHistogram existing = merged.get(type);
+
+					merged.put(type, existing != null ? existing.add(histogram) : histogram.copy());
+				}
+			}
 		}
-		return clone;
+		return merged;
 	}
 }
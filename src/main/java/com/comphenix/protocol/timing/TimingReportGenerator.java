@@ -4,6 +4,7 @@ import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
 import java.io.Writer;
+import java.util.Collection;
 import java.util.Date;
 import java.util.Map;
 
@@ -11,6 +12,7 @@ import com.comphenix.protocol.PacketType;
 import com.comphenix.protocol.timing.TimedListenerManager.ListenerType;
 import com.google.common.base.Charsets;
 import com.google.common.base.Strings;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.google.common.io.Files;
 
@@ -20,11 +22,12 @@ public class TimingReportGenerator {
 	private static final String META_STOPPED = "Stopped: %s (after %s seconds)" + NEWLINE;
 	private static final String PLUGIN_HEADER = "=== PLUGIN %s ===" + NEWLINE;
 	private static final String LISTENER_HEADER = " TYPE: %s " + NEWLINE;
-	private static final String SEPERATION_LINE = " " + Strings.repeat("-", 139) + NEWLINE;
+	private static final String NAMED_LISTENER_HEADER = " TYPE: %s LISTENER: %s " + NEWLINE;
+	private static final String SEPERATION_LINE = " " + Strings.repeat("-", 187) + NEWLINE;
 	private static final String STATISTICS_HEADER =
 		" Protocol:      Name:                         ID:                 Count:       Min (ms):       " +
-		"Max (ms):       Mean (ms):      Std (ms): " + NEWLINE;
-	private static final String STATISTICS_ROW =    " %-15s %-29s %-19s %-12d %-15.6f %-15.6f %-15.6f %.6f " + NEWLINE;
+		"Max (ms):       Mean (ms):      Std (ms):       P50 (ms):       P99 (ms):       P99.9 (ms): " + NEWLINE;
+	private static final String STATISTICS_ROW =    " %-15s %-29s %-19s %-12d %-15.6f %-15.6f %-15.6f %-15.6f %-15.6f %-15.6f %.6f " + NEWLINE;
 	private static final String SUM_MAIN_THREAD = " => Time on main thread: %.6f ms" + NEWLINE;
 	
 	public void saveTo(File destination, TimedListenerManager manager) throws IOException {
@@ -44,17 +47,40 @@ public class TimingReportGenerator {
 			for (String plugin : manager.getTrackedPlugins()) {
 				writer.write(String.format(PLUGIN_HEADER, plugin));
 				
+				Collection<ListenerTrackers> listeners = manager.getListenerTrackers(plugin);
+				
 				for (ListenerType type : ListenerType.values()) {
-					TimedTracker tracker = manager.getTracker(plugin, type);
+					Map<PacketType, StatisticsStream> streams = Maps.newHashMap();
+					Map<PacketType, LatencyHistogram> histograms = Maps.newHashMap();
+					
+					// The plugin total includes every listener of the plugin
+					merge(streams, histograms, manager.getTracker(plugin, type));
+					
+					for (ListenerTrackers listener : listeners) {
+						merge(streams, histograms, listener.getTracker(type));
+					}
 					
 					// We only care if it has any observations at all
-					if (tracker.getObservations() > 0) {
+					if (!streams.isEmpty()) {
 						writer.write(String.format(LISTENER_HEADER, type));
 						
 						writer.write(SEPERATION_LINE);
-						saveStatistics(writer, tracker, type);
+						saveStatistics(writer, streams, histograms, type);
 						writer.write(SEPERATION_LINE);
 					}
+
+					// Break it down by listener
+					for (ListenerTrackers listener : listeners) {
+						TimedTracker listenerTracker = listener.getTracker(type);
+
+						if (listenerTracker.getObservations() > 0) {
+							writer.write(String.format(NAMED_LISTENER_HEADER, type, listener.getListenerName()));
+
+							writer.write(SEPERATION_LINE);
+							saveStatistics(writer, listenerTracker.getStatistics(), listenerTracker.getHistograms(), type);
+							writer.write(SEPERATION_LINE);
+						}
+					}
 				}
 				// Next plugin
 				writer.write(NEWLINE);
@@ -66,9 +92,31 @@ public class TimingReportGenerator {
 		}
 	}
 	
-	private void saveStatistics(Writer destination, TimedTracker tracker, ListenerType type) throws IOException {
-		Map<PacketType, StatisticsStream> streams = tracker.getStatistics();
+	/**
+	 * Add the observations of the given tracker to the per-packet statistics.
+	 * @param streams - the statistics to add to.
+	 * @param histograms - the histograms to add to.
+	 * @param tracker - the tracker to add.
+	 */
+	private void merge(Map<PacketType, StatisticsStream> streams, Map<PacketType, LatencyHistogram> histograms,
+			TimedTracker tracker) {
+		if (tracker.getObservations() <= 0)
+			return;
+		
+		for (Map.Entry<PacketType, StatisticsStream> entry : tracker.getStatistics().entrySet()) {
+			StatisticsStream stream = streams.get(entry.getKey());
+			streams.put(entry.getKey(), stream != null ? stream.add(entry.getValue()) : entry.getValue());
+		}
+		for (Map.Entry<PacketType, LatencyHistogram> entry : tracker.getHistograms().entrySet()) {
+			LatencyHistogram histogram = histograms.get(entry.getKey());
+			histograms.put(entry.getKey(), histogram != null ? histogram.add(entry.getValue()) : entry.getValue());
+		}
+	}
+	
+	private void saveStatistics(Writer destination, Map<PacketType, StatisticsStream> streams,
+			Map<PacketType, LatencyHistogram> histograms, ListenerType type) throws IOException {
 		StatisticsStream sum = new StatisticsStream();
+		LatencyHistogram sumHistogram = new LatencyHistogram();
 		int count = 0;
 		
 		destination.write(STATISTICS_HEADER);
@@ -77,19 +125,21 @@ public class TimingReportGenerator {
 		// Write every packet ID that we care about
 		for (PacketType key : Sets.newTreeSet(streams.keySet())) {
 			final StatisticsStream stream = streams.get(key);
+			final LatencyHistogram histogram = histograms.get(key);
 			
-			if (stream != null && stream.getCount() > 0) {
-				printStatistic(destination, key, stream);
+			if (stream != null && stream.getCount() > 0 && histogram != null) {
+				printStatistic(destination, key, stream, histogram);
 				
 				// Add it
 				count++;
 				sum = sum.add(stream);
+				sumHistogram = sumHistogram.add(histogram);
 			}
 		}
 		
 		// Write the sum - if its useful
 		if (count > 1) {
-			printStatistic(destination, null, sum);
+			printStatistic(destination, null, sum, sumHistogram);
 		}
 		// These are executed on the main thread
 		if (type == ListenerType.SYNC_SERVER_SIDE) {
@@ -99,7 +149,8 @@ public class TimingReportGenerator {
 		}
 	}
 
-	private void printStatistic(Writer destination, PacketType key, final StatisticsStream stream) throws IOException {
+	private void printStatistic(Writer destination, PacketType key, final StatisticsStream stream,
+			final LatencyHistogram histogram) throws IOException {
 		destination.write(String.format(STATISTICS_ROW,
 			key != null ? key.getProtocol() : "SUM",
 			key != null ? key.name() : "-",
@@ -108,7 +159,10 @@ public class TimingReportGenerator {
 			toMilli(stream.getMinimum()),
 			toMilli(stream.getMaximum()),
 			toMilli(stream.getMean()),
-			toMilli(stream.getStandardDeviation())
+			toMilli(stream.getStandardDeviation()),
+			toMilli(histogram.getValueAtPercentile(50)),
+			toMilli(histogram.getValueAtPercentile(99)),
+			toMilli(histogram.getValueAtPercentile(99.9))
 		));
 	}
 
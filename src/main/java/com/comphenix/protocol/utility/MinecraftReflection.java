@@ -57,6 +57,7 @@ import com.comphenix.protocol.reflect.ClassAnalyser;
 import com.comphenix.protocol.reflect.ClassAnalyser.AsmMethod;
 import com.comphenix.protocol.reflect.FuzzyReflection;
 import com.comphenix.protocol.reflect.accessors.Accessors;
+import com.comphenix.protocol.reflect.accessors.ConstructorAccessor;
 import com.comphenix.protocol.reflect.accessors.MethodAccessor;
 import com.comphenix.protocol.reflect.fuzzy.AbstractFuzzyMatcher;
 import com.comphenix.protocol.reflect.fuzzy.FuzzyClassContract;
@@ -143,6 +144,9 @@ public class MinecraftReflection {
 	// Cache of getBukkitEntity
 	private static ConcurrentMap<Class<?>, MethodAccessor> getBukkitEntityCache = Maps.newConcurrentMap();
 
+	// Constructor of the packet data serializer
+	private static volatile ConstructorAccessor packetDataSerializerConstructor;
+
 	// The current class source
 	private static ClassSource classSource;
 
@@ -2153,10 +2157,14 @@ public class MinecraftReflection {
 	 * @return The instance.
 	 */
 	public static Object getPacketDataSerializer(Object buffer) {
-		Class<?> packetSerializer = getPacketDataSerializerClass();
+		ConstructorAccessor constructor = packetDataSerializerConstructor;
 
 		try {
-			return packetSerializer.getConstructor(getByteBufClass()).newInstance(buffer);
+			if (constructor == null) {
+				constructor = Accessors.getConstructorAccessor(getPacketDataSerializerClass(), getByteBufClass());
+				packetDataSerializerConstructor = constructor;
+			}
+			return constructor.invoke(buffer);
 		} catch (Exception e) {
 			throw new RuntimeException("Cannot construct packet serializer.", e);
 		}
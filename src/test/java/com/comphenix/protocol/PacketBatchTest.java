@@ -0,0 +1,51 @@
+package com.comphenix.protocol;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import java.util.Arrays;
+
+import org.bukkit.entity.Player;
+import org.junit.Test;
+
+import com.comphenix.protocol.events.PacketContainer;
+
+public class PacketBatchTest {
+	@Test
+	public void testSendOnClose() throws Exception {
+		ProtocolManager manager = mock(ProtocolManager.class);
+		Player player = mock(Player.class);
+		PacketContainer first = mock(PacketContainer.class);
+		PacketContainer second = mock(PacketContainer.class);
+
+		try (PacketBatch batch = new PacketBatch(manager, player)) {
+			batch.add(first).add(second);
+			assertEquals(2, batch.size());
+		}
+
+		// Every packet is sent at once, in order
+		verify(manager, times(1)).sendServerPackets(player, Arrays.asList(first, second), true);
+		verifyNoMoreInteractions(manager);
+	}
+
+	@Test
+	public void testEmptyBatch() throws Exception {
+		ProtocolManager manager = mock(ProtocolManager.class);
+		PacketBatch batch = new PacketBatch(manager, mock(Player.class));
+
+		batch.send();
+		batch.close();
+		verifyNoMoreInteractions(manager);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testClosed() throws Exception {
+		PacketBatch batch = new PacketBatch(mock(ProtocolManager.class), mock(Player.class));
+
+		batch.close();
+		batch.add(mock(PacketContainer.class));
+	}
+}
@@ -0,0 +1,150 @@
+package com.comphenix.protocol.async;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import com.comphenix.protocol.events.PacketEvent;
+import com.comphenix.protocol.events.PacketListener;
+import com.comphenix.protocol.injector.PrioritizedListener;
+
+public class AsyncListenerHandlerTest {
+	// Runs tasks when we ask it to
+	private static class ManualExecutor implements Executor {
+		private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<Runnable>();
+
+		@Override
+		public void execute(Runnable command) {
+			tasks.add(command);
+		}
+
+		public void runAll() {
+			Runnable task;
+
+			while ((task = tasks.poll()) != null) {
+				task.run();
+			}
+		}
+	}
+
+	private AsyncListenerHandler handler;
+	private List<PacketEvent> processed;
+
+	@Before
+	public void setUp() {
+		AsyncFilterManager filterManager = mock(AsyncFilterManager.class);
+		when(filterManager.getScheduler()).thenReturn(mock(BukkitScheduler.class));
+
+		PacketListener listener = mock(PacketListener.class);
+		when(listener.getPlugin()).thenReturn(mock(Plugin.class));
+
+		processed = Collections.synchronizedList(new ArrayList<PacketEvent>());
+		doAnswer(new Answer<Void>() {
+			@Override
+			public Void answer(InvocationOnMock invocation) {
+				processed.add((PacketEvent) invocation.getArguments()[0]);
+				return null;
+			}
+		}).when(listener).onPacketSending(any(PacketEvent.class));
+
+		handler = new AsyncListenerHandler(Thread.currentThread(), filterManager, listener);
+	}
+
+	private List<PacketEvent> enqueuePackets(int count) {
+		List<PacketEvent> packets = new ArrayList<PacketEvent>();
+
+		for (int i = 0; i < count; i++) {
+			AsyncMarker marker = mock(AsyncMarker.class);
+			when(marker.getProcessingLock()).thenReturn(new Object());
+			when(marker.getListenerTraversal()).thenReturn(Collections.<PrioritizedListener<AsyncListenerHandler>>emptyIterator());
+
+			PacketEvent packet = mock(PacketEvent.class);
+			when(packet.getAsyncMarker()).thenReturn(marker);
+			when(packet.isServerPacket()).thenReturn(true);
+
+			handler.enqueuePacket(packet);
+			packets.add(packet);
+		}
+		return packets;
+	}
+
+	@Test
+	public void testSerialMailbox() {
+		ManualExecutor executor = new ManualExecutor();
+		assertTrue(handler.startShared(executor));
+
+		List<PacketEvent> packets = enqueuePackets(200);
+
+		// Only a single task may process the mailbox at a time
+		assertEquals(1, executor.tasks.size());
+
+		executor.runAll();
+		assertEquals(packets, processed);
+	}
+
+	@Test
+	public void testHandOff() {
+		List<PacketEvent> packets = enqueuePackets(10);
+		ManualExecutor executor = new ManualExecutor();
+
+		// Packets queued for dedicated workers must be processed before newer packets
+		assertTrue(handler.startShared(executor));
+		packets.addAll(enqueuePackets(10));
+
+		executor.runAll();
+		assertEquals(packets, processed);
+	}
+
+	@Test
+	public void testConcurrentHandOff() throws InterruptedException {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		final CountDownLatch halfway = new CountDownLatch(1);
+		final List<PacketEvent> packets = new ArrayList<PacketEvent>();
+
+		try {
+			Thread producer = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					packets.addAll(enqueuePackets(500));
+					halfway.countDown();
+					packets.addAll(enqueuePackets(500));
+				}
+			});
+			producer.start();
+
+			halfway.await();
+			handler.startShared(executor);
+			producer.join();
+
+			// Wait for the shared workers
+			for (int i = 0; i < 100 && processed.size() < packets.size(); i++) {
+				Thread.sleep(50);
+			}
+			assertEquals(packets, processed);
+		} finally {
+			executor.shutdown();
+			executor.awaitTermination(5, TimeUnit.SECONDS);
+		}
+	}
+}
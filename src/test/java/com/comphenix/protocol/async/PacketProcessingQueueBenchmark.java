@@ -0,0 +1,116 @@
+package com.comphenix.protocol.async;
+
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.collect.MinMaxPriorityQueue;
+
+/**
+ * Compares the synchronized priority queue previously used by {@link PacketProcessingQueue} with {@link ShardedPacketQueue}.
+ * <p>
+ * Every thread acts as the network thread of a single player, enqueuing a packet and then
+ * polling a packet like a worker would. Run with: java PacketProcessingQueueBenchmark [threads] [operations].
+ */
+public class PacketProcessingQueueBenchmark {
+	private static final int WARMUP_ROUNDS = 3;
+	private static final int ROUNDS = 5;
+
+	private interface BenchmarkQueue {
+		void offer(Object player, Long element);
+		Long poll();
+	}
+
+	public static void main(String[] args) throws InterruptedException {
+		int threads = args.length > 0 ? Integer.parseInt(args[0]) : 32;
+		int operations = args.length > 1 ? Integer.parseInt(args[1]) : 200000;
+
+		for (int i = 0; i < WARMUP_ROUNDS; i++) {
+			run(createSynchronized(), threads, operations);
+			run(createSharded(), threads, operations);
+		}
+
+		long synchronizedTime = 0;
+		long shardedTime = 0;
+
+		for (int i = 0; i < ROUNDS; i++) {
+			synchronizedTime += run(createSynchronized(), threads, operations);
+			shardedTime += run(createSharded(), threads, operations);
+		}
+
+		double total = (double) threads * operations * ROUNDS;
+
+		System.out.println(String.format("Threads: %s, operations per thread: %s", threads, operations));
+		System.out.println(String.format("Synchronized MinMaxPriorityQueue: %.1f ns/op", synchronizedTime / total));
+		System.out.println(String.format("ShardedPacketQueue:               %.1f ns/op", shardedTime / total));
+	}
+
+	private static BenchmarkQueue createSynchronized() {
+		final Queue<Long> queue = Synchronization.queue(MinMaxPriorityQueue.
+				expectedSize(64).
+				maximumSize(PacketProcessingQueue.DEFAULT_QUEUE_LIMIT).
+				<Long>create(), null);
+
+		return new BenchmarkQueue() {
+			@Override
+			public void offer(Object player, Long element) {
+				queue.add(element);
+			}
+
+			@Override
+			public Long poll() {
+				return queue.poll();
+			}
+		};
+	}
+
+	private static BenchmarkQueue createSharded() {
+		final ShardedPacketQueue<Long> queue = new ShardedPacketQueue<Long>(PacketProcessingQueue.DEFAULT_QUEUE_LIMIT);
+
+		return new BenchmarkQueue() {
+			@Override
+			public void offer(Object player, Long element) {
+				queue.offer(player, element);
+			}
+
+			@Override
+			public Long poll() {
+				return queue.poll();
+			}
+		};
+	}
+
+	private static long run(final BenchmarkQueue queue, int threads, final int operations) throws InterruptedException {
+		final CountDownLatch start = new CountDownLatch(1);
+		final CountDownLatch done = new CountDownLatch(threads);
+
+		for (int i = 0; i < threads; i++) {
+			final Object player = new Object();
+			final long offset = (long) i * operations;
+
+			new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						start.await();
+
+						for (int j = 0; j < operations; j++) {
+							queue.offer(player, offset + j);
+							queue.poll();
+						}
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					} finally {
+						done.countDown();
+					}
+				}
+			}).start();
+		}
+
+		long startTime = System.nanoTime();
+		start.countDown();
+		if (!done.await(1, TimeUnit.MINUTES))
+			throw new IllegalStateException("Benchmark threads did not finish within a minute.");
+		return System.nanoTime() - startTime;
+	}
+}
@@ -0,0 +1,62 @@
+package com.comphenix.protocol.async;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+
+public class ShardedPacketQueueTest {
+	private static final int THREADS = 8;
+	private static final int ELEMENTS = 10000;
+
+	@Test
+	public void testMaximumSize() {
+		ShardedPacketQueue<Integer> queue = new ShardedPacketQueue<Integer>(3, 2);
+
+		assertEquals(4, queue.getShardCount());
+		assertTrue(queue.offer("a", 1));
+		assertTrue(queue.offer("b", 2));
+		assertFalse(queue.offer("c", 3));
+		assertEquals(2, queue.size());
+
+		queue.clear();
+		assertEquals(0, queue.size());
+		assertNull(queue.poll());
+	}
+
+	@Test
+	public void testOrderPerKey() throws InterruptedException {
+		final ShardedPacketQueue<long[]> queue = new ShardedPacketQueue<long[]>(ELEMENTS * THREADS);
+		final CountDownLatch done = new CountDownLatch(THREADS);
+
+		// Each thread represents a player
+		for (int i = 0; i < THREADS; i++) {
+			final int player = i;
+
+			new Thread(new Runnable() {
+				@Override
+				public void run() {
+					for (int j = 0; j < ELEMENTS; j++) {
+						queue.offer(Integer.valueOf(player), new long[] { player, j });
+					}
+					done.countDown();
+				}
+			}).start();
+		}
+		done.await();
+
+		long[] expected = new long[THREADS];
+		long[] element;
+
+		while ((element = queue.poll()) != null) {
+			assertEquals(expected[(int) element[0]]++, element[1]);
+		}
+		for (int i = 0; i < THREADS; i++) {
+			assertEquals(ELEMENTS, expected[i]);
+		}
+	}
+}
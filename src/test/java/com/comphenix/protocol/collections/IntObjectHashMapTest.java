@@ -0,0 +1,48 @@
+package com.comphenix.protocol.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class IntObjectHashMapTest {
+	@Test
+	public void testMap() {
+		IntObjectHashMap<String> map = IntObjectHashMap.newMap();
+
+		assertNull(map.put(1, "one"));
+		assertNull(map.put(-5, "negative"));
+		assertNull(map.put(Integer.MAX_VALUE, "max"));
+		assertEquals("one", map.put(1, "uno"));
+
+		assertEquals(3, map.size());
+		assertEquals("uno", map.get(1));
+		assertEquals("negative", map.get(-5));
+		assertEquals("max", map.get(Integer.MAX_VALUE));
+		assertNull(map.get(0));
+		assertFalse(map.containsKey(2));
+	}
+
+	@Test
+	public void testResize() {
+		IntObjectHashMap<Integer> map = IntObjectHashMap.newMap();
+
+		// Sequential keys, like entity IDs
+		for (int i = 0; i < 10000; i++) {
+			map.put(i * 3, i);
+		}
+		assertEquals(10000, map.size());
+
+		for (int i = 0; i < 10000; i++) {
+			assertEquals(Integer.valueOf(i), map.get(i * 3));
+			assertFalse(map.containsKey(i * 3 + 1));
+		}
+
+		map.clear();
+		assertEquals(0, map.size());
+		assertNull(map.get(3));
+		assertTrue(map.put(3, 1) == null);
+	}
+}
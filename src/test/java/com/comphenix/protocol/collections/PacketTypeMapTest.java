@@ -0,0 +1,75 @@
+package com.comphenix.protocol.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.comphenix.protocol.BukkitInitialization;
+import com.comphenix.protocol.PacketType;
+import com.google.common.collect.Sets;
+
+public class PacketTypeMapTest {
+	@BeforeClass
+	public static void initializeBukkit() {
+		BukkitInitialization.initializePackage();
+	}
+
+	@Test
+	public void testOrdinals() {
+		PacketType chat = PacketType.Play.Server.CHAT;
+
+		assertEquals(chat.getOrdinal(), chat.clone().getOrdinal());
+		assertEquals(chat, PacketType.fromOrdinal(chat.getOrdinal()));
+		assertTrue(chat.getOrdinal() != PacketType.Play.Client.CHAT.getOrdinal());
+	}
+
+	@Test
+	public void testMap() {
+		PacketTypeMap<String> map = PacketTypeMap.newMap();
+
+		assertNull(map.put(PacketType.Play.Server.CHAT, "chat"));
+		assertNull(map.putIfAbsent(PacketType.Play.Client.CHAT, "client"));
+		assertEquals("chat", map.putIfAbsent(PacketType.Play.Server.CHAT, "other"));
+
+		assertEquals(2, map.size());
+		assertEquals("chat", map.get(PacketType.Play.Server.CHAT.clone()));
+		assertNull(map.get(PacketType.Play.Server.ENTITY_TELEPORT));
+		assertEquals(Sets.newHashSet(PacketType.Play.Server.CHAT, PacketType.Play.Client.CHAT), map.keySet());
+
+		assertFalse(map.replace(PacketType.Play.Server.CHAT, "other", "replaced"));
+		assertTrue(map.replace(PacketType.Play.Server.CHAT, "chat", "replaced"));
+		assertEquals("replaced", map.get(PacketType.Play.Server.CHAT));
+
+		assertFalse(map.remove(PacketType.Play.Client.CHAT, "other"));
+		assertEquals("client", map.remove(PacketType.Play.Client.CHAT));
+		assertEquals(1, map.size());
+
+		map.clear();
+		assertTrue(map.isEmpty());
+		assertNull(map.get(PacketType.Play.Server.CHAT));
+	}
+
+	@Test
+	public void testBitSet() {
+		PacketTypeBitSet set = new PacketTypeBitSet();
+
+		assertTrue(set.add(PacketType.Play.Server.CHAT));
+		assertFalse(set.add(PacketType.Play.Server.CHAT));
+		assertTrue(set.add(PacketType.Play.Client.POSITION));
+
+		PacketTypeBitSet copy = new PacketTypeBitSet(set);
+		assertTrue(set.remove(PacketType.Play.Client.POSITION));
+
+		assertTrue(set.contains(PacketType.Play.Server.CHAT));
+		assertFalse(set.contains(PacketType.Play.Client.POSITION));
+		assertTrue(copy.contains(PacketType.Play.Client.POSITION));
+
+		assertEquals(1, set.size());
+		assertEquals(2, copy.size());
+		assertEquals(Sets.newHashSet(PacketType.Play.Server.CHAT, PacketType.Play.Client.POSITION), copy.toSet());
+	}
+}
@@ -0,0 +1,49 @@
+package com.comphenix.protocol.events;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.comphenix.protocol.injector.netty.NettyNetworkMarker;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+public class NetworkMarkerTest {
+	// A packet ID header followed by the packet data
+	private static final byte[] DATA = { 5, 1, 2, 3 };
+
+	@Test
+	public void testSharedBuffer() {
+		ByteBuf buffer = Unpooled.wrappedBuffer(DATA);
+		NetworkMarker marker = new NettyNetworkMarker(ConnectionSide.CLIENT_SIDE, Unpooled.unmodifiableBuffer(buffer));
+
+		assertEquals(3, marker.getInputBuffer().remaining());
+		assertEquals(4, marker.getInputBuffer(false).remaining());
+		assertEquals(3, marker.getInputByteBuf(true).readableBytes());
+		assertArrayEquals(new byte[] { 1, 2, 3 }, NetworkMarker.getByteBuffer(marker));
+
+		// Views must not consume the shared buffer
+		assertEquals(4, marker.getInputByteBuf(false).readableBytes());
+
+		assertTrue(marker.releaseInputBuffer(false));
+		assertEquals(0, buffer.refCnt());
+		assertNull(marker.getInputBuffer());
+		assertFalse(marker.releaseInputBuffer(false));
+	}
+
+	@Test
+	public void testKeepContents() {
+		ByteBuf buffer = Unpooled.wrappedBuffer(DATA);
+		NetworkMarker marker = new NettyNetworkMarker(ConnectionSide.CLIENT_SIDE, Unpooled.unmodifiableBuffer(buffer));
+
+		assertTrue(marker.releaseInputBuffer(true));
+		assertEquals(0, buffer.refCnt());
+		assertNull(marker.getInputByteBuf(true));
+		assertArrayEquals(new byte[] { 1, 2, 3 }, NetworkMarker.getByteBuffer(marker));
+	}
+}
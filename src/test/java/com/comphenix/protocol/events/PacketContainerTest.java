@@ -102,6 +102,45 @@ public class PacketContainerTest {
 		assertArrayEquals(testValue, modifier.read(0));
 	}
 
+	@Test
+	public void testModifierCache() {
+		PacketContainer teleport = new PacketContainer(PacketType.Play.Server.ENTITY_TELEPORT);
+
+		assertSame(teleport.getIntegers(), teleport.getIntegers());
+		assertSame(teleport.getDoubles(), teleport.getDoubles());
+		assertNotSame(teleport.getIntegers(), teleport.getDoubles());
+
+		teleport.getIntegers().write(0, 42);
+		assertEquals(42, (int) teleport.getIntegers().read(0));
+	}
+
+	@Test
+	public void testModifierCacheWithConverters() {
+		PacketContainer items = new PacketContainer(PacketType.Play.Server.WINDOW_ITEMS);
+
+		// Each call creates a new converter, which must not crowd out the other modifiers
+		for (int i = 0; i < 32; i++) {
+			items.getItemListModifier();
+			items.getItemArrayModifier();
+		}
+		assertSame(items.getIntegers(), items.getIntegers());
+	}
+
+	@Test
+	public void testPrimitiveAccess() {
+		PacketContainer teleport = new PacketContainer(PacketType.Play.Server.ENTITY_TELEPORT);
+
+		teleport.writeInt(0, 1234);
+		teleport.writeDouble(1, 64.5);
+		teleport.writeBoolean(0, true);
+
+		assertEquals(1234, teleport.readInt(0));
+		assertEquals(1234, (int) teleport.getIntegers().read(0));
+		assertEquals(64.5, teleport.readDouble(1), 0.0001);
+		assertEquals(64.5, teleport.getDoubles().read(1), 0.0001);
+		assertTrue(teleport.readBoolean(0));
+	}
+
 	@Test
 	public void testGetByteArrays() {
 		// Contains a byte array we will test
@@ -0,0 +1,93 @@
+package com.comphenix.protocol.events;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.comphenix.protocol.BukkitInitialization;
+import com.comphenix.protocol.PacketType;
+
+public class PacketEventPoolTest {
+	private static final PacketType TYPE = PacketType.Play.Server.CHAT;
+
+	@BeforeClass
+	public static void initializeBukkit() {
+		BukkitInitialization.initializePackage();
+	}
+
+	@After
+	public void resetLeakDetection() {
+		PacketEventPool.setLeakDetection(false);
+	}
+
+	@Test
+	public void testReuse() {
+		Object first = new PacketContainer(TYPE).getHandle();
+		Object second = new PacketContainer(TYPE).getHandle();
+
+		PacketEvent event = PacketEventPool.fromServer(this, TYPE, first, null);
+		assertTrue(event.isEphemeral());
+		assertSame(first, event.getPacket().getHandle());
+		assertTrue(PacketEventPool.release(event));
+
+		PacketEvent reused = PacketEventPool.fromServer(this, TYPE, second, null);
+		assertSame(event, reused);
+		assertSame(second, reused.getPacket().getHandle());
+		assertTrue(PacketEventPool.release(reused));
+	}
+
+	@Test
+	public void testEscape() {
+		Object handle = new PacketContainer(TYPE).getHandle();
+
+		PacketEvent retained = PacketEventPool.fromClient(this, TYPE, handle, null);
+		retained.retain();
+		assertFalse(retained.isEphemeral());
+		assertFalse(PacketEventPool.release(retained));
+
+		PacketEvent cancelled = PacketEventPool.fromClient(this, TYPE, handle, null);
+		assertNotSame(retained, cancelled);
+		cancelled.setCancelled(true);
+		assertFalse(PacketEventPool.release(cancelled));
+
+		// Both events are still usable
+		assertSame(handle, retained.getPacket().getHandle());
+		assertSame(handle, cancelled.getPacket().getHandle());
+	}
+
+	@Test
+	public void testNested() {
+		Object handle = new PacketContainer(TYPE).getHandle();
+
+		PacketEvent outer = PacketEventPool.fromServer(this, TYPE, handle, null);
+		PacketEvent inner = PacketEventPool.fromServer(this, TYPE, handle, null);
+
+		assertNotSame(outer, inner);
+		assertFalse(inner.isEphemeral());
+		assertFalse(PacketEventPool.release(inner));
+		assertTrue(PacketEventPool.release(outer));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testLeakDetection() {
+		PacketEventPool.setLeakDetection(true);
+
+		Object handle = new PacketContainer(TYPE).getHandle();
+		PacketEvent event = PacketEventPool.fromServer(this, TYPE, handle, null);
+		assertTrue(PacketEventPool.release(event));
+
+		// A recycled event is never handed out again
+		PacketEvent next = PacketEventPool.fromServer(this, TYPE, handle, null);
+		assertNotSame(event, next);
+		assertEquals(TYPE, next.getPacketType());
+		PacketEventPool.release(next);
+
+		event.getPacket();
+	}
+}
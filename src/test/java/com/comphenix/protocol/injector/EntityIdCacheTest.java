@@ -0,0 +1,120 @@
+package com.comphenix.protocol.injector;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiFunction;
+
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.junit.Before;
+import org.junit.Test;
+
+public class EntityIdCacheTest {
+	private Map<Integer, Entity> tracker;
+	private int lookups;
+
+	private EntityIdCache cache;
+	private World world;
+
+	@Before
+	public void setUp() {
+		tracker = new HashMap<Integer, Entity>();
+		lookups = 0;
+
+		cache = new EntityIdCache(new BiFunction<World, Integer, Entity>() {
+			@Override
+			public Entity apply(World world, Integer entityID) {
+				lookups++;
+				return tracker.get(entityID);
+			}
+		});
+		cache.setEnabled(true);
+
+		world = mock(World.class);
+		when(world.getUID()).thenReturn(UUID.randomUUID());
+	}
+
+	private Entity createEntity(int entityID) {
+		Entity entity = mock(Entity.class);
+		when(entity.isValid()).thenReturn(true);
+		tracker.put(entityID, entity);
+		return entity;
+	}
+
+	@Test
+	public void testHits() {
+		Entity entity = createEntity(1);
+
+		assertSame(entity, cache.getEntity(world, 1));
+		assertSame(entity, cache.getEntity(world, 1));
+		assertSame(entity, cache.getEntity(world, 1));
+
+		assertEquals(1, lookups);
+		assertEquals(2, cache.getHits());
+		assertEquals(1, cache.getMisses());
+	}
+
+	@Test
+	public void testExpiry() {
+		Entity entity = createEntity(1);
+		assertSame(entity, cache.getEntity(world, 1));
+
+		// The entity has been replaced in the next tick
+		Entity replaced = createEntity(1);
+		cache.nextTick();
+
+		assertSame(replaced, cache.getEntity(world, 1));
+		assertEquals(2, lookups);
+		assertEquals(0, cache.getHits());
+	}
+
+	@Test
+	public void testInvalidEntity() {
+		Entity entity = createEntity(1);
+		assertSame(entity, cache.getEntity(world, 1));
+
+		// Removed during this tick
+		when(entity.isValid()).thenReturn(false);
+		tracker.remove(1);
+
+		assertNull(cache.getEntity(world, 1));
+		assertEquals(0, cache.getHits());
+		assertEquals(2, cache.getMisses());
+	}
+
+	@Test
+	public void testWorlds() {
+		World other = mock(World.class);
+		when(other.getUID()).thenReturn(UUID.randomUUID());
+		Entity entity = createEntity(1);
+
+		assertSame(entity, cache.getEntity(world, 1));
+		assertSame(entity, cache.getEntity(other, 1));
+		assertEquals(2, cache.getMisses());
+
+		// Unloading a world only releases its own entities
+		cache.removeWorld(other);
+		assertSame(entity, cache.getEntity(world, 1));
+		assertSame(entity, cache.getEntity(other, 1));
+		assertEquals(1, cache.getHits());
+		assertEquals(3, cache.getMisses());
+	}
+
+	@Test
+	public void testDisabled() {
+		createEntity(1);
+		cache.setEnabled(false);
+
+		cache.getEntity(world, 1);
+		cache.getEntity(world, 1);
+		assertEquals(2, lookups);
+		assertEquals(0, cache.getHits() + cache.getMisses());
+	}
+}
@@ -5,6 +5,7 @@ import com.comphenix.protocol.reflect.accessors.Accessors;
 
 import net.minecraft.server.v1_14_R1.ChunkProviderServer;
 import net.minecraft.server.v1_14_R1.Entity;
+import net.minecraft.server.v1_14_R1.EntityPlayer;
 import net.minecraft.server.v1_14_R1.PlayerChunkMap;
 import net.minecraft.server.v1_14_R1.PlayerChunkMap.EntityTracker;
 import net.minecraft.server.v1_14_R1.WorldServer;
@@ -13,10 +14,20 @@ import org.bukkit.craftbukkit.libs.it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import org.bukkit.craftbukkit.libs.it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import org.bukkit.craftbukkit.v1_14_R1.CraftWorld;
 import org.bukkit.craftbukkit.v1_14_R1.entity.CraftEntity;
+import org.bukkit.craftbukkit.v1_14_R1.entity.CraftPlayer;
+import org.bukkit.entity.Player;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -30,14 +41,7 @@ public class EntityUtilitiesTest {
 	@Test
 	public void testReflection() {
 		CraftWorld bukkit = mock(CraftWorld.class);
-		WorldServer world = mock(WorldServer.class);
-		when(bukkit.getHandle()).thenReturn(world);
-
-		ChunkProviderServer provider = mock(ChunkProviderServer.class);
-		when(world.getChunkProvider()).thenReturn(provider);
-
-		PlayerChunkMap chunkMap = mock(PlayerChunkMap.class);
-		Accessors.getFieldAccessor(ChunkProviderServer.class, "playerChunkMap", true).set(provider, chunkMap);
+		PlayerChunkMap chunkMap = mockChunkMap(bukkit);
 
 		CraftEntity bukkitEntity = mock(CraftEntity.class);
 		Entity fakeEntity = mock(Entity.class);
@@ -52,4 +56,52 @@ public class EntityUtilitiesTest {
 
 		assertEquals(bukkitEntity, EntityUtilities.getInstance().getEntityFromID(bukkit, 1));
 	}
+
+	@Test
+	public void testBulkTrackers() {
+		CraftWorld bukkit = mock(CraftWorld.class);
+		PlayerChunkMap chunkMap = mockChunkMap(bukkit);
+
+		CraftPlayer bukkitPlayer = mock(CraftPlayer.class);
+		EntityPlayer player = mock(EntityPlayer.class);
+		when(player.getBukkitEntity()).thenReturn(bukkitPlayer);
+
+		EntityTracker tracker = mock(EntityTracker.class);
+		Set<EntityPlayer> trackedPlayers = new HashSet<>(Collections.singleton(player));
+		Accessors.getFieldAccessor(EntityTracker.class, "trackedPlayers", true).set(tracker, trackedPlayers);
+
+		Int2ObjectMap<EntityTracker> trackerMap = new Int2ObjectOpenHashMap<>();
+		trackerMap.put(1, tracker);
+		Accessors.getFieldAccessor(PlayerChunkMap.class, "trackedEntities", true).set(chunkMap, trackerMap);
+
+		// The second entity has just been spawned, and is not tracked yet
+		CraftEntity tracked = mockEntity(bukkit, 1);
+		CraftEntity untracked = mockEntity(bukkit, 2);
+
+		Map<org.bukkit.entity.Entity, List<Player>> result =
+				EntityUtilities.getInstance().getEntityTrackers(Arrays.asList(tracked, untracked));
+
+		assertEquals(Collections.<Player>singletonList(bukkitPlayer), result.get(tracked));
+		assertFalse(result.containsKey(untracked));
+	}
+
+	private static PlayerChunkMap mockChunkMap(CraftWorld bukkit) {
+		WorldServer world = mock(WorldServer.class);
+		when(bukkit.getHandle()).thenReturn(world);
+
+		ChunkProviderServer provider = mock(ChunkProviderServer.class);
+		when(world.getChunkProvider()).thenReturn(provider);
+
+		PlayerChunkMap chunkMap = mock(PlayerChunkMap.class);
+		Accessors.getFieldAccessor(ChunkProviderServer.class, "playerChunkMap", true).set(provider, chunkMap);
+		return chunkMap;
+	}
+
+	private static CraftEntity mockEntity(CraftWorld bukkit, int id) {
+		CraftEntity entity = mock(CraftEntity.class);
+		when(entity.isValid()).thenReturn(true);
+		when(entity.getWorld()).thenReturn(bukkit);
+		when(entity.getEntityId()).thenReturn(id);
+		return entity;
+	}
 }
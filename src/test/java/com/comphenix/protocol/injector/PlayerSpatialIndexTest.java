@@ -0,0 +1,114 @@
+package com.comphenix.protocol.injector;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+import org.junit.Test;
+
+public class PlayerSpatialIndexTest {
+	@Test
+	public void testCandidates() {
+		World world = createWorld();
+		World other = createWorld();
+
+		Player near = createPlayer(new Location(world, 10, 64, 10));
+		Player far = createPlayer(new Location(world, 5000, 64, -5000));
+		Player elsewhere = createPlayer(new Location(other, 10, 64, 10));
+
+		// Pad the world, so that scanning the grid is cheaper than scanning every player
+		List<Player> players = new ArrayList<Player>(Arrays.asList(near, far, elsewhere));
+
+		for (int i = 0; i < 50; i++) {
+			players.add(createPlayer(new Location(world, -3000 - i * 32, 64, 3000)));
+		}
+
+		PlayerSpatialIndex index = new PlayerSpatialIndex();
+		assertNull(index.getCandidates(new Location(world, 0, 64, 0), 32));
+
+		index.refresh(players);
+		List<Player> candidates = index.getCandidates(new Location(world, 0, 64, 0), 32);
+
+		assertEquals(Arrays.asList(near), candidates);
+		assertFalse(candidates.contains(far));
+		assertFalse(candidates.contains(elsewhere));
+
+		// Negative coordinates belong to separate chunks
+		assertTrue(index.getCandidates(new Location(world, -3000, 64, 3000), 8).contains(players.get(3)));
+
+		index.invalidate();
+		assertNull(index.getCandidates(new Location(world, 0, 64, 0), 32));
+	}
+
+	@Test
+	public void testOutdated() {
+		World world = createWorld();
+		Player near = createPlayer(new Location(world, 10, 64, 10));
+
+		PlayerSpatialIndex index = new PlayerSpatialIndex();
+		index.refresh(Arrays.asList(near));
+
+		// Other threads may use an index from the previous tick
+		index.nextTick();
+		assertEquals(Arrays.asList(near), index.getCandidates(new Location(world, 0, 64, 0), 32));
+
+		// But not any older than that
+		index.nextTick();
+		assertNull(index.getCandidates(new Location(world, 0, 64, 0), 32));
+
+		index.refresh(Arrays.asList(near));
+		assertEquals(Arrays.asList(near), index.getCandidates(new Location(world, 0, 64, 0), 32));
+	}
+
+	@Test
+	public void testRespawn() {
+		World world = createWorld();
+		Player player = createPlayer(new Location(world, 10, 64, 10));
+		List<Player> players = Arrays.asList(player);
+
+		PlayerSpatialIndex index = new PlayerSpatialIndex();
+		index.refresh(players);
+
+		// Respawning at a distant spawn point doesn't cause a teleport event
+		Location spawn = new Location(world, 8000, 64, 8000);
+		when(player.getLocation()).thenReturn(spawn);
+		index.onPlayerRespawn(mock(PlayerRespawnEvent.class));
+
+		// The caller must fall back to every player rather than miss this one
+		assertNull(index.getCandidates(spawn, 32));
+
+		index.refresh(players);
+		assertEquals(players, index.getCandidates(spawn, 32));
+
+		// Same for moving to another world
+		Location nether = new Location(createWorld(), 10, 64, 10);
+		when(player.getLocation()).thenReturn(nether);
+		index.onPlayerChangedWorld(mock(PlayerChangedWorldEvent.class));
+		assertNull(index.getCandidates(nether, 32));
+	}
+
+	private World createWorld() {
+		World world = mock(World.class);
+		when(world.getUID()).thenReturn(UUID.randomUUID());
+		return world;
+	}
+
+	private Player createPlayer(Location location) {
+		Player player = mock(Player.class);
+		when(player.getLocation()).thenReturn(location);
+		return player;
+	}
+}
@@ -5,6 +5,7 @@ package com.comphenix.protocol.injector;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -16,6 +17,7 @@ import com.comphenix.protocol.injector.netty.WirePacket;
 import com.comphenix.protocol.wrappers.EnumWrappers.ChatType;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
 
 /**
  * @author dmulloy2
@@ -37,6 +39,27 @@ public class WirePacketTest {
 		assertEquals(wire, handle);
 	}
 
+	@Test
+	public void testBufferedPackets() {
+		PacketContainer packet = new PacketContainer(PacketType.Play.Server.CHAT);
+		packet.getChatTypes().write(0, ChatType.CHAT);
+
+		WirePacket wire = WirePacket.fromPacket(packet);
+		WirePacket buffered = WirePacket.fromPacket(packet, PooledByteBufAllocator.DEFAULT);
+
+		try {
+			assertTrue(buffered.isBuffered());
+			assertEquals(wire, buffered);
+
+			// Writing the packet must not consume its contents
+			ByteBuf first = buffered.serialize();
+			ByteBuf second = buffered.serialize();
+			assertEquals(first, second);
+		} finally {
+			assertTrue(buffered.release());
+		}
+	}
+
 	@Test
 	public void testSerialization() {
 		int id = 42;
@@ -47,6 +47,27 @@ public class AccessorsTest {
 		assertEquals("MODIFIED", player.getName());
 	}
 	
+	@Test
+	public void testFastField() throws Exception {
+		Player player = new Player(123, "ABC");
+		FieldAccessor id = Accessors.getFastFieldAccessor(Entity.class.getDeclaredField("id"));
+		FieldAccessor name = Accessors.getFastFieldAccessor(Player.class.getDeclaredField("name"));
+
+		assertEquals(123, id.get(player));
+		assertEquals("ABC", name.get(player));
+
+		id.set(player, 0);
+		name.set(player, "MODIFIED");
+		assertEquals(0, player.getId());
+		assertEquals("MODIFIED", player.getName());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testFastFieldWrongType() throws Exception {
+		// Same exception as Field.set()
+		Accessors.getFastFieldAccessor(Player.class.getDeclaredField("name")).set(new Player(123, "ABC"), 42);
+	}
+
 	@Test
 	public void testMethod() {
 		Player player = new Player(123, "ABC");
@@ -0,0 +1,127 @@
+package com.comphenix.protocol.reflect.compiler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.comphenix.protocol.reflect.FieldAccessException;
+import com.comphenix.protocol.reflect.StructureModifier;
+
+public class StructureCompilerTest {
+	// Must be public so the compiled class can access it
+	public static class Primitives {
+		public int publicInt;
+		private int privateInt;
+		public long publicLong;
+		public float publicFloat;
+		public double publicDouble;
+		public byte publicByte;
+		public short publicShort;
+		public boolean publicBoolean;
+		private boolean privateBoolean;
+	}
+
+	private StructureCompiler compiler;
+	private Primitives target;
+	private StructureModifier<Object> modifier;
+
+	@Before
+	public void setUp() {
+		compiler = new StructureCompiler(getClass().getClassLoader());
+		target = new Primitives();
+		modifier = new StructureModifier<Object>(Primitives.class, null, false, false).withTarget(target);
+	}
+
+	private StructureModifier<Object> compile(Class<?> fieldType) {
+		StructureModifier<Object> compiled = compiler.compile(modifier.<Object>withType(fieldType));
+
+		assertTrue(compiled instanceof CompiledStructureModifier);
+		return compiled;
+	}
+
+	private static int indexOf(StructureModifier<Object> modifier, String fieldName) throws NoSuchFieldException {
+		return modifier.getFields().indexOf(Primitives.class.getDeclaredField(fieldName));
+	}
+
+	@Test
+	public void testInt() throws NoSuchFieldException {
+		StructureModifier<Object> ints = compile(int.class);
+		int publicIndex = indexOf(ints, "publicInt");
+		int privateIndex = indexOf(ints, "privateInt");
+
+		// The private field is accessed through the fallback
+		ints.writeInt(publicIndex, 1).writeInt(privateIndex, 2);
+		assertEquals(1, target.publicInt);
+		assertEquals(2, target.privateInt);
+		assertEquals(1, ints.readInt(publicIndex));
+		assertEquals(2, ints.readInt(privateIndex));
+	}
+
+	@Test
+	public void testLong() {
+		StructureModifier<Object> longs = compile(long.class);
+
+		longs.writeLong(0, Long.MAX_VALUE);
+		assertEquals(Long.MAX_VALUE, target.publicLong);
+		assertEquals(Long.MAX_VALUE, longs.readLong(0));
+	}
+
+	@Test
+	public void testFloat() {
+		StructureModifier<Object> floats = compile(float.class);
+
+		floats.writeFloat(0, 1.5f);
+		assertEquals(1.5f, target.publicFloat, 0);
+		assertEquals(1.5f, floats.readFloat(0), 0);
+	}
+
+	@Test
+	public void testDouble() {
+		StructureModifier<Object> doubles = compile(double.class);
+
+		doubles.writeDouble(0, -2.25);
+		assertEquals(-2.25, target.publicDouble, 0);
+		assertEquals(-2.25, doubles.readDouble(0), 0);
+	}
+
+	@Test
+	public void testByte() {
+		StructureModifier<Object> bytes = compile(byte.class);
+
+		bytes.writeByte(0, (byte) -128);
+		assertEquals(-128, target.publicByte);
+		assertEquals(-128, bytes.readByte(0));
+	}
+
+	@Test
+	public void testShort() {
+		StructureModifier<Object> shorts = compile(short.class);
+
+		shorts.writeShort(0, Short.MIN_VALUE);
+		assertEquals(Short.MIN_VALUE, target.publicShort);
+		assertEquals(Short.MIN_VALUE, shorts.readShort(0));
+	}
+
+	@Test
+	public void testBoolean() throws NoSuchFieldException {
+		StructureModifier<Object> booleans = compile(boolean.class);
+		int publicIndex = indexOf(booleans, "publicBoolean");
+		int privateIndex = indexOf(booleans, "privateBoolean");
+
+		booleans.writeBoolean(publicIndex, true).writeBoolean(privateIndex, true);
+		assertTrue(target.publicBoolean);
+		assertTrue(target.privateBoolean);
+		assertTrue(booleans.readBoolean(privateIndex));
+
+		booleans.writeBoolean(publicIndex, false);
+		assertFalse(booleans.readBoolean(publicIndex));
+	}
+
+	@Test(expected = FieldAccessException.class)
+	public void testInvalidIndex() {
+		compile(long.class).readLong(1);
+	}
+}
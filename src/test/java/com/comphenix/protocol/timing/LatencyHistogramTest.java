@@ -0,0 +1,59 @@
+package com.comphenix.protocol.timing;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+	// Each bucket spans at most 1/32 of its value
+	private static final double RELATIVE_ERROR = 1 / 32.0;
+
+	@Test
+	public void testBuckets() {
+		for (long value : new long[] { 0, 1, 31, 32, 33, 63, 64, 1000, 123456789, LatencyHistogram.MAX_VALUE }) {
+			int index = LatencyHistogram.getIndex(value);
+
+			// The value must fall within its bucket
+			long highest = LatencyHistogram.getHighestValue(index);
+			long lowest = index > 0 ? LatencyHistogram.getHighestValue(index - 1) + 1 : 0;
+
+			assertEquals(true, value >= lowest && value <= highest);
+		}
+	}
+
+	@Test
+	public void testPercentiles() {
+		LatencyHistogram histogram = new LatencyHistogram();
+
+		for (int i = 1; i <= 10000; i++) {
+			histogram.record(i * 1000L);
+		}
+
+		assertEquals(10000, histogram.getCount());
+		assertEquals(1000, histogram.getMinimum(), 0);
+		assertEquals(10000000, histogram.getMaximum(), 0);
+		assertEquals(5000000, histogram.getValueAtPercentile(50), 5000000 * RELATIVE_ERROR);
+		assertEquals(9900000, histogram.getValueAtPercentile(99), 9900000 * RELATIVE_ERROR);
+		assertEquals(9990000, histogram.getValueAtPercentile(99.9), 9990000 * RELATIVE_ERROR);
+	}
+
+	@Test
+	public void testMerge() {
+		LatencyHistogram fast = new LatencyHistogram();
+		LatencyHistogram slow = new LatencyHistogram();
+
+		for (int i = 0; i < 990; i++) {
+			fast.record(100000);
+		}
+		for (int i = 0; i < 10; i++) {
+			slow.record(50000000);
+		}
+
+		LatencyHistogram merged = fast.add(slow);
+
+		assertEquals(1000, merged.getCount());
+		assertEquals(990, fast.getCount());
+		assertEquals(100000, merged.getValueAtPercentile(50), 100000 * RELATIVE_ERROR);
+		assertEquals(50000000, merged.getValueAtPercentile(99.9), 50000000 * RELATIVE_ERROR);
+	}
+}
@@ -0,0 +1,32 @@
+package com.comphenix.protocol.timing;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class StatisticsStreamTest {
+	// Enough observations for the product of the counts to overflow an int
+	private static final int OBSERVATIONS = 100000;
+
+	@Test
+	public void testMergeLargeStreams() {
+		StatisticsStream first = new StatisticsStream();
+		StatisticsStream second = new StatisticsStream();
+		StatisticsStream combined = new StatisticsStream();
+
+		for (int i = 0; i < OBSERVATIONS; i++) {
+			first.observe(i % 100);
+			second.observe(1000 + i % 50);
+			combined.observe(i % 100);
+			combined.observe(1000 + i % 50);
+		}
+
+		StatisticsStream merged = first.add(second);
+
+		assertEquals(2 * OBSERVATIONS, merged.getCount());
+		assertEquals(combined.getMean(), merged.getMean(), 1e-6);
+		assertEquals(combined.getVariance(), merged.getVariance(), combined.getVariance() * 1e-9);
+		assertEquals(0, merged.getMinimum(), 0);
+		assertEquals(1049, merged.getMaximum(), 0);
+	}
+}
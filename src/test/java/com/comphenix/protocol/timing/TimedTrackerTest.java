@@ -0,0 +1,49 @@
+package com.comphenix.protocol.timing;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.comphenix.protocol.BukkitInitialization;
+import com.comphenix.protocol.PacketType;
+
+public class TimedTrackerTest {
+	private static final int THREADS = 8;
+	private static final int OBSERVATIONS = 1000;
+
+	@BeforeClass
+	public static void initializeBukkit() {
+		BukkitInitialization.initializePackage();
+	}
+
+	@Test
+	public void testMergeShards() throws InterruptedException {
+		final TimedTracker tracker = new TimedTracker();
+		final CountDownLatch done = new CountDownLatch(THREADS);
+
+		for (int i = 0; i < THREADS; i++) {
+			final PacketType type = i % 2 == 0 ? PacketType.Play.Server.CHAT : PacketType.Play.Client.CHAT;
+
+			new Thread(new Runnable() {
+				@Override
+				public void run() {
+					for (int j = 0; j < OBSERVATIONS; j++) {
+						tracker.endTracking(tracker.beginTracking(), type);
+					}
+					done.countDown();
+				}
+			}).start();
+		}
+		done.await();
+
+		Map<PacketType, StatisticsStream> statistics = tracker.getStatistics();
+
+		assertEquals(THREADS * OBSERVATIONS, tracker.getObservations());
+		assertEquals(THREADS * OBSERVATIONS / 2, statistics.get(PacketType.Play.Server.CHAT).getCount());
+		assertEquals(THREADS * OBSERVATIONS / 2, statistics.get(PacketType.Play.Client.CHAT).getCount());
+	}
+}